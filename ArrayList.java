@@ -1,7 +1,15 @@
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * ArrayList, Defines an array based list for holding generic objects and contains methods for sorting said list.
@@ -11,75 +19,58 @@ public class ArrayList<E> implements Iterable<E> {
 
   /**
    * ArrayListIterator, an iterator for the ArrayList
+   * Moving the iterator never grows the data array; remove is the only method through which the iterator changes the
+   * list. It is fail-fast: once the size of the list changes other than through the iterator's remove, the next call
+   * to next, previous, remove or forEachRemaining throws a ConcurrentModificationException.
    * @author Nagoshi, Vincent
    */
   @SuppressWarnings("hiding")
   public class ArrayListIterator<E> implements Iterator<E>{
     private int iteratorLocation;
+    private int lastReturned;
+    private int expectedModCount;
 
     /**
      * Default constructor
      */
     public ArrayListIterator(){
       iteratorLocation = 0;
+      lastReturned = -1;
+      expectedModCount = modCount;
     }
 
     /**
      * checks if there is an element next to the iterator location.
      * @return returns true if there is an element next to the iterator. Otherwise returns false.
-     * @throws throws IndexOutOfBoundsException if the iterator is not bordering an element.
      */
     @Override
     public boolean hasNext() {
-      if(iteratorLocation < 0 || iteratorLocation > size){
-        throw new IndexOutOfBoundsException();
-      }
-      if(data.length == size){
-        reallocate();
-      }
-      if(data[iteratorLocation] != null){
-        return true;
-      }
-      else{
-        return false;
-      }
+      return iteratorLocation < size;
     }
 
     /**
      * Checks if there is an element before the iterator location.
      * @return returns true if there is an element before the iterator. Otherwise returns false.
-     * @throws throws IndexOutOfBoundsException if the iterator is not bordering an element.
      */
     public boolean hasPrevious() {
-      if(iteratorLocation < 0 || iteratorLocation > size){// may have problems
-        throw new IndexOutOfBoundsException();
-      }
-      if(iteratorLocation == 0){
-        return false;
-      }
-      else if(data[iteratorLocation - 1] != null){
-        return true;
-      }
-      else{
-        return false;
-      }
+      return iteratorLocation > 0;
     }
 
     /**
      * Returns element next to the iterator and moves the iterator forward one space.
      * @return returns the element next to the iterator.
      * @throws throws NoSuchElementException if there is no element to return.
+     * @throws throws ConcurrentModificationException if the list was changed since the iterator was created.
      */
+    @Override
     @SuppressWarnings("unchecked")
     public E next(){
-      if(this.hasNext()){
-        E entry = (E) data[iteratorLocation];
-        iteratorLocation++;
-        return entry;
-      }
-      else{
+      checkForComodification();
+      if(iteratorLocation >= size){
         throw new NoSuchElementException();
       }
+      lastReturned = iteratorLocation++;
+      return (E) data[lastReturned];
     }
 
     /**
@@ -98,17 +89,16 @@ public class ArrayList<E> implements Iterable<E> {
      * Returns element before the iterator and moves the iterator back one space.
      * @return returns the element before the iterator.
      * @throws throws NoSuchElementException if there is no element to return.
+     * @throws throws ConcurrentModificationException if the list was changed since the iterator was created.
      */
     @SuppressWarnings("unchecked")
     public E previous() {
-      if(this.hasPrevious()){
-        E entry = (E) data[iteratorLocation - 1];
-        iteratorLocation--;
-        return entry;
-      }
-      else{
+      checkForComodification();
+      if(iteratorLocation <= 0){
         throw new NoSuchElementException();
       }
+      lastReturned = --iteratorLocation;
+      return (E) data[lastReturned];
     }
 
     /**
@@ -122,11 +112,306 @@ public class ArrayList<E> implements Iterable<E> {
       }
       return iteratorLocation - 1;
     }
+
+    /**
+     * Removes the element last returned by next or previous from the list.
+     * @throws throws IllegalStateException if neither next nor previous has returned an element since the last remove.
+     * @throws throws ConcurrentModificationException if the list was changed since the iterator was created.
+     */
+    @Override
+    public void remove() {
+      checkForComodification();
+      if(lastReturned < 0){
+        throw new IllegalStateException();
+      }
+      ArrayList.this.remove(lastReturned);
+      iteratorLocation = lastReturned;
+      lastReturned = -1;
+      expectedModCount = modCount;
+    }
+
+    /**
+     * Performs an action on every element the iterator has not yet passed with a plain loop over the data array,
+     * leaving the iterator at the end of the list. The last element passed can then be removed with remove.
+     * @param action, the action to perform on each element.
+     * @throws throws ConcurrentModificationException if the list was changed since the iterator was created.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachRemaining(Consumer<? super E> action) {
+      checkForComodification();
+      Object[] elements = data;
+      int end = size;
+      int i = iteratorLocation;
+      for(; i < end && modCount == expectedModCount; i++){
+        action.accept((E) elements[i]);
+      }
+      if(i > iteratorLocation){
+        lastReturned = i - 1;
+      }
+      iteratorLocation = i;
+      checkForComodification();
+    }
+
+    /**
+     * Checks that the size of the list has not changed other than through this iterator.
+     * @throws throws ConcurrentModificationException if the list was changed.
+     */
+    private void checkForComodification() {
+      if(modCount != expectedModCount){
+        throw new ConcurrentModificationException();
+      }
+    }
   }
 
+  /**
+   * SubList, a view of a section of the ArrayList that reads and writes the list's data array without copying it.
+   * @author Nagoshi, Vincent
+   */
+  public class SubList implements Iterable<E> {
+    private final int offset;
+    private int size;
+    private int expectedModCount;
+
+    /**
+     * Constructor
+     * @param offset, the index of the list at which the view starts.
+     * @param size, the number of elements in the view.
+     */
+    private SubList(int offset, int size){
+      this.offset = offset;
+      this.size = size;
+      this.expectedModCount = modCount;
+    }
+
+    /**
+     * Gets the element at a specified index within the view.
+     * @param index, the index of the element to get.
+     * @return returns the element at the specified index within the view.
+     * @exception throws ArrayIndexOutOfBoundsException if the index does not point to an object in the view.
+     */
+    public E get(int index) {
+      checkForComodification();
+      if(index < 0 || index >= size){
+        throw new ArrayIndexOutOfBoundsException(index);
+      }
+      return data[offset + index];
+    }
+
+    /**
+     * Sets a given index of the view to a given element.
+     * @param index, the index of the view to set the element to.
+     * @param element, the element to write into the view.
+     * @return returns the element overwritten by the method.
+     * @exception throws ArrayIndexOutOfBoundsException if the index does not point to an object in the view.
+     */
+    public E set(int index, E element) {
+      checkForComodification();
+      if(index < 0 || index >= size){
+        throw new ArrayIndexOutOfBoundsException(index);
+      }
+      E replacedObject = data[offset + index];
+      data[offset + index] = element;
+      return replacedObject;
+    }
+
+    /**
+     * Adds an element to the list as the last element in the view.
+     * @param e, the element to add.
+     * @return returns true if the method was successful in adding the element. Only returns true.
+     */
+    public boolean add(E e) {
+      checkForComodification();
+      ArrayList.this.add(offset + size, e);
+      size++;
+      expectedModCount = modCount;
+      return true;
+    }
+
+    /**
+     * Removes an element from the list at a given index within the view.
+     * @param index, the index of the view to remove the element from.
+     * @return returns the removed element.
+     * @exception throws ArrayIndexOutOfBoundsException if the index does not point to an object in the view.
+     */
+    public E remove(int index) {
+      checkForComodification();
+      if(index < 0 || index >= size){
+        throw new ArrayIndexOutOfBoundsException(index);
+      }
+      E removedObject = ArrayList.this.remove(offset + index);
+      size--;
+      expectedModCount = modCount;
+      return removedObject;
+    }
+
+    /**
+     * Removes every element of the view from the list in a single copy.
+     */
+    public void clear() {
+      checkForComodification();
+      removeRange(offset, offset + size);
+      size = 0;
+      expectedModCount = modCount;
+    }
+
+    /**
+     * Removes every element of the view that matches a condition from the list in a single compaction.
+     * @param filter, the condition an element must match to be removed.
+     * @return returns true if any element was removed. Otherwise returns false.
+     */
+    public boolean removeIf(Predicate<? super E> filter) {
+      checkForComodification();
+      int oldSize = ArrayList.this.size;
+      boolean removed = ArrayList.this.removeIf(filter, offset, offset + size);
+      size -= oldSize - ArrayList.this.size;
+      expectedModCount = modCount;
+      return removed;
+    }
+
+    /**
+     * Sorts the view in place using ArraySort's natural mergeSort, which is stable.
+     * @param compare, the comparator to compare the data by.
+     */
+    public void sort(Comparator<? super E> compare) {
+      checkForComodification();
+      new ArraySort<E>(null).mergeSort(data, offset, offset + size, compare, null);
+    }
+
+    /**
+     * Gets the size of the view.
+     * @return returns the size of the view.
+     */
+    public int size() {
+      checkForComodification();
+      return size;
+    }
+
+    /**
+     * Sends a new iterator over the elements of the view.
+     * @return returns an iterator for the view.
+     */
+    @Override
+    public Iterator<E> iterator() {
+      checkForComodification();
+      return new Iterator<E>() {
+        private int index = 0;
+
+        @Override
+        public boolean hasNext() {
+          return index < size;
+        }
+
+        @Override
+        public E next() {
+          checkForComodification();
+          if(index >= size){
+            throw new NoSuchElementException();
+          }
+          return data[offset + index++];
+        }
+      };
+    }
+
+    /**
+     * Checks that the size of the list has not changed other than through this view.
+     * @throws throws ConcurrentModificationException if the list was changed.
+     */
+    private void checkForComodification() {
+      if(modCount != expectedModCount){
+        throw new ConcurrentModificationException();
+      }
+    }
+  }
+
+  /**
+   * ArrayListSpliterator, a Spliterator over a range of indices of the ArrayList's data array that splits the range in half.
+   * The Spliterator is late-binding: the spliterator() Spliterator takes its range and modCount from the list at its
+   * first traversal, split or size estimate, not when it is created, so changes made before a Stream runs are seen.
+   * After binding it is fail-fast: a change to the size of the list throws a ConcurrentModificationException.
+   * @author Nagoshi, Vincent
+   */
+  private class ArrayListSpliterator implements Spliterator<E> {
+    private int index;
+    /** The index after the last index of the range, or -1 until the Spliterator binds to the list. */
+    private int fence;
+    private int expectedModCount;
+
+    /**
+     * Constructor
+     * @param index, the first index of the range.
+     * @param fence, the index after the last index of the range, or -1 to bind to the size of the list on first use.
+     * @param expectedModCount, the modCount the range was taken at, if fence is not -1.
+     */
+    private ArrayListSpliterator(int index, int fence, int expectedModCount){
+      this.index = index;
+      this.fence = fence;
+      this.expectedModCount = expectedModCount;
+    }
+
+    /**
+     * Gets the end of the range, binding the Spliterator to the current size and modCount of the list on first use.
+     * @return returns the index after the last index of the range.
+     */
+    private int getFence(){
+      if(fence < 0){
+        fence = size;
+        expectedModCount = modCount;
+      }
+      return fence;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action) {
+      if(index >= getFence()){
+        return false;
+      }
+      action.accept(data[index++]);
+      if(modCount != expectedModCount){
+        throw new ConcurrentModificationException();
+      }
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super E> action) {
+      int end = getFence();
+      E[] elements = data;
+      for(int i = index; i < end; i++){
+        action.accept(elements[i]);
+      }
+      index = end;
+      if(modCount != expectedModCount){
+        throw new ConcurrentModificationException();
+      }
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+      int middle = (index + getFence()) >>> 1;
+      if(middle <= index){
+        return null;
+      }
+      ArrayListSpliterator prefix = new ArrayListSpliterator(index, middle, expectedModCount);
+      index = middle;
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      return getFence() - index;
+    }
+
+    @Override
+    public int characteristics() {
+      return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+    }
+  }
 
   private E[] data;
   private int size;
+  /** Counts the changes to the size of the list, so that iterators and views can detect changes made around them. */
+  private int modCount;
 
   /**
    * Default constructor
@@ -148,27 +433,27 @@ public class ArrayList<E> implements Iterable<E> {
     }
     data[size] = e;
     size++;
+    modCount++;
     return true;
   }
 
   /**
    * Adds an element to the list at a given index within the list.
-   * @param index, the position (0 based) of the list to place the element.
+   * @param index, the position (0 based) of the list to place the element, or the size of the list to add it last.
    * @param element, the element to add to the list.
-   * @exception throws ArrayIndexOutOfBoundsException if the index does not point to an object in the list.
+   * @exception throws ArrayIndexOutOfBoundsException if the index is negative or greater than the size of the list.
    */
   public void add(int index, E element) {
-    if(index < 0 || index >= size){
+    if(index < 0 || index > size){
       throw new ArrayIndexOutOfBoundsException(index);
     }
     if(data.length == size){
       reallocate();
     }
-    for(int i = size; i > index; i--){
-      data[i] = data[i - 1];
-    }
+    System.arraycopy(data, index, data, index + 1, size - index);
     data[index] = element;
     size++;
+    modCount++;
   }
 
   /**
@@ -185,7 +470,7 @@ public class ArrayList<E> implements Iterable<E> {
   }
 
   /**
-   * Removes an element form the list at a given index.
+   * Removes an element from the list at a given index.
    * @param index, the index to remove the element from.
    * @return returns the removed element
    * @exception throws ArrayIndexOutOfBoundsException if the index does not point to an object in the list.
@@ -195,11 +480,10 @@ public class ArrayList<E> implements Iterable<E> {
       throw new ArrayIndexOutOfBoundsException(index);
     }
     E removedObject = data[index];
-    for(int i = index; i < size - 1; i++){
-      data[i] = data[i + 1];
-    }
+    System.arraycopy(data, index + 1, data, index, size - index - 1);
     data[size - 1] = null;
     size--;
+    modCount++;
     return removedObject;
   }
 
@@ -231,10 +515,201 @@ public class ArrayList<E> implements Iterable<E> {
    * Adds more space to the data array
    */
   private void reallocate(){
-    int capacity = data.length * 2;
+    grow(size + 1);
+  }
+
+  /**
+   * Grows the data array to at least a given capacity, doubling it if that is larger.
+   * @param minCapacity, the smallest capacity needed.
+   */
+  private void grow(int minCapacity){
+    int capacity = Math.max(data.length * 2, minCapacity);
     data = Arrays.copyOf(data, capacity);
   }
 
+  /**
+   * Makes sure the data array can hold a given number of elements without growing again.
+   * @param minCapacity, the number of elements the list should be able to hold.
+   */
+  public void ensureCapacity(int minCapacity){
+    if(minCapacity > data.length){
+      grow(minCapacity);
+    }
+  }
+
+  /**
+   * Shrinks the data array to the size of the list, releasing any unused space.
+   */
+  public void trimToSize(){
+    if(data.length > size){
+      data = Arrays.copyOf(data, size);
+    }
+  }
+
+  /**
+   * Adds every element of a Collection to the end of the list, in the Collection's iteration order.
+   * @param c, the Collection of elements to add.
+   * @return returns true if the list changed. Otherwise returns false.
+   */
+  public boolean addAll(Collection<? extends E> c){
+    return addAll(size, c);
+  }
+
+  /**
+   * Adds every element of a Collection to the list at a given index, in the Collection's iteration order. The data
+   * array grows at most once and the elements after the index are shifted back in a single copy.
+   * @param index, the position (0 based) of the list to place the first element, or the size of the list to add them last.
+   * @param c, the Collection of elements to add.
+   * @return returns true if the list changed. Otherwise returns false.
+   * @exception throws ArrayIndexOutOfBoundsException if the index is negative or greater than the size of the list.
+   */
+  public boolean addAll(int index, Collection<? extends E> c){
+    Object[] elements = c.toArray();
+    return insert(index, elements, 0, elements.length);
+  }
+
+  /**
+   * Adds every element of another ArrayList to the end of this list, in order.
+   * @param list, the list of elements to add.
+   * @return returns true if this list changed. Otherwise returns false.
+   */
+  public boolean addAll(ArrayList<? extends E> list){
+    return addAll(size, list);
+  }
+
+  /**
+   * Adds every element of another ArrayList to this list at a given index, in order, copying straight from the
+   * other list's data array.
+   * @param index, the position (0 based) of this list to place the first element, or the size of this list to add them last.
+   * @param list, the list of elements to add.
+   * @return returns true if this list changed. Otherwise returns false.
+   * @exception throws ArrayIndexOutOfBoundsException if the index is negative or greater than the size of this list.
+   */
+  public boolean addAll(int index, ArrayList<? extends E> list){
+    return insert(index, list.data, 0, list.size);
+  }
+
+  /**
+   * Inserts a section of an Array into the list at a given index.
+   * @param index, the position (0 based) of the list to place the first element.
+   * @param elements, the Array holding the elements to insert.
+   * @param from, the first index of the elements to insert.
+   * @param count, the number of elements to insert.
+   * @return returns true if any element was inserted. Otherwise returns false.
+   * @exception throws ArrayIndexOutOfBoundsException if the index is negative or greater than the size of the list.
+   */
+  private boolean insert(int index, Object[] elements, int from, int count){
+    if(index < 0 || index > size){
+      throw new ArrayIndexOutOfBoundsException(index);
+    }
+    if(count == 0){
+      return false;
+    }
+    ensureCapacity(size + count);
+    if(elements == data){
+      elements = Arrays.copyOfRange(elements, from, from + count);
+      from = 0;
+    }
+    System.arraycopy(data, index, data, index + count, size - index);
+    System.arraycopy(elements, from, data, index, count);
+    size += count;
+    modCount++;
+    return true;
+  }
+
+  /**
+   * Removes every element that matches a condition, compacting the remaining elements in a single pass once every
+   * element has been tested. If the condition throws, the list is left unchanged.
+   * @param filter, the condition an element must match to be removed.
+   * @return returns true if any element was removed. Otherwise returns false.
+   */
+  public boolean removeIf(Predicate<? super E> filter){
+    return removeIf(filter, 0, size);
+  }
+
+  /**
+   * Removes every element that is not in a Collection, compacting the remaining elements in a single pass once every
+   * element has been tested. If the Collection's contains throws, the list is left unchanged.
+   * @param c, the Collection of elements to keep.
+   * @return returns true if any element was removed. Otherwise returns false.
+   */
+  public boolean retainAll(Collection<?> c){
+    return removeIf(e -> !c.contains(e), 0, size);
+  }
+
+  /**
+   * Removes every element of a section of the list that matches a condition.
+   * The whole section is tested before any element is moved, with the matches recorded one bit per element, so a
+   * condition that throws leaves the list unchanged.
+   * @param filter, the condition an element must match to be removed.
+   * @param first, the first index of the section.
+   * @param end, the index after the last index of the section.
+   * @return returns true if any element was removed. Otherwise returns false.
+   * @exception throws ConcurrentModificationException if the condition changes the list.
+   */
+  private boolean removeIf(Predicate<? super E> filter, int first, int end){
+    int expectedModCount = modCount;
+    long[] removed = null;
+    for(int i = first; i < end; i++){
+      if(filter.test(data[i])){
+        if(removed == null){
+          removed = new long[((end - first - 1) >> 6) + 1];
+        }
+        removed[(i - first) >> 6] |= 1L << (i - first);
+      }
+    }
+    if(modCount != expectedModCount){
+      throw new ConcurrentModificationException();
+    }
+    if(removed == null){
+      return false;
+    }
+    int kept = first;
+    for(int i = first; i < end; i++){
+      if((removed[(i - first) >> 6] & (1L << (i - first))) == 0){
+        data[kept++] = data[i];
+      }
+    }
+    removeRange(kept, end);
+    return true;
+  }
+
+  /**
+   * Removes a section of the list, shifting the elements after it forward in a single copy.
+   * @param first, the first index of the section to remove.
+   * @param end, the index after the last index of the section to remove.
+   */
+  private void removeRange(int first, int end){
+    System.arraycopy(data, end, data, first, size - end);
+    int newSize = size - (end - first);
+    Arrays.fill(data, newSize, size, null);
+    size = newSize;
+    modCount++;
+  }
+
+  /**
+   * Sends a view of a section of the list. The view reads and writes this list's data array directly, so nothing is
+   * copied; changes made through the view show in this list and the other way around. Once the size of this list
+   * changes other than through the view, using the view throws a ConcurrentModificationException.
+   * @param fromIndex, the first index of the section.
+   * @param toIndex, the index after the last index of the section.
+   * @return returns a view of the section.
+   * @exception throws ArrayIndexOutOfBoundsException if fromIndex or toIndex is outside of the list.
+   * @exception throws IllegalArgumentException if fromIndex is greater than toIndex.
+   */
+  public SubList subList(int fromIndex, int toIndex){
+    if(fromIndex > toIndex){
+      throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+    }
+    if(fromIndex < 0){
+      throw new ArrayIndexOutOfBoundsException(fromIndex);
+    }
+    if(toIndex > size){
+      throw new ArrayIndexOutOfBoundsException(toIndex);
+    }
+    return new SubList(fromIndex, toIndex - fromIndex);
+  }
+
   /**
    * Sorts the data array using an insertion algorithm.
    * @param compare, the comparator to compare the data by.
@@ -291,6 +766,176 @@ public class ArrayList<E> implements Iterable<E> {
     }
   }
 
+  /**
+   * Sorts the data array in place over [0, size) using ArraySort's natural mergeSort, which is stable and takes
+   * O(n log n) comparisons. A list that is already in order is detected in one pass and left untouched.
+   * @param compare, the comparator to compare the data by.
+   */
+  public void sort(Comparator<? super E> compare){
+    if(!isSorted(compare)){
+      new ArraySort<E>(null).mergeSort(data, 0, size, compare, null);
+    }
+  }
+
+  /**
+   * Sorts the data array in place over [0, size) using ArraySort's parallelMergeSort on the common ForkJoinPool,
+   * which is stable. A list that is already in order is detected in one pass and left untouched.
+   * @param compare, the comparator to compare the data by.
+   */
+  public void parallelSort(Comparator<? super E> compare){
+    if(!isSorted(compare)){
+      new ArraySort<E>(null).parallelMergeSort(data, 0, size, compare, ForkJoinPool.commonPool());
+    }
+  }
+
+  /**
+   * Checks if the list is already in order.
+   * @param compare, the comparator to compare the data by.
+   * @return returns true if no element is greater than the element after it. Otherwise returns false.
+   */
+  private boolean isSorted(Comparator<? super E> compare){
+    for(int i = 1; i < size; i++){
+      if(compare.compare(data[i - 1], data[i]) > 0){
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Searches a sorted list for a key using a binary search, taking O(log n) comparisons.
+   * @param key, the element to search for.
+   * @param compare, the comparator the list is sorted by.
+   * @return returns the index of an element equivalent to the key if there is one. Otherwise returns
+   * (-(insertion point) - 1), where the insertion point is the index the key would be inserted at.
+   */
+  public int binarySearch(E key, Comparator<? super E> compare){
+    int index = lowerBound(key, compare);
+    if(index < size && compare.compare(data[index], key) == 0){
+      return index;
+    }
+    return -index - 1;
+  }
+
+  /**
+   * Finds the first index of a sorted list whose element is not less than a key, using a binary search.
+   * @param key, the element to search for.
+   * @param compare, the comparator the list is sorted by.
+   * @return returns the index of the first element greater than or equivalent to the key, or the size of the list if
+   * every element is less than the key.
+   */
+  public int lowerBound(E key, Comparator<? super E> compare){
+    int low = 0;
+    int high = size;
+    while(low < high){
+      int middle = (low + high) >>> 1;
+      if(compare.compare(data[middle], key) < 0){
+        low = middle + 1;
+      }
+      else{
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Finds the first index of a sorted list whose element is greater than a key, using a binary search.
+   * @param key, the element to search for.
+   * @param compare, the comparator the list is sorted by.
+   * @return returns the index of the first element greater than the key, or the size of the list if no element is
+   * greater than the key.
+   */
+  public int upperBound(E key, Comparator<? super E> compare){
+    int low = 0;
+    int high = size;
+    while(low < high){
+      int middle = (low + high) >>> 1;
+      if(compare.compare(data[middle], key) <= 0){
+        low = middle + 1;
+      }
+      else{
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Adds an element to a sorted list at the position that keeps it sorted. The position is found by a binary search
+   * and the elements after it are shifted in a single copy, so the list never needs to be sorted again. An element
+   * equivalent to elements already in the list is added after them, which keeps equal elements in insertion order.
+   * @param element, the element to add to the list.
+   * @param compare, the comparator the list is sorted by.
+   * @return returns the index the element was added at.
+   */
+  public int insertSorted(E element, Comparator<? super E> compare){
+    int index = upperBound(element, compare);
+    add(index, element);
+    return index;
+  }
+
+  /**
+   * Sends a view of the elements of a sorted list from one key, inclusive, to another key, exclusive. Both ends are
+   * found by a binary search and nothing is copied; see subList for how the view behaves.
+   * @param fromKey, the smallest element of the range.
+   * @param toKey, the element the range stops before.
+   * @param compare, the comparator the list is sorted by.
+   * @return returns a view of the elements greater than or equivalent to fromKey and less than toKey.
+   * @exception throws IllegalArgumentException if fromKey is greater than toKey.
+   */
+  public SubList range(E fromKey, E toKey, Comparator<? super E> compare){
+    if(compare.compare(fromKey, toKey) > 0){
+      throw new IllegalArgumentException("fromKey > toKey");
+    }
+    int fromIndex = lowerBound(fromKey, compare);
+    return new SubList(fromIndex, lowerBound(toKey, compare) - fromIndex);
+  }
+
+  /**
+   * Sends a Spliterator over the list that knows its exact size and splits by index range, so parallel streams
+   * divide the work evenly. It binds to the list at its first use rather than here.
+   * @return returns a Spliterator for the list.
+   */
+  @Override
+  public Spliterator<E> spliterator() {
+    return new ArrayListSpliterator(0, -1, 0);
+  }
+
+  /**
+   * Sends a sequential Stream over the list.
+   * @return returns a Stream of the elements of the list.
+   */
+  public Stream<E> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  /**
+   * Sends a parallel Stream over the list.
+   * @return returns a possibly parallel Stream of the elements of the list.
+   */
+  public Stream<E> parallelStream() {
+    return StreamSupport.stream(spliterator(), true);
+  }
+
+  /**
+   * Performs an action on every element of the list in order with a plain loop over the data array.
+   * @param action, the action to perform on each element.
+   * @throws ConcurrentModificationException if the action changes the size of the list.
+   */
+  @Override
+  public void forEach(Consumer<? super E> action){
+    int expectedModCount = modCount;
+    E[] elements = data;
+    int end = size;
+    for(int i = 0; i < end && modCount == expectedModCount; i++){
+      action.accept(elements[i]);
+    }
+    if(modCount != expectedModCount){
+      throw new ConcurrentModificationException();
+    }
+  }
+
   /**
    * Sends a new iterator.
    * @return returns an iterator for the list.
@@ -1,15 +1,76 @@
-
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
 
 /**
- * ArraySort, Contains six sorting algorithms for sorting Arrays.
+ * ArraySort, Contains sorting algorithms for sorting Arrays of Objects and of primitives.
+ * Each sort reports its statistics to the SortListener given at construction; without a listener nothing is counted.
+ * An ArraySort holds no per-sort state, so one instance may be shared between threads.
  * @author Nagoshi, Vincent
  */
 public class ArraySort<E> {
-  private int numberOfComparisons;
-  private int numberOfSwaps;
-  private long startTime;
-  private long endTime;
+  /** The default partition size at or below which the parallel sorts fall back to the sequential algorithms. */
+  public static final int DEFAULT_PARALLEL_THRESHOLD = 8192;
+
+  /** Receives the statistics of each sort, or null if statistics are turned off. */
+  private final SortListener listener;
+  /** Sections of at most this many elements are finished by quickSort with an insertionSort. */
+  private static final int INSERTION_SORT_THRESHOLD = 16;
+  /** Sections shorter than this are sorted by mergeSort with a single insertionSort run. */
+  private static final int MIN_MERGE = 32;
+  /** The most runs mergeSort can have waiting to be merged; TimSort's run-length invariants keep it below this. */
+  private static final int MAX_RUNS = 49;
+  /** Sections of at least this many elements choose their quickSort pivot with Tukey's ninther. */
+  private static final int NINTHER_THRESHOLD = 128;
+  /** The number of buckets used by each radixSort pass. */
+  private static final int RADIX = 256;
+  /** True if vectorQuickSort can sort ints with the Vector API, which needs the jdk.incubator.vector module. */
+  private static final boolean VECTOR_INT = vectorModulePresent() && VectorSort.INT_SUPPORTED;
+  /** True if vectorQuickSort can sort longs with the Vector API. */
+  private static final boolean VECTOR_LONG = vectorModulePresent() && VectorSort.LONG_SUPPORTED;
+
+  private volatile int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+  /**
+   * Default constructor, prints the statistics of each sort to standard output.
+   */
+  public ArraySort() {
+    this(SortListener.CONSOLE);
+  }
+
+  /**
+   * Constructor with a given statistics listener.
+   * @param listener, the listener to report the statistics of each sort to, or null to turn statistics off.
+   */
+  public ArraySort(SortListener listener) {
+    this.listener = listener;
+  }
+
+  /**
+   * Gets the partition size at or below which the parallel sorts sort sequentially.
+   * @return returns the parallel threshold.
+   */
+  public int getParallelThreshold() {
+    return parallelThreshold;
+  }
+
+  /**
+   * Sets the partition size at or below which the parallel sorts sort sequentially.
+   * @param parallelThreshold, the new threshold.
+   * @throws IllegalArgumentException if parallelThreshold is less than 1.
+   */
+  public void setParallelThreshold(int parallelThreshold) {
+    if (parallelThreshold < 1) {
+      throw new IllegalArgumentException("parallelThreshold must be at least 1: " + parallelThreshold);
+    }
+    this.parallelThreshold = parallelThreshold;
+  }
 
   /**
    * Sorts an Array using an insertionSort algorithm.
@@ -17,23 +78,19 @@ public class ArraySort<E> {
    * @param compare, a Comparator element to sort the Array by.
    */
   public void insertionSort(E[] data, Comparator<? super E> compare){
-    startTime = System.nanoTime();
-    numberOfComparisons = 0;
-    numberOfSwaps = 0;
+    SortCounter counter = startCounter();
     for(int i = 1; i < data.length; i++){
       int j = i;
       E held = data[i];
-      while(j > 0 && compare(compare, data[j - 1], held) > 0){
+      while(j > 0 && compare(counter, compare, data[j - 1], held) > 0){
         data[j] = data[j - 1];
-        numberOfSwaps++;
+        countSwap(counter);
         j--;
       }
       data[j] = held;
-      numberOfSwaps++;
+      countSwap(counter);
     }
-    endTime = System.nanoTime();
-    System.out.println("insertionSort took " + (endTime - startTime) + " nanoseconds to sort the array.");
-    System.out.println("Number of comparisons: " + numberOfComparisons + "; Number of swaps: " + numberOfSwaps + "; Size of Array: " + data.length);
+    report("insertionSort", data.length, counter);
   }
 
   /**
@@ -42,14 +99,12 @@ public class ArraySort<E> {
    * @param compare, a Comparator element to sort the Array by.
    */
   public void bubbleSort(E[] data, Comparator<? super E> compare){
-    startTime = System.nanoTime();
-    numberOfComparisons = 0;
-    numberOfSwaps = 0;
+    SortCounter counter = startCounter();
     for(int i = 0; i < data.length - 1; i++){
       int numberOfExchagesMadeThisPass = 0;
       for(int j = 0; j < data.length - i - 1; j++){
-        if(compare(compare, data[j], data[j +1]) > 0){
-          swap(data, j, j + 1);
+        if(compare(counter, compare, data[j], data[j +1]) > 0){
+          swap(counter, data, j, j + 1);
           numberOfExchagesMadeThisPass++;
         }
       }
@@ -57,9 +112,7 @@ public class ArraySort<E> {
         break;
       }
     }
-    endTime = System.nanoTime();
-    System.out.println("bubbleSort took " + (endTime - startTime) + " nanoseconds to sort the array.");
-    System.out.println("Number of comparisons: " + numberOfComparisons + "; Number of swaps: " + numberOfSwaps + "; Size of Array: " + data.length);
+    report("bubbleSort", data.length, counter);
   }
 
   /**
@@ -68,22 +121,18 @@ public class ArraySort<E> {
    * @param compare, a Comparator element to sort the Array by.
    */
   public void selectionSort(E[] data, Comparator<? super E> compare){
-    startTime = System.nanoTime();
-    numberOfComparisons = 0;
-    numberOfSwaps = 0;
+    SortCounter counter = startCounter();
     int currentSmallestObjectKey;
     for(int i = 0; i < data.length - 1; i++){
       currentSmallestObjectKey = i;
       for(int j = i + 1; j < data.length; j++){
-        if(compare(compare, data[j], data[currentSmallestObjectKey]) < 0){
+        if(compare(counter, compare, data[j], data[currentSmallestObjectKey]) < 0){
           currentSmallestObjectKey = j;
         }	
       }
-      swap(data, i, currentSmallestObjectKey);
+      swap(counter, data, i, currentSmallestObjectKey);
     }
-    endTime = System.nanoTime();
-    System.out.println("selectionSort took " + (endTime - startTime) + " nanoseconds to sort the array.");
-    System.out.println("Number of comparisons: " + numberOfComparisons + "; Number of swaps: " + numberOfSwaps + "; Size of Array: " + data.length);
+    report("selectionSort", data.length, counter);
   }
 
   /**
@@ -92,47 +141,87 @@ public class ArraySort<E> {
    * @param compare, a Comparator element to sort the Array by.
    */
   public void heapSort(E[] data, Comparator<? super E> compare) {
-    startTime = System.nanoTime();
-    numberOfComparisons = 0;
-    numberOfSwaps = 0;
-    int n = 1;
-    while (n < data.length) {
-      n++;
-      int child = n - 1;
-      int parent = (child - 1) / 2;
-      while (parent >= 0 && compare(compare, data[parent], data[child]) < 0) {
-        swap(data, parent, child);
-        child = parent;
-        parent = (child - 1) / 2;
-      }
-    }
-    n = data.length;
-    while (n > 0) {
+    SortCounter counter = startCounter();
+    heapSort(counter, data, compare, 0, data.length);
+    report("heapSort", data.length, counter);
+  }
+
+  /**
+   * Sorts a section of an Array using a heapSort algorithm.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of Objects.
+   * @param compare, a Comparator element to sort the Array by.
+   * @param first, the first index of the section to sort.
+   * @param end, the index after the last index of the section to sort.
+   */
+  private void heapSort(SortCounter counter, E[] data, Comparator<? super E> compare, int first, int end) {
+    int n = end - first;
+    for (int parent = n / 2 - 1; parent >= 0; parent--) {
+      siftDown(counter, data, compare, first, parent, n);
+    }
+    sortHeap(counter, data, compare, first, n);
+  }
+
+  /**
+   * Sorts a max-heap in place by repeatedly moving its largest element to the end.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of Objects.
+   * @param compare, a Comparator element to order the heap by.
+   * @param offset, the index in data of the root of the heap.
+   * @param n, the number of elements in the heap.
+   */
+  private void sortHeap(SortCounter counter, E[] data, Comparator<? super E> compare, int offset, int n) {
+    while (n > 1) {
       n--;
-      swap(data, 0, n);
-      int parent = 0;
-      while (true) {
-        int leftChild = 2 * parent + 1;
-        if (leftChild >= n) {
-          break;
-        }
-        int rightChild = 2 * parent + 2;
-        int maxChild = leftChild;
-        if (rightChild < n && compare(compare, data[leftChild], data[rightChild]) < 0) {
-          maxChild = rightChild;
-        }
-        if (compare(compare, data[parent], data[maxChild]) < 0) {
-          swap(data, parent, maxChild);
-          parent = maxChild;
-        }
-        else {
-          break;
-        }
+      swap(counter, data, offset, offset + n);
+      siftDown(counter, data, compare, offset, 0, n);
+    }
+  }
+
+  /**
+   * Moves the last element of a max-heap up until its parent is not less than it.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of Objects.
+   * @param compare, a Comparator element to order the heap by.
+   * @param child, the heap position of the element to move up.
+   */
+  private void siftUp(SortCounter counter, E[] data, Comparator<? super E> compare, int child) {
+    int parent = (child - 1) / 2;
+    while (child > 0 && compare(counter, compare, data[parent], data[child]) < 0) {
+      swap(counter, data, parent, child);
+      child = parent;
+      parent = (child - 1) / 2;
+    }
+  }
+
+  /**
+   * Moves an element of a max-heap down until neither of its children is greater than it.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of Objects.
+   * @param compare, a Comparator element to order the heap by.
+   * @param offset, the index in data of the root of the heap.
+   * @param parent, the heap position of the element to move down.
+   * @param n, the number of elements in the heap.
+   */
+  private void siftDown(SortCounter counter, E[] data, Comparator<? super E> compare, int offset, int parent, int n) {
+    while (true) {
+      int leftChild = 2 * parent + 1;
+      if (leftChild >= n) {
+        break;
+      }
+      int rightChild = 2 * parent + 2;
+      int maxChild = leftChild;
+      if (rightChild < n && compare(counter, compare, data[offset + leftChild], data[offset + rightChild]) < 0) {
+        maxChild = rightChild;
+      }
+      if (compare(counter, compare, data[offset + parent], data[offset + maxChild]) < 0) {
+        swap(counter, data, offset + parent, offset + maxChild);
+        parent = maxChild;
+      }
+      else {
+        break;
       }
     }
-    endTime = System.nanoTime();
-    System.out.println("heapSort took " + (endTime - startTime) + " nanoseconds to sort the array.");
-    System.out.println("Number of comparisons: " + numberOfComparisons + "; Number of swaps: " + numberOfSwaps + "; Size of Array: " + data.length);
   }
 
   /**
@@ -141,120 +230,2958 @@ public class ArraySort<E> {
    * @param compare, a Comparator element to sort the Array by.
    */
   public void mergeSort(E[] data, Comparator<? super E> compare) {
-    startTime = System.nanoTime();
-    numberOfComparisons = 0;
-    numberOfSwaps = 0;
-    merge(data, compare);
-    endTime = System.nanoTime();
-    System.out.println("mergeSort took " + (endTime - startTime) + " nanoseconds to sort the array.");
-    System.out.println("Number of comparisons: " + numberOfComparisons + "; Number of swaps: " + numberOfSwaps + "; Size of Array: " + data.length);
+    mergeSort(data, compare, null);
   }
 
   /**
-   * Recursively sorts an Array using a merge algorithm.
+   * Sorts an Array using a natural mergeSort algorithm with a single scratch buffer.
+   * Ascending and strictly descending runs already in the data are found and kept, short runs are extended with an
+   * insertionSort, and adjacent runs are merged in the order TimSort uses. Runs that are already in order are not
+   * merged, so sorted and partially sorted Arrays finish in close to linear time. The sort is stable.
    * @param data, an Array of Objects.
    * @param compare, a Comparator element to sort the Array by.
+   * @param buffer, a scratch Array of at least data.length / 2 elements that may be reused between sorts, or null to allocate one.
+   * @throws IllegalArgumentException if buffer is shorter than data.length / 2.
+   */
+  public void mergeSort(E[] data, Comparator<? super E> compare, E[] buffer) {
+    mergeSort(data, 0, data.length, compare, buffer);
+  }
+
+  /**
+   * Sorts a section of an Array using the natural mergeSort algorithm, leaving the rest of the Array untouched.
+   * @param data, an Array of Objects.
+   * @param fromIndex, the first index of the section to sort.
+   * @param toIndex, the index after the last index of the section to sort.
+   * @param compare, a Comparator element to sort the Array by.
+   * @param buffer, a scratch Array of at least (toIndex - fromIndex) / 2 elements that may be reused between sorts, or null to allocate one.
+   * @throws ArrayIndexOutOfBoundsException if fromIndex or toIndex is outside of the Array.
+   * @throws IllegalArgumentException if fromIndex is greater than toIndex, or buffer is too short.
    */
   @SuppressWarnings("unchecked")
-  private void merge(E[] data, Comparator<? super E> compare) {
-    if (data.length > 1) {
-      int halfSize = data.length / 2;
-      E[] left = (E[]) new Object[halfSize];
-      System.arraycopy(data, 0, left, 0, halfSize);
-      E[] right = (E[]) new Object[data.length - halfSize];
-      System.arraycopy(data, halfSize, right, 0, data.length - halfSize);
-      merge(left, compare);
-      merge(right, compare);
-      int i = 0;
-      int j = 0;
-      int k = 0;
-      while (i < left.length && j < right.length) {
-        if (compare(compare, left[i], right[j]) < 0) {
-          data[k++] = left[i++];
-          numberOfSwaps++;
+  public void mergeSort(E[] data, int fromIndex, int toIndex, Comparator<? super E> compare, E[] buffer) {
+    checkRange(data.length, fromIndex, toIndex);
+    int length = toIndex - fromIndex;
+    if (buffer == null) {
+      buffer = (E[]) new Object[length / 2];
+    }
+    else if (buffer.length < length / 2) {
+      throw new IllegalArgumentException("buffer must hold at least " + (length / 2) + " elements: " + buffer.length);
+    }
+    SortCounter counter = startCounter();
+    mergeSort(counter, data, buffer, 0, compare, fromIndex, toIndex);
+    report("mergeSort", length, counter);
+  }
+
+  /**
+   * Sorts a section of an Array using a natural mergeSort algorithm.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of Objects.
+   * @param buffer, a scratch Array with at least (end - first) / 2 elements from bufferOffset.
+   * @param bufferOffset, the first index of buffer to use.
+   * @param compare, a Comparator element to sort the Array by.
+   * @param first, the first index of the section to sort.
+   * @param end, the index after the last index of the section to sort.
+   */
+  private void mergeSort(SortCounter counter, E[] data, E[] buffer, int bufferOffset, Comparator<? super E> compare, int first, int end) {
+    int length = end - first;
+    if (length < 2) {
+      return;
+    }
+    int minRun = minRunLength(length);
+    int[] runStart = new int[MAX_RUNS];
+    int runs = 0;
+    int start = first;
+    while (start < end) {
+      int runEnd = findRun(counter, data, compare, start, end);
+      if (runEnd - start < minRun) {
+        runEnd = Math.min(start + minRun, end);
+        insertionSort(counter, data, compare, start, runEnd - 1);
+      }
+      runStart[runs++] = start;
+      while (runs > 1) {
+        int n = runs - 2;
+        int nextLength = runEnd - runStart[n + 1];
+        int length0 = runStart[n + 1] - runStart[n];
+        if ((n > 0 && runStart[n] - runStart[n - 1] <= length0 + nextLength)
+            || (n > 1 && runStart[n - 1] - runStart[n - 2] <= runStart[n] - runStart[n - 1] + length0)) {
+          if (runStart[n] - runStart[n - 1] < nextLength) {
+            n--;
+          }
         }
-        else {
-          data[k++] = right[j++];
-          numberOfSwaps++;
+        else if (length0 > nextLength) {
+          break;
         }
+        runs = mergeAt(counter, data, buffer, bufferOffset, compare, runStart, runs, n, runEnd);
+      }
+      start = runEnd;
+    }
+    while (runs > 1) {
+      int n = runs - 2;
+      if (n > 0 && runStart[n] - runStart[n - 1] < end - runStart[n + 1]) {
+        n--;
+      }
+      runs = mergeAt(counter, data, buffer, bufferOffset, compare, runStart, runs, n, end);
+    }
+  }
+
+  /**
+   * Finds the run starting at a given index, reversing it in place if it is strictly descending.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of Objects.
+   * @param compare, a Comparator element to sort the Array by.
+   * @param start, the first index of the run.
+   * @param end, the index after the last index of the section being sorted.
+   * @return returns the index after the last index of the run.
+   */
+  private int findRun(SortCounter counter, E[] data, Comparator<? super E> compare, int start, int end) {
+    int runEnd = start + 1;
+    if (runEnd == end) {
+      return runEnd;
+    }
+    if (compare(counter, compare, data[runEnd++], data[start]) < 0) {
+      while (runEnd < end && compare(counter, compare, data[runEnd], data[runEnd - 1]) < 0) {
+        runEnd++;
       }
-      while (i < left.length) {
-        data[k++] = left[i++];
-        numberOfSwaps++;
+      for (int i = start, j = runEnd - 1; i < j; i++, j--) {
+        swap(counter, data, i, j);
       }
-      while (j < right.length) {
-        data[k++] = right[j++];
-        numberOfSwaps++;
+    }
+    else {
+      while (runEnd < end && compare(counter, compare, data[runEnd], data[runEnd - 1]) >= 0) {
+        runEnd++;
       }
     }
+    return runEnd;
   }
 
   /**
-   * Sorts an Array using a quickSort algorithm.
+   * Merges run n with run n + 1 on the mergeSort run stack and removes run n + 1 from the stack.
+   * @param counter, the statistics of the current sort, or null.
    * @param data, an Array of Objects.
+   * @param buffer, a scratch Array.
+   * @param bufferOffset, the first index of buffer to use.
    * @param compare, a Comparator element to sort the Array by.
+   * @param runStart, the first index of each run on the stack.
+   * @param runs, the number of runs on the stack.
+   * @param n, the position on the stack of the first run to merge.
+   * @param end, the index after the last index of the top run.
+   * @return returns the new number of runs on the stack.
    */
-  public void quickSort(E[] data, Comparator<? super E> compare) {
-    startTime = System.nanoTime();
-    numberOfComparisons = 0;
-    numberOfSwaps = 0;
-    quickSort(data, compare, 0, data.length - 1);
-    endTime = System.nanoTime();
-    System.out.println("quickSort took " + (endTime - startTime) + " nanoseconds to sort the array.");
-    System.out.println("Number of comparisons: " + numberOfComparisons + "; Number of swaps: " + numberOfSwaps + "; Size of Array: " + data.length);
+  private int mergeAt(SortCounter counter, E[] data, E[] buffer, int bufferOffset, Comparator<? super E> compare,
+      int[] runStart, int runs, int n, int end) {
+    int runEnd = n + 2 < runs ? runStart[n + 2] : end;
+    merge(counter, data, buffer, bufferOffset, compare, runStart[n], runStart[n + 1], runEnd);
+    System.arraycopy(runStart, n + 2, runStart, n + 1, runs - n - 2);
+    return runs - 1;
   }
 
   /**
-   * Recursively sorts an Array using a quickSort algorithm.
+   * Merges two adjacent sorted sections of an Array, keeping equal elements in their original order.
+   * The shorter section is copied into the buffer, and nothing is done if the sections are already in order.
+   * @param counter, the statistics of the current sort, or null.
    * @param data, an Array of Objects.
+   * @param buffer, a scratch Array with at least (end - first) / 2 elements from bufferOffset.
+   * @param bufferOffset, the first index of buffer to use.
    * @param compare, a Comparator element to sort the Array by.
-   * @param first, the first index of the Array to sort.
-   * @param last, the last index of the Array to sort.
+   * @param first, the first index of the left section.
+   * @param middle, the first index of the right section.
+   * @param end, the index after the last index of the right section.
    */
-  private void quickSort(E[] data, Comparator<? super E> compare, int first, int last) {
-    if (first < last) {
-      int pivotIndex;
-      E pivot = data[first];
-      int up = first;
-      int down = last;
-      do {
-        while ((up < last) && compare(compare, pivot, data[up]) >= 0) {
-          up++;
+  private void merge(SortCounter counter, E[] data, E[] buffer, int bufferOffset, Comparator<? super E> compare, int first, int middle, int end) {
+    if (first == middle || middle == end || compare(counter, compare, data[middle - 1], data[middle]) <= 0) {
+      return;
+    }
+    if (middle - first <= end - middle) {
+      System.arraycopy(data, first, buffer, bufferOffset, middle - first);
+      int i = bufferOffset;
+      int leftEnd = bufferOffset + middle - first;
+      int j = middle;
+      int k = first;
+      while (i < leftEnd && j < end) {
+        if (compare(counter, compare, buffer[i], data[j]) <= 0) {
+          data[k++] = buffer[i++];
+        }
+        else {
+          data[k++] = data[j++];
         }
-        while (compare(compare, pivot, data[down]) < 0) {
-          down--;
+        countSwap(counter);
+      }
+      while (i < leftEnd) {
+        data[k++] = buffer[i++];
+        countSwap(counter);
+      }
+    }
+    else {
+      System.arraycopy(data, middle, buffer, bufferOffset, end - middle);
+      int i = middle - 1;
+      int j = bufferOffset + end - middle - 1;
+      int k = end - 1;
+      while (i >= first && j >= bufferOffset) {
+        if (compare(counter, compare, data[i], buffer[j]) > 0) {
+          data[k--] = data[i--];
         }
-        if (up < down) {
-          swap (data, up, down);
+        else {
+          data[k--] = buffer[j--];
         }
-      } while (up < down);
-      swap (data, first, down);
-      pivotIndex = down;
-      quickSort(data, compare, first, pivotIndex - 1);
-      quickSort(data, compare, pivotIndex + 1, last);
+        countSwap(counter);
+      }
+      while (j >= bufferOffset) {
+        data[k--] = buffer[j--];
+        countSwap(counter);
+      }
     }
   }
 
   /**
-   * Compares two Objects.
-   * @param compare, a Comparator to compare two Objects with.
-   * @param obj1, the first Object.
-   * @param obj2, the second Object.
-   * @return returns 0 if the Objects are equivalent, a negative integer if obj1 is less than obj2, or a positive integer if obj1 id greater than obj2.
+   * Determines the shortest run mergeSort builds before merging, following TimSort.
+   * @param length, the number of elements to sort.
+   * @return returns a length between MIN_MERGE / 2 and MIN_MERGE, or length itself if it is shorter than MIN_MERGE.
    */
-  private int compare(Comparator<? super E> compare, E obj1, E obj2) {
-    numberOfComparisons++;
-    return compare.compare(obj1, obj2);
+  private static int minRunLength(int length) {
+    int remainder = 0;
+    while (length >= MIN_MERGE) {
+      remainder |= (length & 1);
+      length >>= 1;
+    }
+    return length + remainder;
+  }
+
+  /**
+   * Sorts an Array using a quickSort algorithm.
+   * Pivots are the median of three elements, or Tukey's ninther for large sections, and each section is split into
+   * elements less than, equal to and greater than the pivot so that duplicate keys are never partitioned twice.
+   * Only the smaller side is sorted recursively, small sections are finished with an insertionSort, and a section
+   * falls back to heapSort once the partitioning gets too deep, so the sort stays O(n log n) on any input.
+   * @param data, an Array of Objects.
+   * @param compare, a Comparator element to sort the Array by.
+   */
+  public void quickSort(E[] data, Comparator<? super E> compare) {
+    SortCounter counter = startCounter();
+    quickSort(counter, data, compare, 0, data.length - 1, depthLimit(data.length));
+    report("quickSort", data.length, counter);
+  }
+
+  /**
+   * Sorts a section of an Array using an introsort variant of quickSort.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of Objects.
+   * @param compare, a Comparator element to sort the Array by.
+   * @param first, the first index of the section to sort.
+   * @param last, the last index of the section to sort.
+   * @param depthLimit, the number of partitioning levels left before falling back to heapSort.
+   */
+  private void quickSort(SortCounter counter, E[] data, Comparator<? super E> compare, int first, int last, int depthLimit) {
+    while (last - first >= INSERTION_SORT_THRESHOLD) {
+      if (depthLimit == 0) {
+        heapSort(counter, data, compare, first, last + 1);
+        return;
+      }
+      depthLimit--;
+      long bounds = partition(counter, data, compare, first, last);
+      int lessEnd = (int) (bounds >>> 32);
+      int greaterStart = (int) bounds;
+      if (lessEnd - first < last - greaterStart) {
+        quickSort(counter, data, compare, first, lessEnd - 1, depthLimit);
+        first = greaterStart + 1;
+      }
+      else {
+        quickSort(counter, data, compare, greaterStart + 1, last, depthLimit);
+        last = lessEnd - 1;
+      }
+    }
+    insertionSort(counter, data, compare, first, last);
+  }
+
+  /**
+   * Partitions a section of an Array into elements less than, equal to and greater than a pivot.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of Objects.
+   * @param compare, a Comparator element to sort the Array by.
+   * @param first, the first index of the section to partition.
+   * @param last, the last index of the section to partition.
+   * @return returns the first index of the equal elements in the high 32 bits and the last index of the equal elements in the low 32 bits.
+   */
+  private long partition(SortCounter counter, E[] data, Comparator<? super E> compare, int first, int last) {
+    E pivot = data[pivotIndex(counter, data, compare, first, last)];
+    int lessEnd = first;
+    int i = first;
+    int greaterStart = last;
+    while (i <= greaterStart) {
+      int c = compare(counter, compare, data[i], pivot);
+      if (c < 0) {
+        swap(counter, data, lessEnd++, i++);
+      }
+      else if (c > 0) {
+        swap(counter, data, i, greaterStart--);
+      }
+      else {
+        i++;
+      }
+    }
+    return ((long) lessEnd << 32) | (greaterStart & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Chooses a quickSort pivot, the median of three elements for small sections or Tukey's ninther for large ones.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of Objects.
+   * @param compare, a Comparator element to sort the Array by.
+   * @param first, the first index of the section.
+   * @param last, the last index of the section.
+   * @return returns the index of the pivot.
+   */
+  private int pivotIndex(SortCounter counter, E[] data, Comparator<? super E> compare, int first, int last) {
+    int middle = (first + last) >>> 1;
+    if (last - first < NINTHER_THRESHOLD) {
+      return medianOfThree(counter, data, compare, first, middle, last);
+    }
+    int step = (last - first) / 8;
+    return medianOfThree(counter, data, compare,
+        medianOfThree(counter, data, compare, first, first + step, first + 2 * step),
+        medianOfThree(counter, data, compare, middle - step, middle, middle + step),
+        medianOfThree(counter, data, compare, last - 2 * step, last - step, last));
+  }
+
+  /**
+   * Finds the median of three elements of an Array.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of Objects.
+   * @param compare, a Comparator element to sort the Array by.
+   * @param a, the index of the first element.
+   * @param b, the index of the second element.
+   * @param c, the index of the third element.
+   * @return returns the index of the median element.
+   */
+  private int medianOfThree(SortCounter counter, E[] data, Comparator<? super E> compare, int a, int b, int c) {
+    if (compare(counter, compare, data[a], data[b]) < 0) {
+      if (compare(counter, compare, data[b], data[c]) < 0) {
+        return b;
+      }
+      return compare(counter, compare, data[a], data[c]) < 0 ? c : a;
+    }
+    if (compare(counter, compare, data[a], data[c]) < 0) {
+      return a;
+    }
+    return compare(counter, compare, data[b], data[c]) < 0 ? c : b;
+  }
+
+  /**
+   * Sorts a small section of an Array using an insertionSort algorithm.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of Objects.
+   * @param compare, a Comparator element to sort the Array by.
+   * @param first, the first index of the section to sort.
+   * @param last, the last index of the section to sort.
+   */
+  private void insertionSort(SortCounter counter, E[] data, Comparator<? super E> compare, int first, int last) {
+    for (int i = first + 1; i <= last; i++) {
+      int j = i;
+      E held = data[i];
+      while (j > first && compare(counter, compare, data[j - 1], held) > 0) {
+        data[j] = data[j - 1];
+        countSwap(counter);
+        j--;
+      }
+      data[j] = held;
+      countSwap(counter);
+    }
+  }
+
+  /**
+   * Moves the k-th smallest element of an Array (counting from 0) to index k, with no greater element before it and
+   * no smaller element after it, using an introselect: quickSort's partitioning, continued only on the side that
+   * holds index k, with a heapSort of the remaining section if partitioning gets too deep.
+   * @param data, an Array of Objects.
+   * @param k, the index of the element to select.
+   * @param compare, a Comparator element to order the Array by.
+   * @return returns the k-th smallest element.
+   * @throws ArrayIndexOutOfBoundsException if k does not point to an element of the Array.
+   */
+  public E select(E[] data, int k, Comparator<? super E> compare) {
+    if (k < 0 || k >= data.length) {
+      throw new ArrayIndexOutOfBoundsException(k);
+    }
+    SortCounter counter = startCounter();
+    int first = 0;
+    int last = data.length - 1;
+    int depthLimit = depthLimit(data.length);
+    while (last - first >= INSERTION_SORT_THRESHOLD) {
+      if (depthLimit == 0) {
+        heapSort(counter, data, compare, first, last + 1);
+        first = last;
+        break;
+      }
+      depthLimit--;
+      long bounds = partition(counter, data, compare, first, last);
+      int lessEnd = (int) (bounds >>> 32);
+      int greaterStart = (int) bounds;
+      if (k < lessEnd) {
+        last = lessEnd - 1;
+      }
+      else if (k > greaterStart) {
+        first = greaterStart + 1;
+      }
+      else {
+        first = last;
+        break;
+      }
+    }
+    insertionSort(counter, data, compare, first, last);
+    report("select", data.length, counter);
+    return data[k];
+  }
+
+  /**
+   * Sorts the k smallest elements of an Array into its first k indices, leaving the rest in no particular order.
+   * A max-heap of the k smallest elements seen so far is kept at the front of the Array and then sorted in place,
+   * which takes O(n log k) comparisons.
+   * @param data, an Array of Objects.
+   * @param k, the number of smallest elements to sort.
+   * @param compare, a Comparator element to order the Array by.
+   * @throws IllegalArgumentException if k is negative or greater than the length of the Array.
+   */
+  public void partialSort(E[] data, int k, Comparator<? super E> compare) {
+    if (k < 0 || k > data.length) {
+      throw new IllegalArgumentException("k must be between 0 and " + data.length + ": " + k);
+    }
+    SortCounter counter = startCounter();
+    for (int parent = k / 2 - 1; parent >= 0; parent--) {
+      siftDown(counter, data, compare, 0, parent, k);
+    }
+    for (int i = k; i < data.length && k > 0; i++) {
+      if (compare(counter, compare, data[i], data[0]) < 0) {
+        swap(counter, data, 0, i);
+        siftDown(counter, data, compare, 0, 0, k);
+      }
+    }
+    sortHeap(counter, data, compare, 0, k);
+    report("partialSort", data.length, counter);
+  }
+
+  /**
+   * Finds the k smallest elements of an Iterable in a single pass, keeping only a bounded max-heap of k elements.
+   * Pass a reversed Comparator to find the k largest.
+   * @param elements, the elements to search.
+   * @param k, the number of smallest elements to find.
+   * @param compare, a Comparator element to order the elements by.
+   * @return returns a list of the k smallest elements in sorted order, or of every element if there are fewer than k.
+   * @throws IllegalArgumentException if k is negative.
+   */
+  @SuppressWarnings("unchecked")
+  public ArrayList<E> topK(Iterable<? extends E> elements, int k, Comparator<? super E> compare) {
+    if (k < 0) {
+      throw new IllegalArgumentException("k must not be negative: " + k);
+    }
+    SortCounter counter = startCounter();
+    E[] heap = (E[]) new Object[k];
+    int size = 0;
+    int seen = 0;
+    for (E e : elements) {
+      seen++;
+      if (size < k) {
+        heap[size] = e;
+        siftUp(counter, heap, compare, size++);
+      }
+      else if (k > 0 && compare(counter, compare, e, heap[0]) < 0) {
+        heap[0] = e;
+        countSwap(counter);
+        siftDown(counter, heap, compare, 0, 0, k);
+      }
+    }
+    sortHeap(counter, heap, compare, 0, size);
+    ArrayList<E> result = new ArrayList<E>();
+    for (int i = 0; i < size; i++) {
+      result.add(heap[i]);
+    }
+    report("topK", seen, counter);
+    return result;
+  }
+
+  /**
+   * Merges already sorted Arrays into a destination Array using a loser tree, without copying the runs first.
+   * Each element costs about log2(k) comparisons for k runs, and equal elements keep the order of the runs they
+   * came from, so merging the sorted pieces of a stable sort stays stable.
+   * @param runs, the sorted Arrays to merge, in order of precedence for equal elements.
+   * @param compare, a Comparator element the runs are sorted by.
+   * @param destination, the Array to write the merged elements to, from index 0.
+   * @return returns the number of elements written.
+   * @throws IllegalArgumentException if destination is shorter than the runs combined.
+   */
+  @SuppressWarnings("unchecked")
+  public int merge(E[][] runs, Comparator<? super E> compare, E[] destination) {
+    long length = 0;
+    Iterator<? extends E>[] sources = (Iterator<? extends E>[]) new Iterator<?>[runs.length];
+    for (int i = 0; i < runs.length; i++) {
+      length += runs[i].length;
+      sources[i] = Arrays.asList(runs[i]).iterator();
+    }
+    if (length > destination.length) {
+      throw new IllegalArgumentException("destination must hold at least " + length + " elements: " + destination.length);
+    }
+    LoserTree merged = new LoserTree(sources, compare, "merge");
+    int count = 0;
+    while (merged.hasNext()) {
+      destination[count++] = merged.next();
+    }
+    return count;
+  }
+
+  /**
+   * Merges already sorted runs lazily using a loser tree. Nothing is copied: each call to next compares about
+   * log2(k) elements for k runs and pulls a single element from the run it came from.
+   * Equal elements keep the order of the runs they came from. Statistics are reported once the merge is exhausted.
+   * @param runs, the sorted runs to merge, e.g. an ArrayList of ArrayLists, in order of precedence for equal elements.
+   * @param compare, a Comparator element the runs are sorted by.
+   * @return returns an Iterator over the merged elements, in sorted order.
+   */
+  @SuppressWarnings("unchecked")
+  public Iterator<E> merge(Iterable<? extends Iterable<? extends E>> runs, Comparator<? super E> compare) {
+    int k = 0;
+    for (Iterable<? extends E> run : runs) {
+      k++;
+    }
+    Iterator<? extends E>[] sources = (Iterator<? extends E>[]) new Iterator<?>[k];
+    k = 0;
+    for (Iterable<? extends E> run : runs) {
+      sources[k++] = run.iterator();
+    }
+    return new LoserTree(sources, compare, "merge");
+  }
+
+  /**
+   * Sorts an Array of ints using a heapSort algorithm.
+   * @param data, an Array of ints.
+   */
+  public void heapSort(int[] data) {
+    SortCounter counter = startCounter();
+    heapSort(counter, data, 0, data.length);
+    report("heapSort", data.length, counter);
+  }
+
+  /**
+   * Sorts an Array of ints using a natural mergeSort algorithm with a scratch buffer of half its length.
+   * See mergeSort(E[], Comparator, E[]) for how runs are found and merged; sorted Arrays finish in one pass.
+   * @param data, an Array of ints.
+   */
+  public void mergeSort(int[] data) {
+    SortCounter counter = startCounter();
+    mergeSort(counter, data, new int[data.length / 2], 0, data.length);
+    report("mergeSort", data.length, counter);
+  }
+
+  /**
+   * Sorts an Array of ints using a quickSort algorithm.
+   * See quickSort(E[], Comparator) for how the worst cases are avoided.
+   * @param data, an Array of ints.
+   */
+  public void quickSort(int[] data) {
+    SortCounter counter = startCounter();
+    quickSort(counter, data, 0, data.length - 1, depthLimit(data.length));
+    report("quickSort", data.length, counter);
+  }
+
+  /**
+   * Sorts a section of an Array of ints using a quickSort algorithm, leaving the rest of the Array untouched.
+   * @param data, an Array of ints.
+   * @param fromIndex, the first index of the section to sort.
+   * @param toIndex, the index after the last index of the section to sort.
+   * @throws ArrayIndexOutOfBoundsException if fromIndex or toIndex is outside of the Array.
+   * @throws IllegalArgumentException if fromIndex is greater than toIndex.
+   */
+  public void quickSort(int[] data, int fromIndex, int toIndex) {
+    checkRange(data.length, fromIndex, toIndex);
+    SortCounter counter = startCounter();
+    quickSort(counter, data, fromIndex, toIndex - 1, depthLimit(toIndex - fromIndex));
+    report("quickSort", toIndex - fromIndex, counter);
+  }
+
+  /**
+   * Sorts an Array of ints using a quickSort algorithm vectorized with the incubating Vector API.
+   * Whole vectors are partitioned at a time and small sections are finished by a bitonic sorting network; see
+   * VectorSort. Without the jdk.incubator.vector module, which has to be added with --add-modules, the scalar
+   * quickSort is used instead.
+   * @param data, an Array of ints.
+   */
+  public void vectorQuickSort(int[] data) {
+    SortCounter counter = startCounter();
+    if (VECTOR_INT) {
+      VectorSort.quickSort(counter, data, depthLimit(data.length));
+    }
+    else {
+      quickSort(counter, data, 0, data.length - 1, depthLimit(data.length));
+    }
+    report("vectorQuickSort", data.length, counter);
+  }
+
+  /**
+   * Sorts an Array of ints using a least significant digit radixSort algorithm, one byte per pass.
+   * The radixSort makes no comparisons; every element move is counted as a swap.
+   * @param data, an Array of ints.
+   */
+  public void radixSort(int[] data) {
+    SortCounter counter = startCounter();
+    radixSort(counter, data);
+    report("radixSort", data.length, counter);
+  }
+
+  /**
+   * Sorts an Array of longs using a heapSort algorithm.
+   * @param data, an Array of longs.
+   */
+  public void heapSort(long[] data) {
+    SortCounter counter = startCounter();
+    heapSort(counter, data, 0, data.length);
+    report("heapSort", data.length, counter);
+  }
+
+  /**
+   * Sorts an Array of longs using a natural mergeSort algorithm with a scratch buffer of half its length.
+   * See mergeSort(E[], Comparator, E[]) for how runs are found and merged; sorted Arrays finish in one pass.
+   * @param data, an Array of longs.
+   */
+  public void mergeSort(long[] data) {
+    SortCounter counter = startCounter();
+    mergeSort(counter, data, new long[data.length / 2], 0, data.length);
+    report("mergeSort", data.length, counter);
+  }
+
+  /**
+   * Sorts an Array of longs using a quickSort algorithm.
+   * See quickSort(E[], Comparator) for how the worst cases are avoided.
+   * @param data, an Array of longs.
+   */
+  public void quickSort(long[] data) {
+    SortCounter counter = startCounter();
+    quickSort(counter, data, 0, data.length - 1, depthLimit(data.length));
+    report("quickSort", data.length, counter);
+  }
+
+  /**
+   * Sorts a section of an Array of longs using a quickSort algorithm, leaving the rest of the Array untouched.
+   * @param data, an Array of longs.
+   * @param fromIndex, the first index of the section to sort.
+   * @param toIndex, the index after the last index of the section to sort.
+   * @throws ArrayIndexOutOfBoundsException if fromIndex or toIndex is outside of the Array.
+   * @throws IllegalArgumentException if fromIndex is greater than toIndex.
+   */
+  public void quickSort(long[] data, int fromIndex, int toIndex) {
+    checkRange(data.length, fromIndex, toIndex);
+    SortCounter counter = startCounter();
+    quickSort(counter, data, fromIndex, toIndex - 1, depthLimit(toIndex - fromIndex));
+    report("quickSort", toIndex - fromIndex, counter);
+  }
+
+  /**
+   * Sorts an Array of longs using a quickSort algorithm vectorized with the incubating Vector API.
+   * Whole vectors are partitioned at a time and small sections are finished by a bitonic sorting network; see
+   * VectorSort. Without the jdk.incubator.vector module, which has to be added with --add-modules, the scalar
+   * quickSort is used instead.
+   * Longs need at least four lanes per vector, so machines with 128 bit vectors also use the scalar quickSort.
+   * @param data, an Array of longs.
+   */
+  public void vectorQuickSort(long[] data) {
+    SortCounter counter = startCounter();
+    if (VECTOR_LONG) {
+      VectorSort.quickSort(counter, data, depthLimit(data.length));
+    }
+    else {
+      quickSort(counter, data, 0, data.length - 1, depthLimit(data.length));
+    }
+    report("vectorQuickSort", data.length, counter);
+  }
+
+  /**
+   * Sorts an Array of longs using a least significant digit radixSort algorithm, one byte per pass.
+   * The radixSort makes no comparisons; every element move is counted as a swap.
+   * @param data, an Array of longs.
+   */
+  public void radixSort(long[] data) {
+    SortCounter counter = startCounter();
+    radixSort(counter, data);
+    report("radixSort", data.length, counter);
+  }
+
+  /**
+   * Sorts an Array of floats using a heapSort algorithm.
+   * @param data, an Array of floats.
+   */
+  public void heapSort(float[] data) {
+    SortCounter counter = startCounter();
+    heapSort(counter, data, 0, data.length);
+    report("heapSort", data.length, counter);
+  }
+
+  /**
+   * Sorts an Array of floats using a natural mergeSort algorithm with a scratch buffer of half its length.
+   * See mergeSort(E[], Comparator, E[]) for how runs are found and merged; sorted Arrays finish in one pass.
+   * @param data, an Array of floats.
+   */
+  public void mergeSort(float[] data) {
+    SortCounter counter = startCounter();
+    mergeSort(counter, data, new float[data.length / 2], 0, data.length);
+    report("mergeSort", data.length, counter);
+  }
+
+  /**
+   * Sorts an Array of floats using a quickSort algorithm.
+   * See quickSort(E[], Comparator) for how the worst cases are avoided.
+   * @param data, an Array of floats.
+   */
+  public void quickSort(float[] data) {
+    SortCounter counter = startCounter();
+    quickSort(counter, data, 0, data.length - 1, depthLimit(data.length));
+    report("quickSort", data.length, counter);
+  }
+
+  /**
+   * Sorts a section of an Array of floats using a quickSort algorithm, leaving the rest of the Array untouched.
+   * @param data, an Array of floats.
+   * @param fromIndex, the first index of the section to sort.
+   * @param toIndex, the index after the last index of the section to sort.
+   * @throws ArrayIndexOutOfBoundsException if fromIndex or toIndex is outside of the Array.
+   * @throws IllegalArgumentException if fromIndex is greater than toIndex.
+   */
+  public void quickSort(float[] data, int fromIndex, int toIndex) {
+    checkRange(data.length, fromIndex, toIndex);
+    SortCounter counter = startCounter();
+    quickSort(counter, data, fromIndex, toIndex - 1, depthLimit(toIndex - fromIndex));
+    report("quickSort", toIndex - fromIndex, counter);
+  }
+
+  /**
+   * Sorts an Array of floats using a least significant digit radixSort algorithm, one byte per pass.
+   * The radixSort makes no comparisons; every element move is counted as a swap.
+   * @param data, an Array of floats.
+   */
+  public void radixSort(float[] data) {
+    SortCounter counter = startCounter();
+    radixSort(counter, data);
+    report("radixSort", data.length, counter);
+  }
+
+  /**
+   * Sorts an Array of doubles using a heapSort algorithm.
+   * @param data, an Array of doubles.
+   */
+  public void heapSort(double[] data) {
+    SortCounter counter = startCounter();
+    heapSort(counter, data, 0, data.length);
+    report("heapSort", data.length, counter);
+  }
+
+  /**
+   * Sorts an Array of doubles using a natural mergeSort algorithm with a scratch buffer of half its length.
+   * See mergeSort(E[], Comparator, E[]) for how runs are found and merged; sorted Arrays finish in one pass.
+   * @param data, an Array of doubles.
+   */
+  public void mergeSort(double[] data) {
+    SortCounter counter = startCounter();
+    mergeSort(counter, data, new double[data.length / 2], 0, data.length);
+    report("mergeSort", data.length, counter);
+  }
+
+  /**
+   * Sorts an Array of doubles using a quickSort algorithm.
+   * See quickSort(E[], Comparator) for how the worst cases are avoided.
+   * @param data, an Array of doubles.
+   */
+  public void quickSort(double[] data) {
+    SortCounter counter = startCounter();
+    quickSort(counter, data, 0, data.length - 1, depthLimit(data.length));
+    report("quickSort", data.length, counter);
+  }
+
+  /**
+   * Sorts a section of an Array of doubles using a quickSort algorithm, leaving the rest of the Array untouched.
+   * @param data, an Array of doubles.
+   * @param fromIndex, the first index of the section to sort.
+   * @param toIndex, the index after the last index of the section to sort.
+   * @throws ArrayIndexOutOfBoundsException if fromIndex or toIndex is outside of the Array.
+   * @throws IllegalArgumentException if fromIndex is greater than toIndex.
+   */
+  public void quickSort(double[] data, int fromIndex, int toIndex) {
+    checkRange(data.length, fromIndex, toIndex);
+    SortCounter counter = startCounter();
+    quickSort(counter, data, fromIndex, toIndex - 1, depthLimit(toIndex - fromIndex));
+    report("quickSort", toIndex - fromIndex, counter);
+  }
+
+  /**
+   * Sorts an Array of doubles using a least significant digit radixSort algorithm, one byte per pass.
+   * The radixSort makes no comparisons; every element move is counted as a swap.
+   * @param data, an Array of doubles.
+   */
+  public void radixSort(double[] data) {
+    SortCounter counter = startCounter();
+    radixSort(counter, data);
+    report("radixSort", data.length, counter);
+  }
+
+  /**
+   * Sorts an Array by a long key extracted from each element.
+   * The key function is called exactly once per element; the keys are sorted together with the elements' original
+   * indices by a stable mergeSort, and the elements are then moved into place without copying the Array.
+   * @param data, an Array of Objects.
+   * @param key, a function extracting the sort key of an element.
+   */
+  public void sortByLongKey(E[] data, ToLongFunction<? super E> key) {
+    SortCounter counter = startCounter();
+    long[] keys = new long[data.length];
+    for (int i = 0; i < data.length; i++) {
+      keys[i] = key.applyAsLong(data[i]);
+    }
+    sortByKeys(counter, data, keys);
+    reportKeys("sortByLongKey", data.length, counter);
+  }
+
+  /**
+   * Sorts an Array by a double key extracted from each element, ordering the keys as Double.compare does.
+   * See sortByLongKey for how the keys are used.
+   * @param data, an Array of Objects.
+   * @param key, a function extracting the sort key of an element.
+   */
+  public void sortByDoubleKey(E[] data, ToDoubleFunction<? super E> key) {
+    SortCounter counter = startCounter();
+    long[] keys = new long[data.length];
+    for (int i = 0; i < data.length; i++) {
+      long bits = Double.doubleToLongBits(key.applyAsDouble(data[i]));
+      keys[i] = bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+    sortByKeys(counter, data, keys);
+    reportKeys("sortByDoubleKey", data.length, counter);
+  }
+
+  /**
+   * Sorts an Array by a Comparable key extracted from each element.
+   * See sortByLongKey for how the keys are used.
+   * @param data, an Array of Objects.
+   * @param key, a function extracting the sort key of an element.
+   */
+  public <K extends Comparable<? super K>> void sortByKey(E[] data, Function<? super E, ? extends K> key) {
+    SortCounter counter = startCounter();
+    Object[] keys = new Object[data.length];
+    for (int i = 0; i < data.length; i++) {
+      keys[i] = key.apply(data[i]);
+    }
+    int[] order = identity(data.length);
+    sortKeys(counter, keys, order, new Object[data.length / 2], new int[data.length / 2], 0, data.length);
+    permute(counter, data, order);
+    reportKeys("sortByKey", data.length, counter);
+  }
+
+  /**
+   * Sorts an Array using a mergeSort algorithm split across the common ForkJoinPool.
+   * @param data, an Array of Objects.
+   * @param compare, a Comparator element to sort the Array by.
+   */
+  public void parallelMergeSort(E[] data, Comparator<? super E> compare) {
+    parallelMergeSort(data, compare, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Sorts an Array using a mergeSort algorithm split across a ForkJoinPool.
+   * Sections at or below the parallel threshold are sorted sequentially by the natural mergeSort.
+   * @param data, an Array of Objects.
+   * @param compare, a Comparator element to sort the Array by.
+   * @param pool, the ForkJoinPool to run the sort in.
+   */
+  public void parallelMergeSort(E[] data, Comparator<? super E> compare, ForkJoinPool pool) {
+    parallelMergeSort(data, 0, data.length, compare, pool);
+  }
+
+  /**
+   * Sorts a section of an Array using a mergeSort algorithm split across a ForkJoinPool, leaving the rest of the
+   * Array untouched. Sections at or below the parallel threshold are sorted sequentially by the natural mergeSort.
+   * @param data, an Array of Objects.
+   * @param fromIndex, the first index of the section to sort.
+   * @param toIndex, the index after the last index of the section to sort.
+   * @param compare, a Comparator element to sort the Array by.
+   * @param pool, the ForkJoinPool to run the sort in.
+   * @throws ArrayIndexOutOfBoundsException if fromIndex or toIndex is outside of the Array.
+   * @throws IllegalArgumentException if fromIndex is greater than toIndex.
+   */
+  @SuppressWarnings("unchecked")
+  public void parallelMergeSort(E[] data, int fromIndex, int toIndex, Comparator<? super E> compare, ForkJoinPool pool) {
+    checkRange(data.length, fromIndex, toIndex);
+    SortCounter counter = startCounter();
+    E[] buffer = (E[]) new Object[(toIndex - fromIndex) / 2];
+    pool.invoke(new MergeSortTask(counter, data, buffer, compare, fromIndex, fromIndex, toIndex));
+    report("parallelMergeSort", toIndex - fromIndex, counter);
+  }
+
+  /**
+   * Sorts an Array using a quickSort algorithm split across the common ForkJoinPool.
+   * @param data, an Array of Objects.
+   * @param compare, a Comparator element to sort the Array by.
+   */
+  public void parallelQuickSort(E[] data, Comparator<? super E> compare) {
+    parallelQuickSort(data, compare, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Sorts an Array using a quickSort algorithm split across a ForkJoinPool.
+   * Sections at or below the parallel threshold are sorted sequentially.
+   * @param data, an Array of Objects.
+   * @param compare, a Comparator element to sort the Array by.
+   * @param pool, the ForkJoinPool to run the sort in.
+   */
+  public void parallelQuickSort(E[] data, Comparator<? super E> compare, ForkJoinPool pool) {
+    SortCounter counter = startCounter();
+    pool.invoke(new QuickSortTask(counter, data, compare, 0, data.length - 1, depthLimit(data.length)));
+    report("parallelQuickSort", data.length, counter);
+  }
+
+  /**
+   * MergeSortTask, sorts one section of an Array for parallelMergeSort.
+   * Each task counts into its own SortCounter and adds its subtasks' counts once they have finished.
+   * A section [first, end) only uses buffer from (first - origin) / 2, so sections running in parallel never share buffer space.
+   */
+  private class MergeSortTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final SortCounter counter;
+    private final E[] data;
+    private final E[] buffer;
+    private final Comparator<? super E> compare;
+    private final int origin;
+    private final int first;
+    private final int end;
+
+    /**
+     * Constructor
+     * @param counter, the statistics for this task to count into, or null.
+     * @param data, an Array of Objects.
+     * @param buffer, a scratch Array of at least half as many elements as the whole sort.
+     * @param compare, a Comparator element to sort the Array by.
+     * @param origin, the first index of the whole sort, which maps to the start of buffer.
+     * @param first, the first index of the section to sort.
+     * @param end, the index after the last index of the section to sort.
+     */
+    private MergeSortTask(SortCounter counter, E[] data, E[] buffer, Comparator<? super E> compare, int origin, int first, int end) {
+      this.counter = counter;
+      this.data = data;
+      this.buffer = buffer;
+      this.compare = compare;
+      this.origin = origin;
+      this.first = first;
+      this.end = end;
+    }
+
+    @Override
+    protected void compute() {
+      if (end - first <= parallelThreshold) {
+        mergeSort(counter, data, buffer, (first - origin) / 2, compare, first, end);
+        return;
+      }
+      int middle = (first + end) >>> 1;
+      MergeSortTask left = new MergeSortTask(SortCounter.child(counter), data, buffer, compare, origin, first, middle);
+      MergeSortTask right = new MergeSortTask(SortCounter.child(counter), data, buffer, compare, origin, middle, end);
+      invokeAll(left, right);
+      SortCounter.add(counter, left.counter);
+      SortCounter.add(counter, right.counter);
+      merge(counter, data, buffer, (first - origin) / 2, compare, first, middle, end);
+    }
+  }
+
+  /**
+   * QuickSortTask, sorts one section of an Array for parallelQuickSort.
+   * Each task counts into its own SortCounter and adds its subtasks' counts once they have finished.
+   */
+  private class QuickSortTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final SortCounter counter;
+    private final E[] data;
+    private final Comparator<? super E> compare;
+    private final int first;
+    private final int last;
+    private final int depthLimit;
+
+    /**
+     * Constructor
+     * @param counter, the statistics for this task to count into, or null.
+     * @param data, an Array of Objects.
+     * @param compare, a Comparator element to sort the Array by.
+     * @param first, the first index of the section to sort.
+     * @param last, the last index of the section to sort.
+     * @param depthLimit, the number of partitioning levels left before falling back to heapSort.
+     */
+    private QuickSortTask(SortCounter counter, E[] data, Comparator<? super E> compare, int first, int last, int depthLimit) {
+      this.counter = counter;
+      this.data = data;
+      this.compare = compare;
+      this.first = first;
+      this.last = last;
+      this.depthLimit = depthLimit;
+    }
+
+    @Override
+    protected void compute() {
+      if (last - first < parallelThreshold || depthLimit == 0) {
+        quickSort(counter, data, compare, first, last, depthLimit);
+        return;
+      }
+      long bounds = partition(counter, data, compare, first, last);
+      QuickSortTask left = new QuickSortTask(SortCounter.child(counter), data, compare, first, (int) (bounds >>> 32) - 1, depthLimit - 1);
+      QuickSortTask right = new QuickSortTask(SortCounter.child(counter), data, compare, (int) bounds + 1, last, depthLimit - 1);
+      invokeAll(left, right);
+      SortCounter.add(counter, left.counter);
+      SortCounter.add(counter, right.counter);
+    }
+  }
+
+  /**
+   * LoserTree, merges sorted runs with a tournament tree that keeps the loser of each match at its internal node.
+   * The runs are the leaves k to 2k - 1 of an implicit binary tree, node 0 holds the overall winner, and replacing
+   * the winner replays only the matches on its path to the root. An exhausted run loses every match, and ties go to
+   * the run with the lower index, which keeps the merge stable.
+   */
+  private class LoserTree implements Iterator<E> {
+    private final Iterator<? extends E>[] sources;
+    private final Comparator<? super E> compare;
+    private final String algorithm;
+    private final E[] heads;
+    private final boolean[] exhausted;
+    private final int[] tree;
+    private SortCounter counter;
+    private int count;
+
+    /**
+     * Constructor, reads the first element of every run and plays the initial tournament.
+     * @param sources, the sorted runs to merge.
+     * @param compare, a Comparator element the runs are sorted by.
+     * @param algorithm, the name the merge's statistics are reported under.
+     */
+    @SuppressWarnings("unchecked")
+    private LoserTree(Iterator<? extends E>[] sources, Comparator<? super E> compare, String algorithm) {
+      this.sources = sources;
+      this.compare = compare;
+      this.algorithm = algorithm;
+      this.counter = startCounter();
+      int k = sources.length;
+      heads = (E[]) new Object[k];
+      exhausted = new boolean[k];
+      tree = new int[Math.max(k, 1)];
+      for (int i = 0; i < k; i++) {
+        pull(i);
+      }
+      if (k == 0) {
+        tree[0] = -1;
+        return;
+      }
+      int[] winners = new int[2 * k];
+      for (int i = 0; i < k; i++) {
+        winners[k + i] = i;
+      }
+      for (int node = k - 1; node > 0; node--) {
+        int a = winners[2 * node];
+        int b = winners[2 * node + 1];
+        if (beats(a, b)) {
+          winners[node] = a;
+          tree[node] = b;
+        }
+        else {
+          winners[node] = b;
+          tree[node] = a;
+        }
+      }
+      tree[0] = k == 1 ? 0 : winners[1];
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (tree[0] < 0 || exhausted[tree[0]]) {
+        if (counter != null) {
+          report(algorithm, count, counter);
+          counter = null;
+        }
+        return false;
+      }
+      return true;
+    }
+
+    @Override
+    public E next() {
+      if (tree[0] < 0 || exhausted[tree[0]]) {
+        throw new NoSuchElementException();
+      }
+      int winner = tree[0];
+      E result = heads[winner];
+      countSwap(counter);
+      count++;
+      pull(winner);
+      for (int node = (winner + sources.length) >>> 1; node > 0; node >>>= 1) {
+        if (beats(tree[node], winner)) {
+          int loser = winner;
+          winner = tree[node];
+          tree[node] = loser;
+        }
+      }
+      tree[0] = winner;
+      return result;
+    }
+
+    /**
+     * Reads the next element of a run into its leaf, or marks the run as exhausted.
+     * @param run, the index of the run.
+     */
+    private void pull(int run) {
+      if (sources[run].hasNext()) {
+        heads[run] = sources[run].next();
+      }
+      else {
+        heads[run] = null;
+        exhausted[run] = true;
+      }
+    }
+
+    /**
+     * Plays a match between the current elements of two runs.
+     * @param a, the index of the first run.
+     * @param b, the index of the second run.
+     * @return returns true if run a's element comes out of the merge before run b's. Otherwise returns false.
+     */
+    private boolean beats(int a, int b) {
+      if (exhausted[a] || exhausted[b]) {
+        return !exhausted[a] || (exhausted[b] && a < b);
+      }
+      int c = compare(counter, compare, heads[a], heads[b]);
+      return c < 0 || (c == 0 && a < b);
+    }
+  }
+
+  /**
+   * Sorts an Array by precomputed long keys.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of Objects.
+   * @param keys, the key of each element, which are sorted as well.
+   */
+  private void sortByKeys(SortCounter counter, E[] data, long[] keys) {
+    int[] order = identity(data.length);
+    sortKeys(counter, keys, order, new long[data.length / 2], new int[data.length / 2], 0, data.length);
+    permute(counter, data, order);
+  }
+
+  /**
+   * Sorts a section of an Array of long keys together with the original index of each key, using a stable mergeSort.
+   * @param counter, the statistics of the current sort, or null.
+   * @param keys, an Array of keys.
+   * @param order, the original index of each key, moved along with the keys.
+   * @param keyBuffer, a scratch Array of at least (end - first) / 2 keys.
+   * @param orderBuffer, a scratch Array of at least (end - first) / 2 indices.
+   * @param first, the first index of the section to sort.
+   * @param end, the index after the last index of the section to sort.
+   */
+  private static void sortKeys(SortCounter counter, long[] keys, int[] order, long[] keyBuffer, int[] orderBuffer, int first, int end) {
+    if (end - first <= INSERTION_SORT_THRESHOLD) {
+      for (int i = first + 1; i < end; i++) {
+        long heldKey = keys[i];
+        int heldOrder = order[i];
+        int j = i;
+        while (j > first && compare(counter, keys[j - 1], heldKey) > 0) {
+          keys[j] = keys[j - 1];
+          order[j] = order[j - 1];
+          countSwap(counter);
+          j--;
+        }
+        keys[j] = heldKey;
+        order[j] = heldOrder;
+      }
+      return;
+    }
+    int middle = (first + end) >>> 1;
+    sortKeys(counter, keys, order, keyBuffer, orderBuffer, first, middle);
+    sortKeys(counter, keys, order, keyBuffer, orderBuffer, middle, end);
+    if (compare(counter, keys[middle - 1], keys[middle]) <= 0) {
+      return;
+    }
+    int leftLength = middle - first;
+    System.arraycopy(keys, first, keyBuffer, 0, leftLength);
+    System.arraycopy(order, first, orderBuffer, 0, leftLength);
+    int i = 0;
+    int j = middle;
+    int k = first;
+    while (i < leftLength && j < end) {
+      if (compare(counter, keyBuffer[i], keys[j]) <= 0) {
+        keys[k] = keyBuffer[i];
+        order[k++] = orderBuffer[i++];
+      }
+      else {
+        keys[k] = keys[j];
+        order[k++] = order[j++];
+      }
+      countSwap(counter);
+    }
+    while (i < leftLength) {
+      keys[k] = keyBuffer[i];
+      order[k++] = orderBuffer[i++];
+      countSwap(counter);
+    }
+  }
+
+  /**
+   * Sorts a section of an Array of Comparable keys together with the original index of each key, using a stable mergeSort.
+   * @param counter, the statistics of the current sort, or null.
+   * @param keys, an Array of Comparable keys.
+   * @param order, the original index of each key, moved along with the keys.
+   * @param keyBuffer, a scratch Array of at least (end - first) / 2 keys.
+   * @param orderBuffer, a scratch Array of at least (end - first) / 2 indices.
+   * @param first, the first index of the section to sort.
+   * @param end, the index after the last index of the section to sort.
+   */
+  private static void sortKeys(SortCounter counter, Object[] keys, int[] order, Object[] keyBuffer, int[] orderBuffer, int first, int end) {
+    if (end - first <= INSERTION_SORT_THRESHOLD) {
+      for (int i = first + 1; i < end; i++) {
+        Object heldKey = keys[i];
+        int heldOrder = order[i];
+        int j = i;
+        while (j > first && compareKeys(counter, keys[j - 1], heldKey) > 0) {
+          keys[j] = keys[j - 1];
+          order[j] = order[j - 1];
+          countSwap(counter);
+          j--;
+        }
+        keys[j] = heldKey;
+        order[j] = heldOrder;
+      }
+      return;
+    }
+    int middle = (first + end) >>> 1;
+    sortKeys(counter, keys, order, keyBuffer, orderBuffer, first, middle);
+    sortKeys(counter, keys, order, keyBuffer, orderBuffer, middle, end);
+    if (compareKeys(counter, keys[middle - 1], keys[middle]) <= 0) {
+      return;
+    }
+    int leftLength = middle - first;
+    System.arraycopy(keys, first, keyBuffer, 0, leftLength);
+    System.arraycopy(order, first, orderBuffer, 0, leftLength);
+    int i = 0;
+    int j = middle;
+    int k = first;
+    while (i < leftLength && j < end) {
+      if (compareKeys(counter, keyBuffer[i], keys[j]) <= 0) {
+        keys[k] = keyBuffer[i];
+        order[k++] = orderBuffer[i++];
+      }
+      else {
+        keys[k] = keys[j];
+        order[k++] = order[j++];
+      }
+      countSwap(counter);
+    }
+    while (i < leftLength) {
+      keys[k] = keyBuffer[i];
+      order[k++] = orderBuffer[i++];
+      countSwap(counter);
+    }
+    Arrays.fill(keyBuffer, 0, leftLength, null);
+  }
+
+  /**
+   * Compares two Comparable keys.
+   * @param counter, the statistics of the current sort, or null.
+   * @param key1, the first key.
+   * @param key2, the second key.
+   * @return returns 0 if the keys are equivalent, a negative integer if key1 is less than key2, or a positive integer if key1 is greater than key2.
+   */
+  @SuppressWarnings("unchecked")
+  private static int compareKeys(SortCounter counter, Object key1, Object key2) {
+    if (counter != null) {
+      counter.comparisons++;
+    }
+    return ((Comparable<Object>) key1).compareTo(key2);
+  }
+
+  /**
+   * Creates an Array holding each index of an Array in order.
+   * @param length, the length of the Array.
+   * @return returns the Array {0, 1, ..., length - 1}.
+   */
+  private static int[] identity(int length) {
+    int[] order = new int[length];
+    for (int i = 0; i < length; i++) {
+      order[i] = i;
+    }
+    return order;
+  }
+
+  /**
+   * Moves every element of an Array to its sorted position by following the cycles of a permutation.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of Objects.
+   * @param order, for each sorted position, the index of the element that belongs there. Destroyed by the method.
+   */
+  private static <T> void permute(SortCounter counter, T[] data, int[] order) {
+    for (int i = 0; i < order.length; i++) {
+      if (order[i] == i) {
+        continue;
+      }
+      T held = data[i];
+      int j = i;
+      while (order[j] != i) {
+        int next = order[j];
+        data[j] = data[next];
+        order[j] = j;
+        countSwap(counter);
+        j = next;
+      }
+      data[j] = held;
+      order[j] = j;
+      countSwap(counter);
+    }
+  }
+
+  /**
+   * Sorts a section of an Array of ints using a heapSort algorithm.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of ints.
+   * @param first, the first index of the section to sort.
+   * @param end, the index after the last index of the section to sort.
+   */
+  static void heapSort(SortCounter counter, int[] data, int first, int end) {
+    int n = end - first;
+    for (int parent = n / 2 - 1; parent >= 0; parent--) {
+      siftDown(counter, data, first, parent, n);
+    }
+    while (n > 1) {
+      n--;
+      swap(counter, data, first, first + n);
+      siftDown(counter, data, first, 0, n);
+    }
+  }
+
+  /**
+   * Moves an element of a max-heap down until neither of its children is greater than it.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of ints.
+   * @param offset, the index in data of the root of the heap.
+   * @param parent, the heap position of the element to move down.
+   * @param n, the number of elements in the heap.
+   */
+  private static void siftDown(SortCounter counter, int[] data, int offset, int parent, int n) {
+    while (true) {
+      int leftChild = 2 * parent + 1;
+      if (leftChild >= n) {
+        break;
+      }
+      int rightChild = 2 * parent + 2;
+      int maxChild = leftChild;
+      if (rightChild < n && compare(counter, data[offset + leftChild], data[offset + rightChild]) < 0) {
+        maxChild = rightChild;
+      }
+      if (compare(counter, data[offset + parent], data[offset + maxChild]) < 0) {
+        swap(counter, data, offset + parent, offset + maxChild);
+        parent = maxChild;
+      }
+      else {
+        break;
+      }
+    }
+  }
+
+  /**
+   * Sorts a section of an Array of ints using a natural mergeSort algorithm.
+   * See mergeSort(E[], Comparator, E[]) for how runs are found and merged.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of ints.
+   * @param buffer, a scratch Array of at least (end - first) / 2 ints.
+   * @param first, the first index of the section to sort.
+   * @param end, the index after the last index of the section to sort.
+   */
+  private static void mergeSort(SortCounter counter, int[] data, int[] buffer, int first, int end) {
+    int length = end - first;
+    if (length < 2) {
+      return;
+    }
+    int minRun = minRunLength(length);
+    int[] runStart = new int[MAX_RUNS];
+    int runs = 0;
+    int start = first;
+    while (start < end) {
+      int runEnd = findRun(counter, data, start, end);
+      if (runEnd - start < minRun) {
+        runEnd = Math.min(start + minRun, end);
+        insertionSort(counter, data, start, runEnd - 1);
+      }
+      runStart[runs++] = start;
+      while (runs > 1) {
+        int n = runs - 2;
+        int nextLength = runEnd - runStart[n + 1];
+        int length0 = runStart[n + 1] - runStart[n];
+        if ((n > 0 && runStart[n] - runStart[n - 1] <= length0 + nextLength)
+            || (n > 1 && runStart[n - 1] - runStart[n - 2] <= runStart[n] - runStart[n - 1] + length0)) {
+          if (runStart[n] - runStart[n - 1] < nextLength) {
+            n--;
+          }
+        }
+        else if (length0 > nextLength) {
+          break;
+        }
+        runs = mergeAt(counter, data, buffer, runStart, runs, n, runEnd);
+      }
+      start = runEnd;
+    }
+    while (runs > 1) {
+      int n = runs - 2;
+      if (n > 0 && runStart[n] - runStart[n - 1] < end - runStart[n + 1]) {
+        n--;
+      }
+      runs = mergeAt(counter, data, buffer, runStart, runs, n, end);
+    }
+  }
+
+  /**
+   * Finds the run of ints starting at a given index, reversing it in place if it is strictly descending.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of ints.
+   * @param start, the first index of the run.
+   * @param end, the index after the last index of the section being sorted.
+   * @return returns the index after the last index of the run.
+   */
+  private static int findRun(SortCounter counter, int[] data, int start, int end) {
+    int runEnd = start + 1;
+    if (runEnd == end) {
+      return runEnd;
+    }
+    if (compare(counter, data[runEnd++], data[start]) < 0) {
+      while (runEnd < end && compare(counter, data[runEnd], data[runEnd - 1]) < 0) {
+        runEnd++;
+      }
+      for (int i = start, j = runEnd - 1; i < j; i++, j--) {
+        swap(counter, data, i, j);
+      }
+    }
+    else {
+      while (runEnd < end && compare(counter, data[runEnd], data[runEnd - 1]) >= 0) {
+        runEnd++;
+      }
+    }
+    return runEnd;
+  }
+
+  /**
+   * Merges run n with run n + 1 on the mergeSort run stack of an Array of ints and removes run n + 1 from the stack.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of ints.
+   * @param buffer, a scratch Array.
+   * @param runStart, the first index of each run on the stack.
+   * @param runs, the number of runs on the stack.
+   * @param n, the position on the stack of the first run to merge.
+   * @param end, the index after the last index of the top run.
+   * @return returns the new number of runs on the stack.
+   */
+  private static int mergeAt(SortCounter counter, int[] data, int[] buffer, int[] runStart, int runs, int n, int end) {
+    int runEnd = n + 2 < runs ? runStart[n + 2] : end;
+    merge(counter, data, buffer, runStart[n], runStart[n + 1], runEnd);
+    System.arraycopy(runStart, n + 2, runStart, n + 1, runs - n - 2);
+    return runs - 1;
+  }
+
+  /**
+   * Merges two adjacent sorted sections of an Array of ints, copying the shorter section into the buffer.
+   * Nothing is done if the sections are already in order.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of ints.
+   * @param buffer, a scratch Array of at least (end - first) / 2 ints.
+   * @param first, the first index of the left section.
+   * @param middle, the first index of the right section.
+   * @param end, the index after the last index of the right section.
+   */
+  private static void merge(SortCounter counter, int[] data, int[] buffer, int first, int middle, int end) {
+    if (first == middle || middle == end || compare(counter, data[middle - 1], data[middle]) <= 0) {
+      return;
+    }
+    if (middle - first <= end - middle) {
+      System.arraycopy(data, first, buffer, 0, middle - first);
+      int i = 0;
+      int leftEnd = middle - first;
+      int j = middle;
+      int k = first;
+      while (i < leftEnd && j < end) {
+        if (compare(counter, buffer[i], data[j]) <= 0) {
+          data[k++] = buffer[i++];
+        }
+        else {
+          data[k++] = data[j++];
+        }
+        countSwap(counter);
+      }
+      while (i < leftEnd) {
+        data[k++] = buffer[i++];
+        countSwap(counter);
+      }
+    }
+    else {
+      System.arraycopy(data, middle, buffer, 0, end - middle);
+      int i = middle - 1;
+      int j = end - middle - 1;
+      int k = end - 1;
+      while (i >= first && j >= 0) {
+        if (compare(counter, data[i], buffer[j]) > 0) {
+          data[k--] = data[i--];
+        }
+        else {
+          data[k--] = buffer[j--];
+        }
+        countSwap(counter);
+      }
+      while (j >= 0) {
+        data[k--] = buffer[j--];
+        countSwap(counter);
+      }
+    }
+  }
+
+  /**
+   * Sorts a section of an Array of ints using an introsort variant of quickSort.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of ints.
+   * @param first, the first index of the section to sort.
+   * @param last, the last index of the section to sort.
+   * @param depthLimit, the number of partitioning levels left before falling back to heapSort.
+   */
+  private static void quickSort(SortCounter counter, int[] data, int first, int last, int depthLimit) {
+    while (last - first >= INSERTION_SORT_THRESHOLD) {
+      if (depthLimit == 0) {
+        heapSort(counter, data, first, last + 1);
+        return;
+      }
+      depthLimit--;
+      int pivot = data[pivotIndex(counter, data, first, last)];
+      int lessEnd = first;
+      int i = first;
+      int greaterStart = last;
+      while (i <= greaterStart) {
+        int c = compare(counter, data[i], pivot);
+        if (c < 0) {
+          swap(counter, data, lessEnd++, i++);
+        }
+        else if (c > 0) {
+          swap(counter, data, i, greaterStart--);
+        }
+        else {
+          i++;
+        }
+      }
+      if (lessEnd - first < last - greaterStart) {
+        quickSort(counter, data, first, lessEnd - 1, depthLimit);
+        first = greaterStart + 1;
+      }
+      else {
+        quickSort(counter, data, greaterStart + 1, last, depthLimit);
+        last = lessEnd - 1;
+      }
+    }
+    insertionSort(counter, data, first, last);
+  }
+
+  /**
+   * Chooses a quickSort pivot, the median of three elements for small sections or Tukey's ninther for large ones.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of ints.
+   * @param first, the first index of the section.
+   * @param last, the last index of the section.
+   * @return returns the index of the pivot.
+   */
+  static int pivotIndex(SortCounter counter, int[] data, int first, int last) {
+    int middle = (first + last) >>> 1;
+    if (last - first < NINTHER_THRESHOLD) {
+      return medianOfThree(counter, data, first, middle, last);
+    }
+    int step = (last - first) / 8;
+    return medianOfThree(counter, data,
+        medianOfThree(counter, data, first, first + step, first + 2 * step),
+        medianOfThree(counter, data, middle - step, middle, middle + step),
+        medianOfThree(counter, data, last - 2 * step, last - step, last));
+  }
+
+  /**
+   * Finds the median of three elements of an Array of ints.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of ints.
+   * @param a, the index of the first element.
+   * @param b, the index of the second element.
+   * @param c, the index of the third element.
+   * @return returns the index of the median element.
+   */
+  private static int medianOfThree(SortCounter counter, int[] data, int a, int b, int c) {
+    if (compare(counter, data[a], data[b]) < 0) {
+      if (compare(counter, data[b], data[c]) < 0) {
+        return b;
+      }
+      return compare(counter, data[a], data[c]) < 0 ? c : a;
+    }
+    if (compare(counter, data[a], data[c]) < 0) {
+      return a;
+    }
+    return compare(counter, data[b], data[c]) < 0 ? c : b;
+  }
+
+  /**
+   * Sorts a small section of an Array of ints using an insertionSort algorithm.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of ints.
+   * @param first, the first index of the section to sort.
+   * @param last, the last index of the section to sort.
+   */
+  private static void insertionSort(SortCounter counter, int[] data, int first, int last) {
+    for (int i = first + 1; i <= last; i++) {
+      int j = i;
+      int held = data[i];
+      while (j > first && compare(counter, data[j - 1], held) > 0) {
+        data[j] = data[j - 1];
+        countSwap(counter);
+        j--;
+      }
+      data[j] = held;
+      countSwap(counter);
+    }
+  }
+
+  /**
+   * Sorts an Array of ints using a least significant digit radixSort algorithm.
+   * Passes in which every element has the same digit are skipped.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of ints.
+   */
+  private static void radixSort(SortCounter counter, int[] data) {
+    if (data.length < 2) {
+      return;
+    }
+    int[] from = data;
+    int[] to = new int[data.length];
+    int[] count = new int[RADIX];
+    for (int shift = 0; shift < Integer.SIZE; shift += 8) {
+      Arrays.fill(count, 0);
+      for (int value : from) {
+        count[(sortKey(value) >>> shift) & (RADIX - 1)]++;
+      }
+      if (count[(sortKey(from[0]) >>> shift) & (RADIX - 1)] == from.length) {
+        continue;
+      }
+      int total = 0;
+      for (int i = 0; i < RADIX; i++) {
+        int c = count[i];
+        count[i] = total;
+        total += c;
+      }
+      for (int value : from) {
+        to[count[(sortKey(value) >>> shift) & (RADIX - 1)]++] = value;
+        countSwap(counter);
+      }
+      int[] temp = from;
+      from = to;
+      to = temp;
+    }
+    if (from != data) {
+      System.arraycopy(from, 0, data, 0, data.length);
+    }
+  }
+
+  /**
+   * Maps an int to an unsigned key with the same order, for radixSort.
+   * @param value, the int.
+   * @return returns the int with its sign bit flipped.
+   */
+  private static int sortKey(int value) {
+    return value ^ Integer.MIN_VALUE;
+  }
+
+  /**
+   * Compares two ints, ordering them as Integer.compare does.
+   * @param counter, the statistics of the current sort, or null.
+   * @param a, the first int.
+   * @param b, the second int.
+   * @return returns 0 if the values are equivalent, a negative integer if a is less than b, or a positive integer if a is greater than b.
+   */
+  private static int compare(SortCounter counter, int a, int b) {
+    if (counter != null) {
+      counter.comparisons++;
+    }
+    return Integer.compare(a, b);
+  }
+
+  /**
+   * Swaps two ints in an Array.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, the Array.
+   * @param first, the index of the first int to swap.
+   * @param second, the index of the second int to Swap.
+   */
+  private static void swap(SortCounter counter, int[] data, int first, int second) {
+    countSwap(counter);
+    int temp = data[first];
+    data[first] = data[second];
+    data[second] = temp;
+  }
+
+  /**
+   * Sorts a section of an Array of longs using a heapSort algorithm.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of longs.
+   * @param first, the first index of the section to sort.
+   * @param end, the index after the last index of the section to sort.
+   */
+  static void heapSort(SortCounter counter, long[] data, int first, int end) {
+    int n = end - first;
+    for (int parent = n / 2 - 1; parent >= 0; parent--) {
+      siftDown(counter, data, first, parent, n);
+    }
+    while (n > 1) {
+      n--;
+      swap(counter, data, first, first + n);
+      siftDown(counter, data, first, 0, n);
+    }
+  }
+
+  /**
+   * Moves an element of a max-heap down until neither of its children is greater than it.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of longs.
+   * @param offset, the index in data of the root of the heap.
+   * @param parent, the heap position of the element to move down.
+   * @param n, the number of elements in the heap.
+   */
+  private static void siftDown(SortCounter counter, long[] data, int offset, int parent, int n) {
+    while (true) {
+      int leftChild = 2 * parent + 1;
+      if (leftChild >= n) {
+        break;
+      }
+      int rightChild = 2 * parent + 2;
+      int maxChild = leftChild;
+      if (rightChild < n && compare(counter, data[offset + leftChild], data[offset + rightChild]) < 0) {
+        maxChild = rightChild;
+      }
+      if (compare(counter, data[offset + parent], data[offset + maxChild]) < 0) {
+        swap(counter, data, offset + parent, offset + maxChild);
+        parent = maxChild;
+      }
+      else {
+        break;
+      }
+    }
+  }
+
+  /**
+   * Sorts a section of an Array of longs using a natural mergeSort algorithm.
+   * See mergeSort(E[], Comparator, E[]) for how runs are found and merged.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of longs.
+   * @param buffer, a scratch Array of at least (end - first) / 2 longs.
+   * @param first, the first index of the section to sort.
+   * @param end, the index after the last index of the section to sort.
+   */
+  private static void mergeSort(SortCounter counter, long[] data, long[] buffer, int first, int end) {
+    int length = end - first;
+    if (length < 2) {
+      return;
+    }
+    int minRun = minRunLength(length);
+    int[] runStart = new int[MAX_RUNS];
+    int runs = 0;
+    int start = first;
+    while (start < end) {
+      int runEnd = findRun(counter, data, start, end);
+      if (runEnd - start < minRun) {
+        runEnd = Math.min(start + minRun, end);
+        insertionSort(counter, data, start, runEnd - 1);
+      }
+      runStart[runs++] = start;
+      while (runs > 1) {
+        int n = runs - 2;
+        int nextLength = runEnd - runStart[n + 1];
+        int length0 = runStart[n + 1] - runStart[n];
+        if ((n > 0 && runStart[n] - runStart[n - 1] <= length0 + nextLength)
+            || (n > 1 && runStart[n - 1] - runStart[n - 2] <= runStart[n] - runStart[n - 1] + length0)) {
+          if (runStart[n] - runStart[n - 1] < nextLength) {
+            n--;
+          }
+        }
+        else if (length0 > nextLength) {
+          break;
+        }
+        runs = mergeAt(counter, data, buffer, runStart, runs, n, runEnd);
+      }
+      start = runEnd;
+    }
+    while (runs > 1) {
+      int n = runs - 2;
+      if (n > 0 && runStart[n] - runStart[n - 1] < end - runStart[n + 1]) {
+        n--;
+      }
+      runs = mergeAt(counter, data, buffer, runStart, runs, n, end);
+    }
+  }
+
+  /**
+   * Finds the run of longs starting at a given index, reversing it in place if it is strictly descending.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of longs.
+   * @param start, the first index of the run.
+   * @param end, the index after the last index of the section being sorted.
+   * @return returns the index after the last index of the run.
+   */
+  private static int findRun(SortCounter counter, long[] data, int start, int end) {
+    int runEnd = start + 1;
+    if (runEnd == end) {
+      return runEnd;
+    }
+    if (compare(counter, data[runEnd++], data[start]) < 0) {
+      while (runEnd < end && compare(counter, data[runEnd], data[runEnd - 1]) < 0) {
+        runEnd++;
+      }
+      for (int i = start, j = runEnd - 1; i < j; i++, j--) {
+        swap(counter, data, i, j);
+      }
+    }
+    else {
+      while (runEnd < end && compare(counter, data[runEnd], data[runEnd - 1]) >= 0) {
+        runEnd++;
+      }
+    }
+    return runEnd;
+  }
+
+  /**
+   * Merges run n with run n + 1 on the mergeSort run stack of an Array of longs and removes run n + 1 from the stack.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of longs.
+   * @param buffer, a scratch Array.
+   * @param runStart, the first index of each run on the stack.
+   * @param runs, the number of runs on the stack.
+   * @param n, the position on the stack of the first run to merge.
+   * @param end, the index after the last index of the top run.
+   * @return returns the new number of runs on the stack.
+   */
+  private static int mergeAt(SortCounter counter, long[] data, long[] buffer, int[] runStart, int runs, int n, int end) {
+    int runEnd = n + 2 < runs ? runStart[n + 2] : end;
+    merge(counter, data, buffer, runStart[n], runStart[n + 1], runEnd);
+    System.arraycopy(runStart, n + 2, runStart, n + 1, runs - n - 2);
+    return runs - 1;
+  }
+
+  /**
+   * Merges two adjacent sorted sections of an Array of longs, copying the shorter section into the buffer.
+   * Nothing is done if the sections are already in order.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of longs.
+   * @param buffer, a scratch Array of at least (end - first) / 2 longs.
+   * @param first, the first index of the left section.
+   * @param middle, the first index of the right section.
+   * @param end, the index after the last index of the right section.
+   */
+  private static void merge(SortCounter counter, long[] data, long[] buffer, int first, int middle, int end) {
+    if (first == middle || middle == end || compare(counter, data[middle - 1], data[middle]) <= 0) {
+      return;
+    }
+    if (middle - first <= end - middle) {
+      System.arraycopy(data, first, buffer, 0, middle - first);
+      int i = 0;
+      int leftEnd = middle - first;
+      int j = middle;
+      int k = first;
+      while (i < leftEnd && j < end) {
+        if (compare(counter, buffer[i], data[j]) <= 0) {
+          data[k++] = buffer[i++];
+        }
+        else {
+          data[k++] = data[j++];
+        }
+        countSwap(counter);
+      }
+      while (i < leftEnd) {
+        data[k++] = buffer[i++];
+        countSwap(counter);
+      }
+    }
+    else {
+      System.arraycopy(data, middle, buffer, 0, end - middle);
+      int i = middle - 1;
+      int j = end - middle - 1;
+      int k = end - 1;
+      while (i >= first && j >= 0) {
+        if (compare(counter, data[i], buffer[j]) > 0) {
+          data[k--] = data[i--];
+        }
+        else {
+          data[k--] = buffer[j--];
+        }
+        countSwap(counter);
+      }
+      while (j >= 0) {
+        data[k--] = buffer[j--];
+        countSwap(counter);
+      }
+    }
+  }
+
+  /**
+   * Sorts a section of an Array of longs using an introsort variant of quickSort.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of longs.
+   * @param first, the first index of the section to sort.
+   * @param last, the last index of the section to sort.
+   * @param depthLimit, the number of partitioning levels left before falling back to heapSort.
+   */
+  private static void quickSort(SortCounter counter, long[] data, int first, int last, int depthLimit) {
+    while (last - first >= INSERTION_SORT_THRESHOLD) {
+      if (depthLimit == 0) {
+        heapSort(counter, data, first, last + 1);
+        return;
+      }
+      depthLimit--;
+      long pivot = data[pivotIndex(counter, data, first, last)];
+      int lessEnd = first;
+      int i = first;
+      int greaterStart = last;
+      while (i <= greaterStart) {
+        int c = compare(counter, data[i], pivot);
+        if (c < 0) {
+          swap(counter, data, lessEnd++, i++);
+        }
+        else if (c > 0) {
+          swap(counter, data, i, greaterStart--);
+        }
+        else {
+          i++;
+        }
+      }
+      if (lessEnd - first < last - greaterStart) {
+        quickSort(counter, data, first, lessEnd - 1, depthLimit);
+        first = greaterStart + 1;
+      }
+      else {
+        quickSort(counter, data, greaterStart + 1, last, depthLimit);
+        last = lessEnd - 1;
+      }
+    }
+    insertionSort(counter, data, first, last);
+  }
+
+  /**
+   * Chooses a quickSort pivot, the median of three elements for small sections or Tukey's ninther for large ones.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of longs.
+   * @param first, the first index of the section.
+   * @param last, the last index of the section.
+   * @return returns the index of the pivot.
+   */
+  static int pivotIndex(SortCounter counter, long[] data, int first, int last) {
+    int middle = (first + last) >>> 1;
+    if (last - first < NINTHER_THRESHOLD) {
+      return medianOfThree(counter, data, first, middle, last);
+    }
+    int step = (last - first) / 8;
+    return medianOfThree(counter, data,
+        medianOfThree(counter, data, first, first + step, first + 2 * step),
+        medianOfThree(counter, data, middle - step, middle, middle + step),
+        medianOfThree(counter, data, last - 2 * step, last - step, last));
+  }
+
+  /**
+   * Finds the median of three elements of an Array of longs.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of longs.
+   * @param a, the index of the first element.
+   * @param b, the index of the second element.
+   * @param c, the index of the third element.
+   * @return returns the index of the median element.
+   */
+  private static int medianOfThree(SortCounter counter, long[] data, int a, int b, int c) {
+    if (compare(counter, data[a], data[b]) < 0) {
+      if (compare(counter, data[b], data[c]) < 0) {
+        return b;
+      }
+      return compare(counter, data[a], data[c]) < 0 ? c : a;
+    }
+    if (compare(counter, data[a], data[c]) < 0) {
+      return a;
+    }
+    return compare(counter, data[b], data[c]) < 0 ? c : b;
+  }
+
+  /**
+   * Sorts a small section of an Array of longs using an insertionSort algorithm.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of longs.
+   * @param first, the first index of the section to sort.
+   * @param last, the last index of the section to sort.
+   */
+  private static void insertionSort(SortCounter counter, long[] data, int first, int last) {
+    for (int i = first + 1; i <= last; i++) {
+      int j = i;
+      long held = data[i];
+      while (j > first && compare(counter, data[j - 1], held) > 0) {
+        data[j] = data[j - 1];
+        countSwap(counter);
+        j--;
+      }
+      data[j] = held;
+      countSwap(counter);
+    }
+  }
+
+  /**
+   * Sorts an Array of longs using a least significant digit radixSort algorithm.
+   * Passes in which every element has the same digit are skipped.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of longs.
+   */
+  private static void radixSort(SortCounter counter, long[] data) {
+    if (data.length < 2) {
+      return;
+    }
+    long[] from = data;
+    long[] to = new long[data.length];
+    int[] count = new int[RADIX];
+    for (int shift = 0; shift < Long.SIZE; shift += 8) {
+      Arrays.fill(count, 0);
+      for (long value : from) {
+        count[(int) (sortKey(value) >>> shift) & (RADIX - 1)]++;
+      }
+      if (count[(int) (sortKey(from[0]) >>> shift) & (RADIX - 1)] == from.length) {
+        continue;
+      }
+      int total = 0;
+      for (int i = 0; i < RADIX; i++) {
+        int c = count[i];
+        count[i] = total;
+        total += c;
+      }
+      for (long value : from) {
+        to[count[(int) (sortKey(value) >>> shift) & (RADIX - 1)]++] = value;
+        countSwap(counter);
+      }
+      long[] temp = from;
+      from = to;
+      to = temp;
+    }
+    if (from != data) {
+      System.arraycopy(from, 0, data, 0, data.length);
+    }
+  }
+
+  /**
+   * Maps a long to an unsigned key with the same order, for radixSort.
+   * @param value, the long.
+   * @return returns the long with its sign bit flipped.
+   */
+  private static long sortKey(long value) {
+    return value ^ Long.MIN_VALUE;
+  }
+
+  /**
+   * Compares two longs, ordering them as Long.compare does.
+   * @param counter, the statistics of the current sort, or null.
+   * @param a, the first long.
+   * @param b, the second long.
+   * @return returns 0 if the values are equivalent, a negative integer if a is less than b, or a positive integer if a is greater than b.
+   */
+  private static int compare(SortCounter counter, long a, long b) {
+    if (counter != null) {
+      counter.comparisons++;
+    }
+    return Long.compare(a, b);
+  }
+
+  /**
+   * Swaps two longs in an Array.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, the Array.
+   * @param first, the index of the first long to swap.
+   * @param second, the index of the second long to Swap.
+   */
+  private static void swap(SortCounter counter, long[] data, int first, int second) {
+    countSwap(counter);
+    long temp = data[first];
+    data[first] = data[second];
+    data[second] = temp;
+  }
+
+  /**
+   * Sorts a section of an Array of floats using a heapSort algorithm.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of floats.
+   * @param first, the first index of the section to sort.
+   * @param end, the index after the last index of the section to sort.
+   */
+  private static void heapSort(SortCounter counter, float[] data, int first, int end) {
+    int n = end - first;
+    for (int parent = n / 2 - 1; parent >= 0; parent--) {
+      siftDown(counter, data, first, parent, n);
+    }
+    while (n > 1) {
+      n--;
+      swap(counter, data, first, first + n);
+      siftDown(counter, data, first, 0, n);
+    }
+  }
+
+  /**
+   * Moves an element of a max-heap down until neither of its children is greater than it.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of floats.
+   * @param offset, the index in data of the root of the heap.
+   * @param parent, the heap position of the element to move down.
+   * @param n, the number of elements in the heap.
+   */
+  private static void siftDown(SortCounter counter, float[] data, int offset, int parent, int n) {
+    while (true) {
+      int leftChild = 2 * parent + 1;
+      if (leftChild >= n) {
+        break;
+      }
+      int rightChild = 2 * parent + 2;
+      int maxChild = leftChild;
+      if (rightChild < n && compare(counter, data[offset + leftChild], data[offset + rightChild]) < 0) {
+        maxChild = rightChild;
+      }
+      if (compare(counter, data[offset + parent], data[offset + maxChild]) < 0) {
+        swap(counter, data, offset + parent, offset + maxChild);
+        parent = maxChild;
+      }
+      else {
+        break;
+      }
+    }
+  }
+
+  /**
+   * Sorts a section of an Array of floats using a natural mergeSort algorithm.
+   * See mergeSort(E[], Comparator, E[]) for how runs are found and merged.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of floats.
+   * @param buffer, a scratch Array of at least (end - first) / 2 floats.
+   * @param first, the first index of the section to sort.
+   * @param end, the index after the last index of the section to sort.
+   */
+  private static void mergeSort(SortCounter counter, float[] data, float[] buffer, int first, int end) {
+    int length = end - first;
+    if (length < 2) {
+      return;
+    }
+    int minRun = minRunLength(length);
+    int[] runStart = new int[MAX_RUNS];
+    int runs = 0;
+    int start = first;
+    while (start < end) {
+      int runEnd = findRun(counter, data, start, end);
+      if (runEnd - start < minRun) {
+        runEnd = Math.min(start + minRun, end);
+        insertionSort(counter, data, start, runEnd - 1);
+      }
+      runStart[runs++] = start;
+      while (runs > 1) {
+        int n = runs - 2;
+        int nextLength = runEnd - runStart[n + 1];
+        int length0 = runStart[n + 1] - runStart[n];
+        if ((n > 0 && runStart[n] - runStart[n - 1] <= length0 + nextLength)
+            || (n > 1 && runStart[n - 1] - runStart[n - 2] <= runStart[n] - runStart[n - 1] + length0)) {
+          if (runStart[n] - runStart[n - 1] < nextLength) {
+            n--;
+          }
+        }
+        else if (length0 > nextLength) {
+          break;
+        }
+        runs = mergeAt(counter, data, buffer, runStart, runs, n, runEnd);
+      }
+      start = runEnd;
+    }
+    while (runs > 1) {
+      int n = runs - 2;
+      if (n > 0 && runStart[n] - runStart[n - 1] < end - runStart[n + 1]) {
+        n--;
+      }
+      runs = mergeAt(counter, data, buffer, runStart, runs, n, end);
+    }
+  }
+
+  /**
+   * Finds the run of floats starting at a given index, reversing it in place if it is strictly descending.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of floats.
+   * @param start, the first index of the run.
+   * @param end, the index after the last index of the section being sorted.
+   * @return returns the index after the last index of the run.
+   */
+  private static int findRun(SortCounter counter, float[] data, int start, int end) {
+    int runEnd = start + 1;
+    if (runEnd == end) {
+      return runEnd;
+    }
+    if (compare(counter, data[runEnd++], data[start]) < 0) {
+      while (runEnd < end && compare(counter, data[runEnd], data[runEnd - 1]) < 0) {
+        runEnd++;
+      }
+      for (int i = start, j = runEnd - 1; i < j; i++, j--) {
+        swap(counter, data, i, j);
+      }
+    }
+    else {
+      while (runEnd < end && compare(counter, data[runEnd], data[runEnd - 1]) >= 0) {
+        runEnd++;
+      }
+    }
+    return runEnd;
+  }
+
+  /**
+   * Merges run n with run n + 1 on the mergeSort run stack of an Array of floats and removes run n + 1 from the stack.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of floats.
+   * @param buffer, a scratch Array.
+   * @param runStart, the first index of each run on the stack.
+   * @param runs, the number of runs on the stack.
+   * @param n, the position on the stack of the first run to merge.
+   * @param end, the index after the last index of the top run.
+   * @return returns the new number of runs on the stack.
+   */
+  private static int mergeAt(SortCounter counter, float[] data, float[] buffer, int[] runStart, int runs, int n, int end) {
+    int runEnd = n + 2 < runs ? runStart[n + 2] : end;
+    merge(counter, data, buffer, runStart[n], runStart[n + 1], runEnd);
+    System.arraycopy(runStart, n + 2, runStart, n + 1, runs - n - 2);
+    return runs - 1;
+  }
+
+  /**
+   * Merges two adjacent sorted sections of an Array of floats, copying the shorter section into the buffer.
+   * Nothing is done if the sections are already in order.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of floats.
+   * @param buffer, a scratch Array of at least (end - first) / 2 floats.
+   * @param first, the first index of the left section.
+   * @param middle, the first index of the right section.
+   * @param end, the index after the last index of the right section.
+   */
+  private static void merge(SortCounter counter, float[] data, float[] buffer, int first, int middle, int end) {
+    if (first == middle || middle == end || compare(counter, data[middle - 1], data[middle]) <= 0) {
+      return;
+    }
+    if (middle - first <= end - middle) {
+      System.arraycopy(data, first, buffer, 0, middle - first);
+      int i = 0;
+      int leftEnd = middle - first;
+      int j = middle;
+      int k = first;
+      while (i < leftEnd && j < end) {
+        if (compare(counter, buffer[i], data[j]) <= 0) {
+          data[k++] = buffer[i++];
+        }
+        else {
+          data[k++] = data[j++];
+        }
+        countSwap(counter);
+      }
+      while (i < leftEnd) {
+        data[k++] = buffer[i++];
+        countSwap(counter);
+      }
+    }
+    else {
+      System.arraycopy(data, middle, buffer, 0, end - middle);
+      int i = middle - 1;
+      int j = end - middle - 1;
+      int k = end - 1;
+      while (i >= first && j >= 0) {
+        if (compare(counter, data[i], buffer[j]) > 0) {
+          data[k--] = data[i--];
+        }
+        else {
+          data[k--] = buffer[j--];
+        }
+        countSwap(counter);
+      }
+      while (j >= 0) {
+        data[k--] = buffer[j--];
+        countSwap(counter);
+      }
+    }
+  }
+
+  /**
+   * Sorts a section of an Array of floats using an introsort variant of quickSort.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of floats.
+   * @param first, the first index of the section to sort.
+   * @param last, the last index of the section to sort.
+   * @param depthLimit, the number of partitioning levels left before falling back to heapSort.
+   */
+  private static void quickSort(SortCounter counter, float[] data, int first, int last, int depthLimit) {
+    while (last - first >= INSERTION_SORT_THRESHOLD) {
+      if (depthLimit == 0) {
+        heapSort(counter, data, first, last + 1);
+        return;
+      }
+      depthLimit--;
+      float pivot = data[pivotIndex(counter, data, first, last)];
+      int lessEnd = first;
+      int i = first;
+      int greaterStart = last;
+      while (i <= greaterStart) {
+        int c = compare(counter, data[i], pivot);
+        if (c < 0) {
+          swap(counter, data, lessEnd++, i++);
+        }
+        else if (c > 0) {
+          swap(counter, data, i, greaterStart--);
+        }
+        else {
+          i++;
+        }
+      }
+      if (lessEnd - first < last - greaterStart) {
+        quickSort(counter, data, first, lessEnd - 1, depthLimit);
+        first = greaterStart + 1;
+      }
+      else {
+        quickSort(counter, data, greaterStart + 1, last, depthLimit);
+        last = lessEnd - 1;
+      }
+    }
+    insertionSort(counter, data, first, last);
+  }
+
+  /**
+   * Chooses a quickSort pivot, the median of three elements for small sections or Tukey's ninther for large ones.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of floats.
+   * @param first, the first index of the section.
+   * @param last, the last index of the section.
+   * @return returns the index of the pivot.
+   */
+  private static int pivotIndex(SortCounter counter, float[] data, int first, int last) {
+    int middle = (first + last) >>> 1;
+    if (last - first < NINTHER_THRESHOLD) {
+      return medianOfThree(counter, data, first, middle, last);
+    }
+    int step = (last - first) / 8;
+    return medianOfThree(counter, data,
+        medianOfThree(counter, data, first, first + step, first + 2 * step),
+        medianOfThree(counter, data, middle - step, middle, middle + step),
+        medianOfThree(counter, data, last - 2 * step, last - step, last));
+  }
+
+  /**
+   * Finds the median of three elements of an Array of floats.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of floats.
+   * @param a, the index of the first element.
+   * @param b, the index of the second element.
+   * @param c, the index of the third element.
+   * @return returns the index of the median element.
+   */
+  private static int medianOfThree(SortCounter counter, float[] data, int a, int b, int c) {
+    if (compare(counter, data[a], data[b]) < 0) {
+      if (compare(counter, data[b], data[c]) < 0) {
+        return b;
+      }
+      return compare(counter, data[a], data[c]) < 0 ? c : a;
+    }
+    if (compare(counter, data[a], data[c]) < 0) {
+      return a;
+    }
+    return compare(counter, data[b], data[c]) < 0 ? c : b;
+  }
+
+  /**
+   * Sorts a small section of an Array of floats using an insertionSort algorithm.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of floats.
+   * @param first, the first index of the section to sort.
+   * @param last, the last index of the section to sort.
+   */
+  private static void insertionSort(SortCounter counter, float[] data, int first, int last) {
+    for (int i = first + 1; i <= last; i++) {
+      int j = i;
+      float held = data[i];
+      while (j > first && compare(counter, data[j - 1], held) > 0) {
+        data[j] = data[j - 1];
+        countSwap(counter);
+        j--;
+      }
+      data[j] = held;
+      countSwap(counter);
+    }
+  }
+
+  /**
+   * Sorts an Array of floats using a least significant digit radixSort algorithm.
+   * Passes in which every element has the same digit are skipped.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of floats.
+   */
+  private static void radixSort(SortCounter counter, float[] data) {
+    if (data.length < 2) {
+      return;
+    }
+    float[] from = data;
+    float[] to = new float[data.length];
+    int[] count = new int[RADIX];
+    for (int shift = 0; shift < Integer.SIZE; shift += 8) {
+      Arrays.fill(count, 0);
+      for (float value : from) {
+        count[(sortKey(value) >>> shift) & (RADIX - 1)]++;
+      }
+      if (count[(sortKey(from[0]) >>> shift) & (RADIX - 1)] == from.length) {
+        continue;
+      }
+      int total = 0;
+      for (int i = 0; i < RADIX; i++) {
+        int c = count[i];
+        count[i] = total;
+        total += c;
+      }
+      for (float value : from) {
+        to[count[(sortKey(value) >>> shift) & (RADIX - 1)]++] = value;
+        countSwap(counter);
+      }
+      float[] temp = from;
+      from = to;
+      to = temp;
+    }
+    if (from != data) {
+      System.arraycopy(from, 0, data, 0, data.length);
+    }
+  }
+
+  /**
+   * Maps a float to an unsigned key with the same order as Float.compare, for radixSort.
+   * Negative values have every bit flipped and other values only their sign bit, so -0.0f sorts before 0.0f and NaN sorts last.
+   * @param value, the float.
+   * @return returns the sortable bits of the float.
+   */
+  private static int sortKey(float value) {
+    int bits = Float.floatToIntBits(value);
+    return bits ^ ((bits >> 31) | Integer.MIN_VALUE);
+  }
+
+  /**
+   * Compares two floats, ordering them as Float.compare does.
+   * @param counter, the statistics of the current sort, or null.
+   * @param a, the first float.
+   * @param b, the second float.
+   * @return returns 0 if the values are equivalent, a negative integer if a is less than b, or a positive integer if a is greater than b.
+   */
+  private static int compare(SortCounter counter, float a, float b) {
+    if (counter != null) {
+      counter.comparisons++;
+    }
+    return Float.compare(a, b);
+  }
+
+  /**
+   * Swaps two floats in an Array.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, the Array.
+   * @param first, the index of the first float to swap.
+   * @param second, the index of the second float to Swap.
+   */
+  private static void swap(SortCounter counter, float[] data, int first, int second) {
+    countSwap(counter);
+    float temp = data[first];
+    data[first] = data[second];
+    data[second] = temp;
+  }
+
+  /**
+   * Sorts a section of an Array of doubles using a heapSort algorithm.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of doubles.
+   * @param first, the first index of the section to sort.
+   * @param end, the index after the last index of the section to sort.
+   */
+  private static void heapSort(SortCounter counter, double[] data, int first, int end) {
+    int n = end - first;
+    for (int parent = n / 2 - 1; parent >= 0; parent--) {
+      siftDown(counter, data, first, parent, n);
+    }
+    while (n > 1) {
+      n--;
+      swap(counter, data, first, first + n);
+      siftDown(counter, data, first, 0, n);
+    }
+  }
+
+  /**
+   * Moves an element of a max-heap down until neither of its children is greater than it.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of doubles.
+   * @param offset, the index in data of the root of the heap.
+   * @param parent, the heap position of the element to move down.
+   * @param n, the number of elements in the heap.
+   */
+  private static void siftDown(SortCounter counter, double[] data, int offset, int parent, int n) {
+    while (true) {
+      int leftChild = 2 * parent + 1;
+      if (leftChild >= n) {
+        break;
+      }
+      int rightChild = 2 * parent + 2;
+      int maxChild = leftChild;
+      if (rightChild < n && compare(counter, data[offset + leftChild], data[offset + rightChild]) < 0) {
+        maxChild = rightChild;
+      }
+      if (compare(counter, data[offset + parent], data[offset + maxChild]) < 0) {
+        swap(counter, data, offset + parent, offset + maxChild);
+        parent = maxChild;
+      }
+      else {
+        break;
+      }
+    }
+  }
+
+  /**
+   * Sorts a section of an Array of doubles using a natural mergeSort algorithm.
+   * See mergeSort(E[], Comparator, E[]) for how runs are found and merged.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of doubles.
+   * @param buffer, a scratch Array of at least (end - first) / 2 doubles.
+   * @param first, the first index of the section to sort.
+   * @param end, the index after the last index of the section to sort.
+   */
+  private static void mergeSort(SortCounter counter, double[] data, double[] buffer, int first, int end) {
+    int length = end - first;
+    if (length < 2) {
+      return;
+    }
+    int minRun = minRunLength(length);
+    int[] runStart = new int[MAX_RUNS];
+    int runs = 0;
+    int start = first;
+    while (start < end) {
+      int runEnd = findRun(counter, data, start, end);
+      if (runEnd - start < minRun) {
+        runEnd = Math.min(start + minRun, end);
+        insertionSort(counter, data, start, runEnd - 1);
+      }
+      runStart[runs++] = start;
+      while (runs > 1) {
+        int n = runs - 2;
+        int nextLength = runEnd - runStart[n + 1];
+        int length0 = runStart[n + 1] - runStart[n];
+        if ((n > 0 && runStart[n] - runStart[n - 1] <= length0 + nextLength)
+            || (n > 1 && runStart[n - 1] - runStart[n - 2] <= runStart[n] - runStart[n - 1] + length0)) {
+          if (runStart[n] - runStart[n - 1] < nextLength) {
+            n--;
+          }
+        }
+        else if (length0 > nextLength) {
+          break;
+        }
+        runs = mergeAt(counter, data, buffer, runStart, runs, n, runEnd);
+      }
+      start = runEnd;
+    }
+    while (runs > 1) {
+      int n = runs - 2;
+      if (n > 0 && runStart[n] - runStart[n - 1] < end - runStart[n + 1]) {
+        n--;
+      }
+      runs = mergeAt(counter, data, buffer, runStart, runs, n, end);
+    }
+  }
+
+  /**
+   * Finds the run of doubles starting at a given index, reversing it in place if it is strictly descending.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of doubles.
+   * @param start, the first index of the run.
+   * @param end, the index after the last index of the section being sorted.
+   * @return returns the index after the last index of the run.
+   */
+  private static int findRun(SortCounter counter, double[] data, int start, int end) {
+    int runEnd = start + 1;
+    if (runEnd == end) {
+      return runEnd;
+    }
+    if (compare(counter, data[runEnd++], data[start]) < 0) {
+      while (runEnd < end && compare(counter, data[runEnd], data[runEnd - 1]) < 0) {
+        runEnd++;
+      }
+      for (int i = start, j = runEnd - 1; i < j; i++, j--) {
+        swap(counter, data, i, j);
+      }
+    }
+    else {
+      while (runEnd < end && compare(counter, data[runEnd], data[runEnd - 1]) >= 0) {
+        runEnd++;
+      }
+    }
+    return runEnd;
+  }
+
+  /**
+   * Merges run n with run n + 1 on the mergeSort run stack of an Array of doubles and removes run n + 1 from the stack.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of doubles.
+   * @param buffer, a scratch Array.
+   * @param runStart, the first index of each run on the stack.
+   * @param runs, the number of runs on the stack.
+   * @param n, the position on the stack of the first run to merge.
+   * @param end, the index after the last index of the top run.
+   * @return returns the new number of runs on the stack.
+   */
+  private static int mergeAt(SortCounter counter, double[] data, double[] buffer, int[] runStart, int runs, int n, int end) {
+    int runEnd = n + 2 < runs ? runStart[n + 2] : end;
+    merge(counter, data, buffer, runStart[n], runStart[n + 1], runEnd);
+    System.arraycopy(runStart, n + 2, runStart, n + 1, runs - n - 2);
+    return runs - 1;
+  }
+
+  /**
+   * Merges two adjacent sorted sections of an Array of doubles, copying the shorter section into the buffer.
+   * Nothing is done if the sections are already in order.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of doubles.
+   * @param buffer, a scratch Array of at least (end - first) / 2 doubles.
+   * @param first, the first index of the left section.
+   * @param middle, the first index of the right section.
+   * @param end, the index after the last index of the right section.
+   */
+  private static void merge(SortCounter counter, double[] data, double[] buffer, int first, int middle, int end) {
+    if (first == middle || middle == end || compare(counter, data[middle - 1], data[middle]) <= 0) {
+      return;
+    }
+    if (middle - first <= end - middle) {
+      System.arraycopy(data, first, buffer, 0, middle - first);
+      int i = 0;
+      int leftEnd = middle - first;
+      int j = middle;
+      int k = first;
+      while (i < leftEnd && j < end) {
+        if (compare(counter, buffer[i], data[j]) <= 0) {
+          data[k++] = buffer[i++];
+        }
+        else {
+          data[k++] = data[j++];
+        }
+        countSwap(counter);
+      }
+      while (i < leftEnd) {
+        data[k++] = buffer[i++];
+        countSwap(counter);
+      }
+    }
+    else {
+      System.arraycopy(data, middle, buffer, 0, end - middle);
+      int i = middle - 1;
+      int j = end - middle - 1;
+      int k = end - 1;
+      while (i >= first && j >= 0) {
+        if (compare(counter, data[i], buffer[j]) > 0) {
+          data[k--] = data[i--];
+        }
+        else {
+          data[k--] = buffer[j--];
+        }
+        countSwap(counter);
+      }
+      while (j >= 0) {
+        data[k--] = buffer[j--];
+        countSwap(counter);
+      }
+    }
+  }
+
+  /**
+   * Sorts a section of an Array of doubles using an introsort variant of quickSort.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of doubles.
+   * @param first, the first index of the section to sort.
+   * @param last, the last index of the section to sort.
+   * @param depthLimit, the number of partitioning levels left before falling back to heapSort.
+   */
+  private static void quickSort(SortCounter counter, double[] data, int first, int last, int depthLimit) {
+    while (last - first >= INSERTION_SORT_THRESHOLD) {
+      if (depthLimit == 0) {
+        heapSort(counter, data, first, last + 1);
+        return;
+      }
+      depthLimit--;
+      double pivot = data[pivotIndex(counter, data, first, last)];
+      int lessEnd = first;
+      int i = first;
+      int greaterStart = last;
+      while (i <= greaterStart) {
+        int c = compare(counter, data[i], pivot);
+        if (c < 0) {
+          swap(counter, data, lessEnd++, i++);
+        }
+        else if (c > 0) {
+          swap(counter, data, i, greaterStart--);
+        }
+        else {
+          i++;
+        }
+      }
+      if (lessEnd - first < last - greaterStart) {
+        quickSort(counter, data, first, lessEnd - 1, depthLimit);
+        first = greaterStart + 1;
+      }
+      else {
+        quickSort(counter, data, greaterStart + 1, last, depthLimit);
+        last = lessEnd - 1;
+      }
+    }
+    insertionSort(counter, data, first, last);
+  }
+
+  /**
+   * Chooses a quickSort pivot, the median of three elements for small sections or Tukey's ninther for large ones.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of doubles.
+   * @param first, the first index of the section.
+   * @param last, the last index of the section.
+   * @return returns the index of the pivot.
+   */
+  private static int pivotIndex(SortCounter counter, double[] data, int first, int last) {
+    int middle = (first + last) >>> 1;
+    if (last - first < NINTHER_THRESHOLD) {
+      return medianOfThree(counter, data, first, middle, last);
+    }
+    int step = (last - first) / 8;
+    return medianOfThree(counter, data,
+        medianOfThree(counter, data, first, first + step, first + 2 * step),
+        medianOfThree(counter, data, middle - step, middle, middle + step),
+        medianOfThree(counter, data, last - 2 * step, last - step, last));
+  }
+
+  /**
+   * Finds the median of three elements of an Array of doubles.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of doubles.
+   * @param a, the index of the first element.
+   * @param b, the index of the second element.
+   * @param c, the index of the third element.
+   * @return returns the index of the median element.
+   */
+  private static int medianOfThree(SortCounter counter, double[] data, int a, int b, int c) {
+    if (compare(counter, data[a], data[b]) < 0) {
+      if (compare(counter, data[b], data[c]) < 0) {
+        return b;
+      }
+      return compare(counter, data[a], data[c]) < 0 ? c : a;
+    }
+    if (compare(counter, data[a], data[c]) < 0) {
+      return a;
+    }
+    return compare(counter, data[b], data[c]) < 0 ? c : b;
+  }
+
+  /**
+   * Sorts a small section of an Array of doubles using an insertionSort algorithm.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of doubles.
+   * @param first, the first index of the section to sort.
+   * @param last, the last index of the section to sort.
+   */
+  private static void insertionSort(SortCounter counter, double[] data, int first, int last) {
+    for (int i = first + 1; i <= last; i++) {
+      int j = i;
+      double held = data[i];
+      while (j > first && compare(counter, data[j - 1], held) > 0) {
+        data[j] = data[j - 1];
+        countSwap(counter);
+        j--;
+      }
+      data[j] = held;
+      countSwap(counter);
+    }
+  }
+
+  /**
+   * Sorts an Array of doubles using a least significant digit radixSort algorithm.
+   * Passes in which every element has the same digit are skipped.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of doubles.
+   */
+  private static void radixSort(SortCounter counter, double[] data) {
+    if (data.length < 2) {
+      return;
+    }
+    double[] from = data;
+    double[] to = new double[data.length];
+    int[] count = new int[RADIX];
+    for (int shift = 0; shift < Long.SIZE; shift += 8) {
+      Arrays.fill(count, 0);
+      for (double value : from) {
+        count[(int) (sortKey(value) >>> shift) & (RADIX - 1)]++;
+      }
+      if (count[(int) (sortKey(from[0]) >>> shift) & (RADIX - 1)] == from.length) {
+        continue;
+      }
+      int total = 0;
+      for (int i = 0; i < RADIX; i++) {
+        int c = count[i];
+        count[i] = total;
+        total += c;
+      }
+      for (double value : from) {
+        to[count[(int) (sortKey(value) >>> shift) & (RADIX - 1)]++] = value;
+        countSwap(counter);
+      }
+      double[] temp = from;
+      from = to;
+      to = temp;
+    }
+    if (from != data) {
+      System.arraycopy(from, 0, data, 0, data.length);
+    }
+  }
+
+  /**
+   * Maps a double to an unsigned key with the same order as Double.compare, for radixSort.
+   * Negative values have every bit flipped and other values only their sign bit, so -0.0 sorts before 0.0 and NaN sorts last.
+   * @param value, the double.
+   * @return returns the sortable bits of the double.
+   */
+  private static long sortKey(double value) {
+    long bits = Double.doubleToLongBits(value);
+    return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+  }
+
+  /**
+   * Compares two doubles, ordering them as Double.compare does.
+   * @param counter, the statistics of the current sort, or null.
+   * @param a, the first double.
+   * @param b, the second double.
+   * @return returns 0 if the values are equivalent, a negative integer if a is less than b, or a positive integer if a is greater than b.
+   */
+  private static int compare(SortCounter counter, double a, double b) {
+    if (counter != null) {
+      counter.comparisons++;
+    }
+    return Double.compare(a, b);
+  }
+
+  /**
+   * Swaps two doubles in an Array.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, the Array.
+   * @param first, the index of the first double to swap.
+   * @param second, the index of the second double to Swap.
+   */
+  private static void swap(SortCounter counter, double[] data, int first, int second) {
+    countSwap(counter);
+    double temp = data[first];
+    data[first] = data[second];
+    data[second] = temp;
+  }
+
+  /**
+   * Checks that a section lies within an Array.
+   * @param length, the length of the Array.
+   * @param fromIndex, the first index of the section.
+   * @param toIndex, the index after the last index of the section.
+   * @throws ArrayIndexOutOfBoundsException if fromIndex or toIndex is outside of the Array.
+   * @throws IllegalArgumentException if fromIndex is greater than toIndex.
+   */
+  private static void checkRange(int length, int fromIndex, int toIndex) {
+    if (fromIndex > toIndex) {
+      throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+    }
+    if (fromIndex < 0) {
+      throw new ArrayIndexOutOfBoundsException(fromIndex);
+    }
+    if (toIndex > length) {
+      throw new ArrayIndexOutOfBoundsException(toIndex);
+    }
+  }
+
+  /**
+   * Checks if vectorQuickSort can use the Vector API, which lives in an incubator module that is only resolved when
+   * it is added with --add-modules. VectorSort must not be loaded otherwise.
+   * @return returns true if the jdk.incubator.vector module is present. Otherwise returns false.
+   */
+  private static boolean vectorModulePresent() {
+    return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+  }
+
+  /**
+   * Checks if vectorQuickSort sorts ints with the Vector API rather than falling back to the scalar quickSort.
+   * @return returns true if the Vector API is available for ints. Otherwise returns false.
+   */
+  public static boolean isVectorSortAvailable() {
+    return VECTOR_INT;
+  }
+
+  /**
+   * Determines how deep quickSort may partition before falling back to heapSort.
+   * @param length, the number of elements to sort.
+   * @return returns twice the base 2 logarithm of length.
+   */
+  private static int depthLimit(int length) {
+    return 2 * (31 - Integer.numberOfLeadingZeros(Math.max(length, 1)));
+  }
+
+  /**
+   * Starts counting the statistics of a sort.
+   * @return returns a new SortCounter, or null if statistics are turned off.
+   */
+  private SortCounter startCounter() {
+    return listener == null ? null : new SortCounter();
+  }
+
+  /**
+   * Reports the statistics of a finished sort to the listener.
+   * @param algorithm, the name of the sorting algorithm.
+   * @param length, the number of elements sorted.
+   * @param counter, the statistics of the sort, or null if statistics are turned off.
+   */
+  private void report(String algorithm, int length, SortCounter counter) {
+    if (counter != null) {
+      listener.sortCompleted(algorithm, length, counter.comparisons, counter.swaps, System.nanoTime() - counter.startTime);
+    }
+  }
+
+  /**
+   * Reports the statistics of a finished key-extracting sort, which calls the key function once per element.
+   * @param algorithm, the name of the sorting algorithm.
+   * @param length, the number of elements sorted.
+   * @param counter, the statistics of the sort, or null if statistics are turned off.
+   */
+  private void reportKeys(String algorithm, int length, SortCounter counter) {
+    if (counter != null) {
+      listener.keysExtracted(algorithm, length);
+    }
+    report(algorithm, length, counter);
+  }
+
+  /**
+   * Compares two Objects.
+   * @param counter, the statistics of the current sort, or null.
+   * @param compare, a Comparator to compare two Objects with.
+   * @param obj1, the first Object.
+   * @param obj2, the second Object.
+   * @return returns 0 if the Objects are equivalent, a negative integer if obj1 is less than obj2, or a positive integer if obj1 id greater than obj2.
+   */
+  private int compare(SortCounter counter, Comparator<? super E> compare, E obj1, E obj2) {
+    if (counter != null) {
+      counter.comparisons++;
+    }
+    return compare.compare(obj1, obj2);
+  }
+
+  /**
+   * Counts a single element move as a swap.
+   * @param counter, the statistics of the current sort, or null.
+   */
+  private static void countSwap(SortCounter counter) {
+    if (counter != null) {
+      counter.swaps++;
+    }
   }
 
   /**
    * Swaps to Objects in an Array.
+   * @param counter, the statistics of the current sort, or null.
    * @param data, the Array.
    * @param first, the index of the first Object to swap.
    * @param second, the index of the second Object to Swap.
    */
-  private void swap(E[] data, int first, int second) {
-    numberOfSwaps++;
+  private void swap(SortCounter counter, E[] data, int first, int second) {
+    countSwap(counter);
     E temp = data[first];
     data[first] = data[second];
     data[second] = temp;
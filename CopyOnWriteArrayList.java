@@ -0,0 +1,242 @@
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * CopyOnWriteArrayList, Defines an array based list for read-mostly data shared between threads.
+ * Readers use whatever Array was last published and never lock. Writers lock, copy the Array, change the copy and
+ * publish it with a single volatile write, so a reader always sees either the whole change or none of it. Every
+ * write costs a copy of the list, so the list suits data that is read far more often than it is changed.
+ * @author Nagoshi, Vincent
+ */
+public class CopyOnWriteArrayList<E> implements Iterable<E> {
+
+  /**
+   * SnapshotIterator, an iterator over the Array that was published when the iterator was created.
+   * Changes made to the list afterwards are not seen, and the iterator never throws a ConcurrentModificationException.
+   * @author Nagoshi, Vincent
+   */
+  private class SnapshotIterator implements Iterator<E> {
+    private final Object[] snapshot;
+    private int iteratorLocation;
+
+    /**
+     * Constructor
+     * @param snapshot, the Array to iterate over.
+     */
+    private SnapshotIterator(Object[] snapshot){
+      this.snapshot = snapshot;
+      this.iteratorLocation = 0;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return iteratorLocation < snapshot.length;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E next() {
+      if(iteratorLocation >= snapshot.length){
+        throw new NoSuchElementException();
+      }
+      return (E) snapshot[iteratorLocation++];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachRemaining(Consumer<? super E> action) {
+      for(; iteratorLocation < snapshot.length; iteratorLocation++){
+        action.accept((E) snapshot[iteratorLocation]);
+      }
+    }
+  }
+
+  /** Held by writers while they copy and publish the Array. */
+  private final Object lock = new Object();
+  /** The published Array, exactly as long as the list. It is never changed once published. */
+  private volatile Object[] data;
+
+  /**
+   * Default constructor
+   */
+  public CopyOnWriteArrayList(){
+    data = new Object[0];
+  }
+
+  /**
+   * Adds an element to the list as the last element in the list.
+   * @param e, the element to add to the list.
+   * @return returns true if the method was successful in adding the element. Only returns true.
+   */
+  public boolean add(E e) {
+    synchronized(lock){
+      Object[] current = data;
+      Object[] copy = Arrays.copyOf(current, current.length + 1);
+      copy[current.length] = e;
+      data = copy;
+      return true;
+    }
+  }
+
+  /**
+   * Adds an element to the list at a given index within the list.
+   * @param index, the position (0 based) of the list to place the element, or the size of the list to add it last.
+   * @param element, the element to add to the list.
+   * @exception throws ArrayIndexOutOfBoundsException if the index is negative or greater than the size of the list.
+   */
+  public void add(int index, E element) {
+    synchronized(lock){
+      Object[] current = data;
+      if(index < 0 || index > current.length){
+        throw new ArrayIndexOutOfBoundsException(index);
+      }
+      Object[] copy = new Object[current.length + 1];
+      System.arraycopy(current, 0, copy, 0, index);
+      System.arraycopy(current, index, copy, index + 1, current.length - index);
+      copy[index] = element;
+      data = copy;
+    }
+  }
+
+  /**
+   * Adds every element of a Collection to the end of the list with a single copy, so readers see all of them or none.
+   * @param c, the Collection of elements to add.
+   * @return returns true if the list changed. Otherwise returns false.
+   */
+  public boolean addAll(Collection<? extends E> c) {
+    Object[] elements = c.toArray();
+    if(elements.length == 0){
+      return false;
+    }
+    synchronized(lock){
+      Object[] current = data;
+      Object[] copy = Arrays.copyOf(current, current.length + elements.length);
+      System.arraycopy(elements, 0, copy, current.length, elements.length);
+      data = copy;
+      return true;
+    }
+  }
+
+  /**
+   * Gets the element at a specified index within the list, without locking.
+   * @param index, the index of the element to get.
+   * @return returns the element at the specified index within the list.
+   * @exception throws ArrayIndexOutOfBoundsException if the index does not point to an object in the list.
+   */
+  @SuppressWarnings("unchecked")
+  public E get(int index) {
+    Object[] current = data;
+    if(index < 0 || index >= current.length){
+      throw new ArrayIndexOutOfBoundsException(index);
+    }
+    return (E) current[index];
+  }
+
+  /**
+   * Removes an element from the list at a given index.
+   * @param index, the index to remove the element from.
+   * @return returns the removed element
+   * @exception throws ArrayIndexOutOfBoundsException if the index does not point to an object in the list.
+   */
+  @SuppressWarnings("unchecked")
+  public E remove(int index) {
+    synchronized(lock){
+      Object[] current = data;
+      if(index < 0 || index >= current.length){
+        throw new ArrayIndexOutOfBoundsException(index);
+      }
+      Object[] copy = new Object[current.length - 1];
+      System.arraycopy(current, 0, copy, 0, index);
+      System.arraycopy(current, index + 1, copy, index, current.length - index - 1);
+      data = copy;
+      return (E) current[index];
+    }
+  }
+
+  /**
+   * Removes every element that matches a condition with a single copy.
+   * @param filter, the condition an element must match to be removed.
+   * @return returns true if any element was removed. Otherwise returns false.
+   */
+  @SuppressWarnings("unchecked")
+  public boolean removeIf(Predicate<? super E> filter) {
+    synchronized(lock){
+      Object[] current = data;
+      Object[] kept = new Object[current.length];
+      int count = 0;
+      for(Object element : current){
+        if(!filter.test((E) element)){
+          kept[count++] = element;
+        }
+      }
+      if(count == current.length){
+        return false;
+      }
+      data = Arrays.copyOf(kept, count);
+      return true;
+    }
+  }
+
+  /**
+   * Sets a given index of the list to a given element.
+   * @param index, the index of the list to set the element to.
+   * @param element, the element to write into the list.
+   * @return returns the element overwritten by the method.
+   * @exception throws ArrayIndexOutOfBoundsException if the index does not point to an object in the list.
+   */
+  @SuppressWarnings("unchecked")
+  public E set(int index, E element) {
+    synchronized(lock){
+      Object[] current = data;
+      if(index < 0 || index >= current.length){
+        throw new ArrayIndexOutOfBoundsException(index);
+      }
+      Object[] copy = current.clone();
+      copy[index] = element;
+      data = copy;
+      return (E) current[index];
+    }
+  }
+
+  /**
+   * Gets the size of the list, without locking.
+   * @return returns the size of the list.
+   */
+  public int size() {
+    return data.length;
+  }
+
+  /**
+   * Performs an action on every element of the Array that is published when the method is called.
+   * @param action, the action to perform on each element.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public void forEach(Consumer<? super E> action) {
+    for(Object element : data){
+      action.accept((E) element);
+    }
+  }
+
+  /**
+   * Copies the elements of the list, as last published, into a new Array.
+   * @return returns an Array holding the elements of the list in order.
+   */
+  public Object[] toArray() {
+    Object[] current = data;
+    return Arrays.copyOf(current, current.length);
+  }
+
+  /**
+   * Sends a new iterator over the list as it is when the iterator is created.
+   * @return returns an iterator for the list.
+   */
+  @Override
+  public Iterator<E> iterator() {
+    return new SnapshotIterator(data);
+  }
+}
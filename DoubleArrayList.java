@@ -0,0 +1,224 @@
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.DoubleConsumer;
+
+/**
+ * DoubleArrayList, Defines an array based list of doubles, stored without boxing, and contains a method for sorting said list.
+ * @author Nagoshi, Vincent
+ */
+public class DoubleArrayList {
+
+  /**
+   * DoubleArrayListIterator, an iterator for the DoubleArrayList that returns the elements without boxing them.
+   * It is fail-fast: once the list gains or loses elements, the next call to nextDouble or forEachRemaining throws a
+   * ConcurrentModificationException.
+   * @author Nagoshi, Vincent
+   */
+  public class DoubleArrayListIterator implements PrimitiveIterator.OfDouble {
+    private int iteratorLocation;
+    private final int expectedModCount;
+
+    /**
+     * Default constructor
+     */
+    public DoubleArrayListIterator(){
+      iteratorLocation = 0;
+      expectedModCount = modCount;
+    }
+
+    /**
+     * checks if there is an element next to the iterator location.
+     * @return returns true if there is an element next to the iterator. Otherwise returns false.
+     */
+    @Override
+    public boolean hasNext() {
+      return iteratorLocation < size;
+    }
+
+    /**
+     * Returns element next to the iterator and moves the iterator forward one space.
+     * @return returns the element next to the iterator.
+     * @throws throws NoSuchElementException if there is no element to return.
+     * @throws throws ConcurrentModificationException if the list was changed since the iterator was created.
+     */
+    @Override
+    public double nextDouble() {
+      checkForComodification();
+      if(iteratorLocation >= size){
+        throw new NoSuchElementException();
+      }
+      return data[iteratorLocation++];
+    }
+
+    /**
+     * Performs an action on every element the iterator has not yet passed, leaving the iterator at the end of the list.
+     * @param action, the action to perform on each element.
+     * @throws throws ConcurrentModificationException if the list was changed since the iterator was created.
+     */
+    @Override
+    public void forEachRemaining(DoubleConsumer action) {
+      checkForComodification();
+      while(iteratorLocation < size && modCount == expectedModCount){
+        action.accept(data[iteratorLocation++]);
+      }
+      checkForComodification();
+    }
+
+    /**
+     * Checks that the list has not gained or lost elements since the iterator was created.
+     * @throws throws ConcurrentModificationException if the list was changed.
+     */
+    private void checkForComodification() {
+      if(modCount != expectedModCount){
+        throw new ConcurrentModificationException();
+      }
+    }
+  }
+
+  /** Sorts the list in place; it reports no statistics, so a single instance can be shared. */
+  private static final ArraySort<Object> SORTER = new ArraySort<Object>(null);
+
+  private double[] data;
+  private int size;
+  /** The number of times elements have been added to or removed from the list, checked by iterators to fail fast. */
+  private int modCount;
+
+  /**
+   * Default constructor
+   */
+  public DoubleArrayList(){
+    data = new double[10];
+    size = 0;
+  }
+
+  /**
+   * Adds an element to the list as the last element in the list.
+   * @param e, the element to add to the list.
+   * @return returns true if the method was successful in adding the element. Only returns true.
+   */
+  public boolean add(double e) {
+    if(data.length == size){
+      reallocate();
+    }
+    data[size] = e;
+    size++;
+    modCount++;
+    return true;
+  }
+
+  /**
+   * Adds an element to the list at a given index within the list, shifting the elements after it back one space.
+   * @param index, the position (0 based) of the list to place the element, or the size of the list to add it last.
+   * @param element, the element to add to the list.
+   * @exception throws ArrayIndexOutOfBoundsException if the index is negative or greater than the size of the list.
+   */
+  public void add(int index, double element) {
+    if(index < 0 || index > size){
+      throw new ArrayIndexOutOfBoundsException(index);
+    }
+    if(data.length == size){
+      reallocate();
+    }
+    System.arraycopy(data, index, data, index + 1, size - index);
+    data[index] = element;
+    size++;
+    modCount++;
+  }
+
+  /**
+   * Gets the element at a specified index within the list.
+   * @param index, the index of the element to get.
+   * @return returns the element at the specified index within the list.
+   * @exception throws ArrayIndexOutOfBoundsException if the index does not point to an element in the list.
+   */
+  public double get(int index) {
+    if(index < 0 || index >= size){
+      throw new ArrayIndexOutOfBoundsException(index);
+    }
+    return data[index];
+  }
+
+  /**
+   * Removes an element from the list at a given index.
+   * @param index, the index to remove the element from.
+   * @return returns the removed element
+   * @exception throws ArrayIndexOutOfBoundsException if the index does not point to an element in the list.
+   */
+  public double remove(int index) {
+    if(index < 0 || index >= size){
+      throw new ArrayIndexOutOfBoundsException(index);
+    }
+    double removedElement = data[index];
+    System.arraycopy(data, index + 1, data, index, size - index - 1);
+    size--;
+    modCount++;
+    return removedElement;
+  }
+
+  /**
+   * Sets a given index of the list to a given element.
+   * @param index, the index of the list to set the element to.
+   * @param element, the element to write into the list.
+   * @return returns the element overwritten by the method.
+   * @exception throws ArrayIndexOutOfBoundsException if the index does not point to an element in the list.
+   */
+  public double set(int index, double element) {
+    if(index < 0 || index >= size){
+      throw new ArrayIndexOutOfBoundsException(index);
+    }
+    double replacedElement = data[index];
+    data[index] = element;
+    return replacedElement;
+  }
+
+  /**
+   * Gets the size of the list.
+   * @return returns the size of the list.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Adds more space to the data array
+   */
+  private void reallocate(){
+    int capacity = data.length * 2;
+    data = Arrays.copyOf(data, capacity);
+  }
+
+  /**
+   * Sorts the data array in place into ascending order using ArraySort's quickSort, ordering the elements as Double.compare does.
+   */
+  public void sort(){
+    SORTER.quickSort(data, 0, size);
+  }
+
+  /**
+   * Performs an action on every element of the list in order, without boxing the elements.
+   * @param action, the action to perform on each element.
+   */
+  public void forEach(DoubleConsumer action){
+    for(int i = 0; i < size; i++){
+      action.accept(data[i]);
+    }
+  }
+
+  /**
+   * Copies the elements of the list into a new Array.
+   * @return returns an Array holding the elements of the list in order.
+   */
+  public double[] toArray(){
+    return Arrays.copyOf(data, size);
+  }
+
+  /**
+   * Sends a new iterator that does not box the elements.
+   * @return returns an iterator for the list.
+   */
+  public PrimitiveIterator.OfDouble iterator() {
+    return new DoubleArrayListIterator();
+  }
+}
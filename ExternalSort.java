@@ -0,0 +1,424 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * ExternalSort, sorts more elements than fit in memory by spilling sorted runs to temporary files.
+ * Elements are read in chunks of at most maxRecordsInMemory, each chunk is sorted with ArraySort's mergeSort and
+ * written to a temporary file through a FileChannel, and the runs are then merged back together by ArraySort's
+ * loser tree, at most maxOpenFiles - 1 at a time. The sort is stable.
+ * @author Nagoshi, Vincent
+ */
+public class ExternalSort<E> {
+
+  /**
+   * Serializer, reads and writes single elements to and from the run files.
+   * @author Nagoshi, Vincent
+   */
+  public interface Serializer<E> {
+
+    /**
+     * Writes an element.
+     * @param element, the element to write.
+     * @param out, the output to write the element to.
+     * @throws IOException if the element cannot be written.
+     */
+    void write(E element, DataOutput out) throws IOException;
+
+    /**
+     * Reads an element written by write.
+     * @param in, the input to read the element from.
+     * @return returns the element read.
+     * @throws IOException if the element cannot be read.
+     */
+    E read(DataInput in) throws IOException;
+  }
+
+  /**
+   * Defines a sorted run waiting in a temporary file.
+   */
+  private static class Run {
+    private final Path path;
+    private final long count;
+
+    /**
+     * Constructor
+     * @param path, the temporary file holding the run.
+     * @param count, the number of elements in the run.
+     */
+    private Run(Path path, long count) {
+      this.path = path;
+      this.count = count;
+    }
+  }
+
+  /**
+   * Defines a run being read during a merge. Read errors are thrown as UncheckedIOException so that the run can be
+   * merged by ArraySort's loser tree, and are unwrapped again by merge.
+   */
+  private class RunReader implements Iterator<E> {
+    private final DataInputStream in;
+    private long remaining;
+
+    /**
+     * Constructor, opens a run without reading from it.
+     * @param run, the run to read.
+     * @throws IOException if the run cannot be opened.
+     */
+    private RunReader(Run run) throws IOException {
+      this.in = openInput(run.path);
+      this.remaining = run.count;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return remaining > 0;
+    }
+
+    @Override
+    public E next() {
+      if (remaining == 0) {
+        throw new NoSuchElementException();
+      }
+      remaining--;
+      try {
+        return serializer.read(in);
+      }
+      catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  /** The default number of elements sorted in memory at once. */
+  public static final int DEFAULT_MAX_RECORDS_IN_MEMORY = 1 << 20;
+  /** The default number of files open at once during a merge, including the file being written. */
+  public static final int DEFAULT_MAX_OPEN_FILES = 64;
+  /** The default size in bytes of the buffer kept for each open file. */
+  public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+  private final Serializer<E> serializer;
+  private final Comparator<? super E> compare;
+  private final ArraySort<E> sorter;
+  private int maxRecordsInMemory = DEFAULT_MAX_RECORDS_IN_MEMORY;
+  private int maxOpenFiles = DEFAULT_MAX_OPEN_FILES;
+  private int bufferSize = DEFAULT_BUFFER_SIZE;
+  private Path tempDirectory = Paths.get(System.getProperty("java.io.tmpdir"));
+
+  /**
+   * Constructor, sorts without reporting statistics.
+   * @param serializer, the Serializer to read and write elements with.
+   * @param compare, a Comparator element to sort by.
+   */
+  public ExternalSort(Serializer<E> serializer, Comparator<? super E> compare) {
+    this(serializer, compare, null);
+  }
+
+  /**
+   * Constructor with a given statistics listener for the in-memory sorts.
+   * @param serializer, the Serializer to read and write elements with.
+   * @param compare, a Comparator element to sort by.
+   * @param listener, the listener to report the statistics of each in-memory sort to, or null.
+   * @throws NullPointerException if serializer or compare is null.
+   */
+  public ExternalSort(Serializer<E> serializer, Comparator<? super E> compare, SortListener listener) {
+    if (serializer == null || compare == null) {
+      throw new NullPointerException();
+    }
+    this.serializer = serializer;
+    this.compare = compare;
+    this.sorter = new ArraySort<E>(listener);
+  }
+
+  /**
+   * Gets the largest number of elements sorted in memory at once.
+   * @return returns the maximum number of records in memory.
+   */
+  public int getMaxRecordsInMemory() {
+    return maxRecordsInMemory;
+  }
+
+  /**
+   * Sets the largest number of elements sorted in memory at once, which is also the length of each run.
+   * @param maxRecordsInMemory, the maximum number of records in memory.
+   * @throws IllegalArgumentException if maxRecordsInMemory is less than 1.
+   */
+  public void setMaxRecordsInMemory(int maxRecordsInMemory) {
+    if (maxRecordsInMemory < 1) {
+      throw new IllegalArgumentException("maxRecordsInMemory must be at least 1: " + maxRecordsInMemory);
+    }
+    this.maxRecordsInMemory = maxRecordsInMemory;
+  }
+
+  /**
+   * Gets the largest number of files open at once during a merge.
+   * @return returns the maximum number of open files.
+   */
+  public int getMaxOpenFiles() {
+    return maxOpenFiles;
+  }
+
+  /**
+   * Sets the largest number of files open at once during a merge, including the file being written.
+   * @param maxOpenFiles, the maximum number of open files.
+   * @throws IllegalArgumentException if maxOpenFiles is less than 3.
+   */
+  public void setMaxOpenFiles(int maxOpenFiles) {
+    if (maxOpenFiles < 3) {
+      throw new IllegalArgumentException("maxOpenFiles must be at least 3: " + maxOpenFiles);
+    }
+    this.maxOpenFiles = maxOpenFiles;
+  }
+
+  /**
+   * Gets the size in bytes of the buffer kept for each open file.
+   * @return returns the buffer size.
+   */
+  public int getBufferSize() {
+    return bufferSize;
+  }
+
+  /**
+   * Sets the size in bytes of the buffer kept for each open file.
+   * @param bufferSize, the buffer size.
+   * @throws IllegalArgumentException if bufferSize is less than 1.
+   */
+  public void setBufferSize(int bufferSize) {
+    if (bufferSize < 1) {
+      throw new IllegalArgumentException("bufferSize must be at least 1: " + bufferSize);
+    }
+    this.bufferSize = bufferSize;
+  }
+
+  /**
+   * Gets the directory the run files are written to.
+   * @return returns the temporary directory.
+   */
+  public Path getTempDirectory() {
+    return tempDirectory;
+  }
+
+  /**
+   * Sets the directory the run files are written to.
+   * @param tempDirectory, the temporary directory.
+   * @throws NullPointerException if tempDirectory is null.
+   */
+  public void setTempDirectory(Path tempDirectory) {
+    if (tempDirectory == null) {
+      throw new NullPointerException();
+    }
+    this.tempDirectory = tempDirectory;
+  }
+
+  /**
+   * Sorts the elements of a file written with the Serializer into another file.
+   * The input file is closed once its runs are written, before the runs are merged.
+   * @param input, the file to read the elements from.
+   * @param output, the file to write the sorted elements to. Must not be the input file.
+   * @throws IOException if a file cannot be read or written.
+   */
+  public void sort(Path input, Path output) throws IOException {
+    CircularArrayQueue<Run> runs;
+    try (DataInputStream in = openInput(input)) {
+      runs = writeRuns(in, null);
+    }
+    mergeRuns(runs, output);
+  }
+
+  /**
+   * Sorts the elements of an Iterator into a file.
+   * @param input, the elements to sort.
+   * @param output, the file to write the sorted elements to.
+   * @throws IOException if a file cannot be read or written.
+   */
+  public void sort(Iterator<? extends E> input, Path output) throws IOException {
+    CircularArrayQueue<Run> runs = writeRuns(null, input);
+    mergeRuns(runs, output);
+  }
+
+  /**
+   * Splits the input into sorted runs of at most maxRecordsInMemory elements.
+   * Exactly one of in and iterator is used.
+   * @param in, the file to read the elements from, or null.
+   * @param iterator, the elements to sort, or null.
+   * @return returns the runs in the order they were written.
+   * @throws IOException if a file cannot be read or written.
+   */
+  @SuppressWarnings("unchecked")
+  private CircularArrayQueue<Run> writeRuns(DataInputStream in, Iterator<? extends E> iterator) throws IOException {
+    CircularArrayQueue<Run> runs = new CircularArrayQueue<Run>();
+    E[] chunk = (E[]) new Object[maxRecordsInMemory];
+    E[] buffer = (E[]) new Object[maxRecordsInMemory / 2];
+    try {
+      while (true) {
+        int count = 0;
+        if (in != null) {
+          while (count < chunk.length && hasMore(in)) {
+            chunk[count++] = serializer.read(in);
+          }
+        }
+        else {
+          while (count < chunk.length && iterator.hasNext()) {
+            chunk[count++] = iterator.next();
+          }
+        }
+        if (count == 0) {
+          return runs;
+        }
+        sorter.mergeSort(chunk, 0, count, compare, buffer);
+        Path path = Files.createTempFile(tempDirectory, "sort", ".run");
+        runs.add(new Run(path, count));
+        try (DataOutputStream out = openOutput(path)) {
+          for (int i = 0; i < count; i++) {
+            serializer.write(chunk[i], out);
+            chunk[i] = null;
+          }
+        }
+        if (count < chunk.length) {
+          return runs;
+        }
+      }
+    }
+    catch (IOException | RuntimeException e) {
+      deleteAll(runs);
+      throw e;
+    }
+  }
+
+  /**
+   * Merges the runs into the output file, merging groups of runs into new runs first while there are too many to open at once.
+   * Each pass merges neighbouring runs and keeps the results in input order, so equal elements stay in order.
+   * The runs' files are deleted once they have been merged.
+   * @param runs, the runs to merge, in input order.
+   * @param output, the file to write the sorted elements to.
+   * @throws IOException if a file cannot be read or written.
+   */
+  private void mergeRuns(CircularArrayQueue<Run> runs, Path output) throws IOException {
+    int fanIn = maxOpenFiles - 1;
+    try {
+      while (runs.size() > fanIn) {
+        int remaining = runs.size();
+        while (remaining > 0) {
+          Run[] group = new Run[Math.min(fanIn, remaining)];
+          remaining -= group.length;
+          if (group.length == 1) {
+            runs.add(runs.poll());
+            continue;
+          }
+          long count = 0;
+          for (int i = 0; i < group.length; i++) {
+            group[i] = runs.poll();
+            count += group[i].count;
+          }
+          Path path = Files.createTempFile(tempDirectory, "sort", ".run");
+          runs.add(new Run(path, count));
+          merge(group, path);
+        }
+      }
+      Run[] group = new Run[runs.size()];
+      for (int i = 0; i < group.length; i++) {
+        group[i] = runs.poll();
+      }
+      merge(group, output);
+    }
+    finally {
+      deleteAll(runs);
+    }
+  }
+
+  /**
+   * Merges a group of runs into a file with ArraySort's loser tree and deletes the runs' files.
+   * @param group, the runs to merge, in input order.
+   * @param output, the file to write the merged elements to.
+   * @throws IOException if a file cannot be read or written.
+   */
+  private void merge(Run[] group, Path output) throws IOException {
+    ArrayList<Iterable<E>> readers = new ArrayList<Iterable<E>>();
+    ArrayList<RunReader> opened = new ArrayList<RunReader>();
+    try (DataOutputStream out = openOutput(output)) {
+      for (Run run : group) {
+        RunReader reader = new RunReader(run);
+        opened.add(reader);
+        readers.add(() -> reader);
+      }
+      Iterator<E> merged = sorter.merge(readers, compare);
+      while (merged.hasNext()) {
+        serializer.write(merged.next(), out);
+      }
+    }
+    catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    finally {
+      for (RunReader reader : opened) {
+        reader.in.close();
+      }
+      for (Run run : group) {
+        Files.deleteIfExists(run.path);
+      }
+    }
+  }
+
+  /**
+   * Deletes the files of every run left in a queue.
+   * @param runs, the runs to delete.
+   * @throws IOException if a file cannot be deleted.
+   */
+  private static void deleteAll(CircularArrayQueue<Run> runs) throws IOException {
+    while (runs.size() > 0) {
+      Files.deleteIfExists(runs.poll().path);
+    }
+  }
+
+  /**
+   * Opens a file for buffered reading through a FileChannel.
+   * @param path, the file to read.
+   * @return returns a DataInputStream over the file.
+   * @throws IOException if the file cannot be opened.
+   */
+  private DataInputStream openInput(Path path) throws IOException {
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+    return new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), bufferSize));
+  }
+
+  /**
+   * Opens a file for buffered writing through a FileChannel, replacing anything already in it.
+   * @param path, the file to write.
+   * @return returns a DataOutputStream over the file.
+   * @throws IOException if the file cannot be opened.
+   */
+  private DataOutputStream openOutput(Path path) throws IOException {
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+    return new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), bufferSize));
+  }
+
+  /**
+   * Checks if there is anything left to read in a stream.
+   * @param in, a buffered stream.
+   * @return returns true if at least one more byte can be read. Otherwise returns false.
+   * @throws IOException if the stream cannot be read.
+   */
+  private static boolean hasMore(DataInputStream in) throws IOException {
+    in.mark(1);
+    if (in.read() < 0) {
+      return false;
+    }
+    in.reset();
+    return true;
+  }
+}
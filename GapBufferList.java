@@ -0,0 +1,201 @@
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * GapBufferList, Defines an array based list that keeps its free space as a gap at the position of the last edit.
+ * Adding or removing at the gap only moves the gap's edge, so a run of edits near one position costs O(1) each, and
+ * moving the gap to a new position copies only the elements between the old and new positions. Index access stays
+ * O(1): indices before the gap map straight to the data array and indices after it are offset by the gap's length.
+ * @author Nagoshi, Vincent
+ */
+public class GapBufferList<E> implements Iterable<E> {
+
+  /**
+   * GapBufferListIterator, a fail-fast iterator for the GapBufferList.
+   * @author Nagoshi, Vincent
+   */
+  private class GapBufferListIterator implements Iterator<E> {
+    private int iteratorLocation;
+    private final int expectedModCount;
+
+    /**
+     * Default constructor
+     */
+    private GapBufferListIterator(){
+      iteratorLocation = 0;
+      expectedModCount = modCount;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return iteratorLocation < size();
+    }
+
+    @Override
+    public E next() {
+      if(modCount != expectedModCount){
+        throw new ConcurrentModificationException();
+      }
+      if(iteratorLocation >= size()){
+        throw new NoSuchElementException();
+      }
+      return data[physicalIndex(iteratorLocation++)];
+    }
+  }
+
+  private E[] data;
+  /** The index of the first free slot of the data array. */
+  private int gapStart;
+  /** The index after the last free slot of the data array. */
+  private int gapEnd;
+  private int modCount;
+
+  /**
+   * Default constructor
+   */
+  @SuppressWarnings("unchecked")
+  public GapBufferList(){
+    data = (E[]) new Object[10];
+    gapStart = 0;
+    gapEnd = data.length;
+  }
+
+  /**
+   * Adds an element to the list as the last element in the list.
+   * @param e, the element to add to the list.
+   * @return returns true if the method was successful in adding the element. Only returns true.
+   */
+  public boolean add(E e) {
+    add(size(), e);
+    return true;
+  }
+
+  /**
+   * Adds an element to the list at a given index within the list, moving the gap there first.
+   * @param index, the position (0 based) of the list to place the element, or the size of the list to add it last.
+   * @param element, the element to add to the list.
+   * @exception throws ArrayIndexOutOfBoundsException if the index is negative or greater than the size of the list.
+   */
+  public void add(int index, E element) {
+    if(index < 0 || index > size()){
+      throw new ArrayIndexOutOfBoundsException(index);
+    }
+    if(gapStart == gapEnd){
+      reallocate();
+    }
+    moveGap(index);
+    data[gapStart++] = element;
+    modCount++;
+  }
+
+  /**
+   * Gets the element at a specified index within the list.
+   * @param index, the index of the element to get.
+   * @return returns the element at the specified index within the list.
+   * @exception throws ArrayIndexOutOfBoundsException if the index does not point to an object in the list.
+   */
+  public E get(int index) {
+    if(index < 0 || index >= size()){
+      throw new ArrayIndexOutOfBoundsException(index);
+    }
+    return data[physicalIndex(index)];
+  }
+
+  /**
+   * Removes an element from the list at a given index, moving the gap there first.
+   * @param index, the index to remove the element from.
+   * @return returns the removed element
+   * @exception throws ArrayIndexOutOfBoundsException if the index does not point to an object in the list.
+   */
+  public E remove(int index) {
+    if(index < 0 || index >= size()){
+      throw new ArrayIndexOutOfBoundsException(index);
+    }
+    moveGap(index);
+    E removedObject = data[gapEnd];
+    data[gapEnd++] = null;
+    modCount++;
+    return removedObject;
+  }
+
+  /**
+   * Sets a given index of the list to a given element.
+   * @param index, the index of the list to set the element to.
+   * @param element, the element to write into the list.
+   * @return returns the element overwritten by the method.
+   * @exception throws ArrayIndexOutOfBoundsException if the index does not point to an object in the list.
+   */
+  public E set(int index, E element) {
+    if(index < 0 || index >= size()){
+      throw new ArrayIndexOutOfBoundsException(index);
+    }
+    int i = physicalIndex(index);
+    E replacedObject = data[i];
+    data[i] = element;
+    return replacedObject;
+  }
+
+  /**
+   * Gets the size of the list.
+   * @return returns the size of the list.
+   */
+  public int size() {
+    return data.length - (gapEnd - gapStart);
+  }
+
+  /**
+   * Sends a new fail-fast iterator over the list.
+   * @return returns an iterator for the list.
+   */
+  @Override
+  public Iterator<E> iterator() {
+    return new GapBufferListIterator();
+  }
+
+  /**
+   * Maps an index of the list to the index of the data array that holds it.
+   * @param index, the index of the list.
+   * @return returns the index of the data array.
+   */
+  private int physicalIndex(int index){
+    return index < gapStart ? index : index + (gapEnd - gapStart);
+  }
+
+  /**
+   * Moves the gap so that it starts at a given index of the list, copying only the elements between the old and new
+   * positions of the gap.
+   * @param index, the index of the list the gap should start at.
+   */
+  private void moveGap(int index){
+    if(index < gapStart){
+      int count = gapStart - index;
+      System.arraycopy(data, index, data, gapEnd - count, count);
+      Arrays.fill(data, index, Math.min(gapStart, gapEnd - count), null);
+      gapStart = index;
+      gapEnd -= count;
+    }
+    else if(index > gapStart){
+      int count = index - gapStart;
+      System.arraycopy(data, gapEnd, data, gapStart, count);
+      Arrays.fill(data, Math.max(gapEnd, index), gapEnd + count, null);
+      gapStart = index;
+      gapEnd += count;
+    }
+  }
+
+  /**
+   * Doubles the size of the data array, keeping the gap where it is and making it larger.
+   */
+  @SuppressWarnings("unchecked")
+  private void reallocate(){
+    int newLength = Math.max(data.length * 2, 10);
+    E[] grown = (E[]) new Object[newLength];
+    int tail = data.length - gapEnd;
+    System.arraycopy(data, 0, grown, 0, gapStart);
+    System.arraycopy(data, gapEnd, grown, newLength - tail, tail);
+    gapEnd = newLength - tail;
+    data = grown;
+  }
+}
@@ -0,0 +1,117 @@
+/**
+ * LRUCache, Defines a cache of K keys and V values holding at most a fixed number of entries.
+ * The entries are kept in a LinkedList from the most to the least recently used, and a HashTable maps each key to the
+ * handle of its entry's node, so a get or put finds the entry and moves it to the front without walking the list.
+ * When a put of a new key finds the cache full, the entry at the back of the list is evicted first.
+ * @author Nagoshi, Vincent
+ */
+public class LRUCache<K, V> {
+
+  /**
+   * Defines a key-value pair.
+   */
+  private class Entry {
+    final K key;
+    V val;
+
+    /**
+     * Constructor for a key-value pair.
+     * @param key, the key associated with the key-value pair.
+     * @param val, the value associated with the key value pair.
+     */
+    private Entry (K key, V val) {
+      this.key = key;
+      this.val = val;
+    }
+  }
+
+  private final int capacity;
+  /** The entries from the most recently used at the head to the least recently used at the tail. */
+  private final LinkedList<Entry> order = new LinkedList<Entry>();
+  /** The handle of each key's node in order. */
+  private final HashTable<K, LinkedList.Handle<Entry>> index = new HashTable<K, LinkedList.Handle<Entry>>();
+
+  /**
+   * Constructor
+   * @param capacity, the largest number of entries the cache holds.
+   * @throws IllegalArgumentException if capacity is not positive.
+   */
+  public LRUCache(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Illegal capacity: " + capacity);
+    }
+    this.capacity = capacity;
+  }
+
+  /**
+   * Gets the value associated with a key from the cache, marking it as the most recently used entry.
+   * @param key, a key associated with a key-value pair.
+   * @return the value associated with the key. Null if no value is associated with the key.
+   * @throws NullPointerException if key is null.
+   */
+  public V get(K key) {
+    LinkedList.Handle<Entry> handle = index.get(key);
+    if (handle == null) {
+      return null;
+    }
+    order.moveToFront(handle);
+    return handle.get().val;
+  }
+
+  /**
+   * Puts a key-value pair into the cache as the most recently used entry, evicting the least recently used entry if
+   * the key is new and the cache is full.
+   * @param key, the key associated with the key-value pair.
+   * @param val, the value associated with the key value pair.
+   * @return the value previously associated with the key.
+   * @throws NullPointerException if key or val is null.
+   */
+  public V put(K key, V val) {
+    if (key == null || val == null) {
+      throw new NullPointerException();
+    }
+    LinkedList.Handle<Entry> handle = index.get(key);
+    if (handle != null) {
+      Entry e = handle.get();
+      V temp = e.val;
+      e.val = val;
+      order.moveToFront(handle);
+      return temp;
+    }
+    if (order.size() == capacity) {
+      index.remove(order.removeNode(order.lastNode()).key);
+    }
+    index.put(key, order.addFirstNode(new Entry(key, val)));
+    return null;
+  }
+
+  /**
+   * Removes a key-value pair from the cache.
+   * @param key, a key associated with a key-value pair.
+   * @return the value associated with the key. Null if no value is associated with the key.
+   * @throws NullPointerException if key is null.
+   */
+  public V remove(K key) {
+    LinkedList.Handle<Entry> handle = index.remove(key);
+    if (handle == null) {
+      return null;
+    }
+    return order.removeNode(handle).val;
+  }
+
+  /**
+   * Gets the number of entries in the cache.
+   * @return the number of entries.
+   */
+  public int size() {
+    return order.size();
+  }
+
+  /**
+   * Gets the largest number of entries the cache holds.
+   * @return the capacity of the cache.
+   */
+  public int capacity() {
+    return capacity;
+  }
+}
@@ -1,6 +1,15 @@
 import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * LinkedList, defines a double linked list.
@@ -8,115 +17,366 @@ import java.util.NoSuchElementException;
  */
 public class LinkedList<E> implements Iterable<E>{
 
+  /**
+   * Handle, an opaque reference to a node of the list, returned by addFirstNode and addLastNode.
+   * A handle lets its node be removed or moved in O(1) without looking it up by index. It stays valid until its node
+   * is removed from the list.
+   * @author Nagoshi, Vincent
+   */
+  public interface Handle<E> {
+
+    /**
+     * Gets the element stored in the node.
+     * @return returns the element.
+     */
+    E get();
+  }
+
   /**
    * LinkedListIterator, an iterator for the LinkedList
+   * The iterator holds a reference to the node it is before, so every step, add, remove and set is O(1) and a full
+   * pass over the list is linear. It is fail-fast: once the list changes other than through the iterator, the next
+   * call to any method that reads or changes the list throws a ConcurrentModificationException.
    * @author Nagoshi, Vincent
    */
-  @SuppressWarnings("hiding")
-  public class LinkedListIterator<E> implements Iterator<E>{
-    private int iteratorLocation;
+  public class LinkedListIterator implements ListIterator<E>{
+    /** The node the iterator is before, or null at the end of the list. */
+    private DLinkedNode<E> next;
+    /** The node last returned by next or previous, or null if it has been removed or an element was added since. */
+    private DLinkedNode<E> lastReturned;
+    private int nextIndex;
+    private int expectedModCount;
 
     /**
      * Default constructor
      */
     public LinkedListIterator(){
-      iteratorLocation = 0;
+      this(head, 0);
+    }
+
+    /**
+     * Constructor, starts the iterator before a given node.
+     * @param next, the node to start before, or null to start at the end of the list.
+     * @param nextIndex, the index of that node.
+     */
+    private LinkedListIterator(DLinkedNode<E> next, int nextIndex){
+      this.next = next;
+      this.lastReturned = null;
+      this.nextIndex = nextIndex;
+      this.expectedModCount = modCount;
     }
 
     /**
      * checks if there is an element next to the iterator location.
      * @return returns true if there is an element next to the iterator. Otherwise returns false.
-     * @throws throws IndexOutOfBoundsException if the iterator is not bordering an element.
      */
     @Override
     public boolean hasNext() {
-      if(iteratorLocation < 0 || iteratorLocation > size){
-        throw new IndexOutOfBoundsException();
-      }
-      if(getNode(iteratorLocation) != null){
-        return true;
-      }
-      else{
-        return false;
-      }
+      return nextIndex < size;
     }
 
     /**
      * Checks if there is an element before the iterator location.
      * @return returns true if there is an element before the iterator. Otherwise returns false.
-     * @throws throws IndexOutOfBoundsException if the iterator is not bordering an element.
      */
+    @Override
     public boolean hasPrevious() {
-      if(iteratorLocation < 0 || iteratorLocation > size){// may have problems
-        throw new IndexOutOfBoundsException();
-      }
-      if(iteratorLocation == 0){
-        return false;
-      }
-      else if(getNode(iteratorLocation - 1) != null){
-        return true;
-      }
-      else{
-        return false;
-      }
+      return nextIndex > 0;
     }
 
     /**
      * Returns element next to the iterator and moves the iterator forward one space.
      * @return returns the element next to the iterator.
      * @throws throws NoSuchElementException if there is no element to return.
+     * @throws throws ConcurrentModificationException if the list was changed since the iterator was created.
      */
-    @SuppressWarnings("unchecked")
+    @Override
     public E next(){
-      if(this.hasNext()){
-        E entry = (E) getNode(iteratorLocation).data;
-        iteratorLocation++;
-        return entry;
-      }
-      else{
+      checkForComodification();
+      if(next == null){
         throw new NoSuchElementException();
       }
+      lastReturned = next;
+      next = next.next;
+      nextIndex++;
+      return lastReturned.data;
     }
 
     /**
      * Returns the index of the element that the iterator is before.
-     * @return returns the the index the iterator is before.
-     * @throws throws IndexOutOfBoundsException if the iterator is not bordering a valid index.
+     * @return returns the the index the iterator is before, or the size of the list at the end of the list.
      */
+    @Override
     public int nextIndex() {
-      if(iteratorLocation < 0 || iteratorLocation > size){
-        throw new IndexOutOfBoundsException();
-      }
-      return iteratorLocation;
+      return nextIndex;
     }
 
     /**
      * Returns element before the iterator and moves the iterator back one space.
      * @return returns the element before the iterator.
      * @throws throws NoSuchElementException if there is no element to return.
+     * @throws throws ConcurrentModificationException if the list was changed since the iterator was created.
      */
-    @SuppressWarnings("unchecked")
+    @Override
     public E previous() {
-      if(this.hasPrevious()){
-        E entry = (E) getNode(iteratorLocation - 1).data;
-        iteratorLocation--;
-        return entry;
-      }
-      else{
+      checkForComodification();
+      if(nextIndex <= 0){
         throw new NoSuchElementException();
       }
+      next = (next == null) ? tail : next.prev;
+      lastReturned = next;
+      nextIndex--;
+      return lastReturned.data;
     }
 
     /**
      * Returns the index of the element that the iterator is after.
-     * @return returns the the index the iterator is after.
-     * @throws throws IndexOutOfBoundsException if the iterator is not bordering a valid index.
+     * @return returns the the index the iterator is after, or -1 at the start of the list.
      */
+    @Override
     public int previousIndex() {
-      if(iteratorLocation <= 0 || iteratorLocation >= size){// may have problems
-        throw new IndexOutOfBoundsException();
+      return nextIndex - 1;
+    }
+
+    /**
+     * Removes the element last returned by next or previous from the list.
+     * @throws throws IllegalStateException if neither next nor previous has returned an element since the last remove or add.
+     * @throws throws ConcurrentModificationException if the list was changed since the iterator was created.
+     */
+    @Override
+    public void remove() {
+      checkForComodification();
+      if(lastReturned == null){
+        throw new IllegalStateException();
+      }
+      if(next == lastReturned){
+        next = lastReturned.next;
+      }
+      else{
+        nextIndex--;
+      }
+      LinkedList.this.remove(lastReturned);
+      lastReturned = null;
+      expectedModCount = modCount;
+    }
+
+    /**
+     * Replaces the element last returned by next or previous.
+     * @param e, the element to store in its place.
+     * @throws throws IllegalStateException if neither next nor previous has returned an element since the last remove or add.
+     * @throws throws ConcurrentModificationException if the list was changed since the iterator was created.
+     */
+    @Override
+    public void set(E e) {
+      checkForComodification();
+      if(lastReturned == null){
+        throw new IllegalStateException();
+      }
+      lastReturned.data = e;
+    }
+
+    /**
+     * Adds an element to the list just before the iterator, so a following call to next is unaffected and a following
+     * call to previous returns the new element.
+     * @param e, the element to add to the list.
+     * @throws throws ConcurrentModificationException if the list was changed since the iterator was created.
+     */
+    @Override
+    public void add(E e) {
+      checkForComodification();
+      DLinkedNode<E> before = (next == null) ? tail : next.prev;
+      if(before == null){
+        addFirst(e);
+      }
+      else{
+        addAfter(before, e);
+      }
+      lastReturned = null;
+      nextIndex++;
+      expectedModCount = modCount;
+    }
+
+    /**
+     * Performs an action on every element the iterator has not yet passed, leaving the iterator at the end of the list.
+     * @param action, the action to perform on each element.
+     * @throws throws ConcurrentModificationException if the list was changed since the iterator was created.
+     */
+    @Override
+    public void forEachRemaining(Consumer<? super E> action) {
+      while(modCount == expectedModCount && next != null){
+        lastReturned = next;
+        next = next.next;
+        nextIndex++;
+        action.accept(lastReturned.data);
+      }
+      checkForComodification();
+    }
+
+    /**
+     * Checks that the list has not changed other than through this iterator.
+     * @throws throws ConcurrentModificationException if the list was changed.
+     */
+    private void checkForComodification() {
+      if(modCount != expectedModCount){
+        throw new ConcurrentModificationException();
+      }
+    }
+  }
+
+  /**
+   * LinkedListSpliterator, a Spliterator over the LinkedList that splits by copying batches of elements into Arrays.
+   * A linked list cannot be split in the middle without walking to it, so each split hands off the next batch of
+   * elements, one batch larger than the last, as an Array Spliterator that splits evenly on its own. The Spliterator
+   * is late-binding: it takes the head and size of the list at its first traversal, split or size estimate, not when
+   * it is created, so changes made before a Stream runs are seen. After binding it is fail-fast: adding, removing or
+   * relinking nodes throws a ConcurrentModificationException at the next traversal or split.
+   * @author Nagoshi, Vincent
+   */
+  private class LinkedListSpliterator implements Spliterator<E> {
+    /** The number of elements in the first batch, and how much each batch grows by. */
+    private static final int BATCH_UNIT = 1 << 10;
+    /** The largest batch. */
+    private static final int MAX_BATCH = 1 << 25;
+    private DLinkedNode<E> current;
+    /** The number of elements left, or -1 until the Spliterator binds to the list. */
+    private int remaining;
+    private int batch;
+    private int expectedModCount;
+
+    /**
+     * Constructor, covers the whole list once the Spliterator binds to it.
+     */
+    private LinkedListSpliterator(){
+      this.current = null;
+      this.remaining = -1;
+      this.batch = 0;
+    }
+
+    /**
+     * Gets the number of elements left, binding the Spliterator to the current head, size and modCount of the list on
+     * first use.
+     * @return returns the number of elements left.
+     */
+    private int getRemaining(){
+      if(remaining < 0){
+        current = head;
+        remaining = size;
+        expectedModCount = modCount;
+      }
+      return remaining;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action) {
+      if(getRemaining() <= 0){
+        return false;
+      }
+      checkForComodification();
+      E entry = current.data;
+      current = current.next;
+      remaining--;
+      action.accept(entry);
+      checkForComodification();
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super E> action) {
+      int n = getRemaining();
+      DLinkedNode<E> node = current;
+      current = null;
+      remaining = 0;
+      for(; n > 0 && node != null && modCount == expectedModCount; n--){
+        action.accept(node.data);
+        node = node.next;
+      }
+      if(n > 0 || modCount != expectedModCount){
+        throw new ConcurrentModificationException();
+      }
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+      if(getRemaining() <= 1){
+        return null;
+      }
+      checkForComodification();
+      int n = Math.min(Math.min(batch + BATCH_UNIT, MAX_BATCH), remaining);
+      batch = n;
+      Object[] elements = new Object[n];
+      for(int i = 0; i < n; i++){
+        if(current == null){
+          throw new ConcurrentModificationException();
+        }
+        elements[i] = current.data;
+        current = current.next;
       }
-      return iteratorLocation - 1;
+      remaining -= n;
+      return Spliterators.spliterator(elements, 0, n, Spliterator.ORDERED);
+    }
+
+    /**
+     * Checks that no nodes have been added to or removed from the list since the Spliterator bound to it.
+     * @throws throws ConcurrentModificationException if the list was changed.
+     */
+    private void checkForComodification() {
+      if(modCount != expectedModCount){
+        throw new ConcurrentModificationException();
+      }
+    }
+
+    @Override
+    public long estimateSize() {
+      return getRemaining();
+    }
+
+    @Override
+    public int characteristics() {
+      return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+    }
+  }
+
+  /**
+   * SortTask, sorts a chain of nodes linked by next on the ForkJoinPool by sorting each half in parallel and merging
+   * the halves, falling back to the sequential merge sort for short chains.
+   * @author Nagoshi, Vincent
+   */
+  private class SortTask extends RecursiveTask<DLinkedNode<E>> {
+    private static final long serialVersionUID = 1L;
+    /** Chains no longer than this are sorted sequentially. */
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+    private final DLinkedNode<E> first;
+    private final int length;
+    private final Comparator<? super E> compare;
+
+    /**
+     * Constructor
+     * @param first, the first node of the chain, whose last node's next is null.
+     * @param length, the number of nodes in the chain.
+     * @param compare, the comparator to compare the data by.
+     */
+    private SortTask(DLinkedNode<E> first, int length, Comparator<? super E> compare){
+      this.first = first;
+      this.length = length;
+      this.compare = compare;
+    }
+
+    @Override
+    protected DLinkedNode<E> compute() {
+      if(length <= SEQUENTIAL_THRESHOLD){
+        return mergeSort(first, compare);
+      }
+      int leftLength = length / 2;
+      DLinkedNode<E> leftLast = first;
+      for(int i = 1; i < leftLength; i++){
+        leftLast = leftLast.next;
+      }
+      DLinkedNode<E> rightFirst = leftLast.next;
+      leftLast.next = null;
+      SortTask left = new SortTask(first, leftLength, compare);
+      left.fork();
+      DLinkedNode<E> right = new SortTask(rightFirst, length - leftLength, compare).compute();
+      return merge(left.join(), right, compare);
     }
   }
 
@@ -125,7 +385,7 @@ public class LinkedList<E> implements Iterable<E>{
    * @author Nagoshi, Vincent
    */
   @SuppressWarnings("hiding")
-  private class DLinkedNode<E>{
+  private class DLinkedNode<E> implements Handle<E>{
     E data;
     DLinkedNode<E> next;
     DLinkedNode<E> prev;
@@ -151,6 +411,19 @@ public class LinkedList<E> implements Iterable<E>{
       this.next = nextRef;
       this.prev = prevRef;
     }
+
+    @Override
+    public E get() {
+      return data;
+    }
+
+    /**
+     * Gets the list the node was created by.
+     * @return returns the list.
+     */
+    private LinkedList<?> list(){
+      return LinkedList.this;
+    }
   }
 
   /** The first node in the list. */
@@ -159,14 +432,19 @@ public class LinkedList<E> implements Iterable<E>{
   private DLinkedNode<E> tail;
   /** The size of the list. */
   private int size;
+  /** The number of times nodes have been added to or removed from the list, checked by iterators to fail fast. */
+  private int modCount;
+  /** The node found by the last lookup by index, or null once nodes have been added or removed since. */
+  private DLinkedNode<E> finger;
+  /** The index of the finger. */
+  private int fingerIndex;
 
   /**
    * Adds a node to the list in the head position of the list.
    * @param entry, the element to store in the node.
    */
   private void addFirst(E entry){
-    head = new DLinkedNode<E>(entry, head, null);
-    size++;
+    linkFirst(new DLinkedNode<E>(entry));
   }
 
   /**
@@ -175,12 +453,50 @@ public class LinkedList<E> implements Iterable<E>{
    * @param entry, the element to store in the node.
    */
   private void addAfter(DLinkedNode<E> node, E entry){
-    node.next = new DLinkedNode<E>(entry, node.next, node);
+    linkAfter(node, new DLinkedNode<E>(entry));
+  }
+
+  /**
+   * Links a node that is not in the list into the head position of the list.
+   * @param node, the node to link in.
+   */
+  private void linkFirst(DLinkedNode<E> node){
+    node.prev = null;
+    node.next = head;
+    if(head == null){
+      tail = node;
+    }
+    else{
+      head.prev = node;
+    }
+    head = node;
     size++;
+    modCount++;
+    finger = null;
   }
 
   /**
-   * removes a node from the list.
+   * Links a node that is not in the list in after a given node in the list.
+   * @param node, the node to place the new node after.
+   * @param added, the node to link in.
+   */
+  private void linkAfter(DLinkedNode<E> node, DLinkedNode<E> added){
+    added.prev = node;
+    added.next = node.next;
+    if(node.next == null){
+      tail = added;
+    }
+    else{
+      node.next.prev = added;
+    }
+    node.next = added;
+    size++;
+    modCount++;
+    finger = null;
+  }
+
+  /**
+   * removes a node from the list, clearing its links so that a handle to it is seen as stale.
    * @param node, the node to remove.
    * @return, returns the data from the removed node.
    */
@@ -199,20 +515,47 @@ public class LinkedList<E> implements Iterable<E>{
     else{
       node.next.prev = node.prev;
     }
+    node.prev = null;
+    node.next = null;
     size--;
+    modCount++;
+    finger = null;
     return node.data;
   }
 
   /**
-   * Gets a node from the list.
+   * Gets a node from the list, walking from whichever is closest to the index: the head, the tail or the finger left
+   * by the last lookup. The node found becomes the new finger, so looking up the same or nearby indices in turn costs
+   * O(1) each.
    * @param index, the index of the node to get.
-   * @return returns the node at the given index from the list.
+   * @return returns the node at the given index from the list, or null if the index is not in the list.
    */
   private DLinkedNode<E> getNode(int index){
-    DLinkedNode<E> node = head;
-    for(int i = 0; i < index && node != null; i++){
+    if(index < 0 || index >= size){
+      return null;
+    }
+    DLinkedNode<E> node;
+    int i;
+    if(index < size - 1 - index){
+      node = head;
+      i = 0;
+    }
+    else{
+      node = tail;
+      i = size - 1;
+    }
+    if(finger != null && Math.abs(index - fingerIndex) < Math.abs(index - i)){
+      node = finger;
+      i = fingerIndex;
+    }
+    for(; i < index; i++){
       node = node.next;
     }
+    for(; i > index; i--){
+      node = node.prev;
+    }
+    finger = node;
+    fingerIndex = index;
     return node;
   }
 
@@ -249,14 +592,14 @@ public class LinkedList<E> implements Iterable<E>{
     }
     if(index == 0){
       addFirst(element);
+      finger = head;
     }
     else{
       DLinkedNode<E> node = getNode(index - 1);
       addAfter(node, element);
+      finger = node.next;
     }
-    if(index == size - 1){
-      tail = getNode(index);
-    }
+    fingerIndex = index;
   }
   /**
    * Gets an element from the list.
@@ -283,7 +626,18 @@ public class LinkedList<E> implements Iterable<E>{
       throw new IndexOutOfBoundsException();
     }
     DLinkedNode<E> node = getNode(index);
-    return remove(node);
+    DLinkedNode<E> next = node.next;
+    DLinkedNode<E> prev = node.prev;
+    E removed = remove(node);
+    if(next != null){
+      finger = next;
+      fingerIndex = index;
+    }
+    else if(prev != null){
+      finger = prev;
+      fingerIndex = index - 1;
+    }
+    return removed;
   }
 
   /**
@@ -311,6 +665,103 @@ public class LinkedList<E> implements Iterable<E>{
     return size;
   }
 
+  /**
+   * Adds an element to the list in the head position of the list.
+   * @param entry, the data to store in the list.
+   * @return returns a handle to the node holding the element.
+   */
+  public Handle<E> addFirstNode(E entry){
+    addFirst(entry);
+    return head;
+  }
+
+  /**
+   * Adds an element to the list in the tail position of the list.
+   * @param entry, the data to store in the list.
+   * @return returns a handle to the node holding the element.
+   */
+  public Handle<E> addLastNode(E entry){
+    if(tail == null){
+      addFirst(entry);
+    }
+    else{
+      addAfter(tail, entry);
+    }
+    return tail;
+  }
+
+  /**
+   * Gets a handle to the node in the head position of the list.
+   * @return returns a handle to the first node, or null if the list is empty.
+   */
+  public Handle<E> firstNode(){
+    return head;
+  }
+
+  /**
+   * Gets a handle to the node in the tail position of the list.
+   * @return returns a handle to the last node, or null if the list is empty.
+   */
+  public Handle<E> lastNode(){
+    return tail;
+  }
+
+  /**
+   * Removes a node from the list in O(1).
+   * @param handle, a handle to the node to remove.
+   * @return returns the data from the removed node.
+   * @exception throws IllegalArgumentException if the handle is not to a node in this list.
+   */
+  public E removeNode(Handle<E> handle){
+    return remove(checkHandle(handle));
+  }
+
+  /**
+   * Moves a node to the head position of the list in O(1).
+   * @param handle, a handle to the node to move.
+   * @exception throws IllegalArgumentException if the handle is not to a node in this list.
+   */
+  public void moveToFront(Handle<E> handle){
+    DLinkedNode<E> node = checkHandle(handle);
+    if(node != head){
+      remove(node);
+      linkFirst(node);
+    }
+  }
+
+  /**
+   * Moves a node to the tail position of the list in O(1).
+   * @param handle, a handle to the node to move.
+   * @exception throws IllegalArgumentException if the handle is not to a node in this list.
+   */
+  public void moveToBack(Handle<E> handle){
+    DLinkedNode<E> node = checkHandle(handle);
+    if(node != tail){
+      remove(node);
+      linkAfter(tail, node);
+    }
+  }
+
+  /**
+   * Checks that a handle is to a node that is currently in this list. A node is in the list if it was created by the
+   * list and the node before it, or the head if it has none, still links to it. A removed node has both links cleared,
+   * so unless it is the head it is stale.
+   * @param handle, the handle to check.
+   * @return returns the node the handle refers to.
+   * @exception throws IllegalArgumentException if the handle is not to a node in this list.
+   */
+  @SuppressWarnings("unchecked")
+  private DLinkedNode<E> checkHandle(Handle<E> handle){
+    if(handle instanceof LinkedList<?>.DLinkedNode<?>){
+      DLinkedNode<E> node = (DLinkedNode<E>) handle;
+      boolean unlinked = node.prev == null && node.next == null && head != node;
+      if(node.list() == this && !unlinked && (node.prev == null ? head == node : node.prev.next == node)){
+        return node;
+      }
+    }
+    throw new IllegalArgumentException("The handle is not to a node in this list");
+  }
+
   /**
    * Sorts the list using an insertion algorithm.
    * @param compare, the comparator to compare the data by.
@@ -367,12 +818,162 @@ public class LinkedList<E> implements Iterable<E>{
     }
   }
 
+  /**
+   * Sorts the list using a bottom-up merge sort that relinks the existing nodes instead of moving their data, so no
+   * nodes or buffers are allocated. It takes O(n log n) comparisons and is stable.
+   * @param compare, the comparator to compare the data by.
+   */
+  public void sort(Comparator<? super E> compare){
+    relink(mergeSort(head, compare));
+  }
+
+  /**
+   * Sorts the list on the common ForkJoinPool by splitting it into halves, sorting them in parallel with the merge sort
+   * used by sort, and merging the sorted halves. It relinks the existing nodes and is stable.
+   * @param compare, the comparator to compare the data by.
+   */
+  public void parallelSort(Comparator<? super E> compare){
+    if(size > 1){
+      relink(ForkJoinPool.commonPool().invoke(new SortTask(head, size, compare)));
+    }
+  }
+
+  /**
+   * Sorts a chain of nodes by next links with a bottom-up merge sort. Nodes are taken one at a time and carried
+   * through a binary counter of sorted runs, where slot i holds a run of 2^i nodes, so each merge works on nodes that
+   * were touched recently. The prev links are left stale.
+   * @param list, the first node of the chain, whose last node's next is null.
+   * @param compare, the comparator to compare the data by.
+   * @return returns the first node of the sorted chain.
+   */
+  private DLinkedNode<E> mergeSort(DLinkedNode<E> list, Comparator<? super E> compare){
+    @SuppressWarnings("unchecked")
+    DLinkedNode<E>[] runs = (DLinkedNode<E>[]) new LinkedList<?>.DLinkedNode<?>[Integer.SIZE];
+    while(list != null){
+      DLinkedNode<E> carry = list;
+      list = list.next;
+      carry.next = null;
+      int i = 0;
+      for(; runs[i] != null; i++){
+        carry = merge(runs[i], carry, compare);
+        runs[i] = null;
+      }
+      runs[i] = carry;
+    }
+    DLinkedNode<E> sorted = null;
+    for(DLinkedNode<E> run : runs){
+      if(run != null){
+        sorted = merge(run, sorted, compare);
+      }
+    }
+    return sorted;
+  }
+
+  /**
+   * Merges two sorted chains of nodes by next links, taking from the first chain on ties so the merge is stable.
+   * @param left, the first node of the first chain.
+   * @param right, the first node of the second chain.
+   * @param compare, the comparator to compare the data by.
+   * @return returns the first node of the merged chain.
+   */
+  private DLinkedNode<E> merge(DLinkedNode<E> left, DLinkedNode<E> right, Comparator<? super E> compare){
+    DLinkedNode<E> first = null;
+    DLinkedNode<E> last = null;
+    while(left != null && right != null){
+      DLinkedNode<E> taken;
+      if(compare.compare(left.data, right.data) <= 0){
+        taken = left;
+        left = left.next;
+      }
+      else{
+        taken = right;
+        right = right.next;
+      }
+      if(last == null){
+        first = taken;
+      }
+      else{
+        last.next = taken;
+      }
+      last = taken;
+    }
+    DLinkedNode<E> rest = (left != null) ? left : right;
+    if(last == null){
+      return rest;
+    }
+    last.next = rest;
+    return first;
+  }
+
+  /**
+   * Makes a sorted chain of nodes the list, restoring the prev links and the head and tail.
+   * @param first, the first node of the chain.
+   */
+  private void relink(DLinkedNode<E> first){
+    DLinkedNode<E> prev = null;
+    for(DLinkedNode<E> node = first; node != null; node = node.next){
+      node.prev = prev;
+      prev = node;
+    }
+    head = first;
+    tail = prev;
+    modCount++;
+    finger = null;
+  }
+
+  /**
+   * Sends a Spliterator over the list that knows its exact size and splits off growing batches of elements.
+   * It binds to the list at its first use rather than here.
+   * @return returns a Spliterator for the list.
+   */
+  @Override
+  public Spliterator<E> spliterator() {
+    return new LinkedListSpliterator();
+  }
+
+  /**
+   * Sends a sequential Stream over the list.
+   * @return returns a Stream of the elements of the list.
+   */
+  public Stream<E> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  /**
+   * Sends a parallel Stream over the list.
+   * @return returns a possibly parallel Stream of the elements of the list.
+   */
+  public Stream<E> parallelStream() {
+    return StreamSupport.stream(spliterator(), true);
+  }
+
   /**
    * Sends a new iterator.
    * @return returns an iterator for the list.
    */
   @Override
   public Iterator<E> iterator() {
-    return new LinkedListIterator<E>();
+    return new LinkedListIterator();
+  }
+
+  /**
+   * Sends a new ListIterator positioned at the start of the list.
+   * @return returns a ListIterator for the list.
+   */
+  public LinkedListIterator listIterator() {
+    return new LinkedListIterator();
+  }
+
+  /**
+   * Sends a new ListIterator positioned before a given index.
+   * @param index, the index of the element a first call to next would return, or the size of the list to start at the end.
+   * @return returns a ListIterator for the list.
+   * @exception throws IndexOutOfBoundsException if the index is negative or greater than the size of the list.
+   */
+  public LinkedListIterator listIterator(int index) {
+    if(index < 0 || index > size){
+      throw new IndexOutOfBoundsException();
+    }
+    return new LinkedListIterator(getNode(index), index);
   }
 }
@@ -0,0 +1,450 @@
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * OffHeapArrayList, Defines an array based list that stores fixed width records outside of the Java heap.
+ * Elements are written into a direct ByteBuffer by a Codec, so the list adds no objects for the garbage collector to
+ * trace, and get can position a Flyweight on a record instead of decoding it. The buffer doubles in size when it is
+ * full, as ArrayList's data array does, and is freed by close. A direct ByteBuffer holds at most Integer.MAX_VALUE
+ * bytes, which limits the list to Integer.MAX_VALUE / width elements. Using a closed list, or a Flyweight positioned
+ * on it, throws an IllegalStateException.
+ * @author Nagoshi, Vincent
+ */
+public class OffHeapArrayList<E> implements Iterable<E>, AutoCloseable {
+
+  /**
+   * Codec, writes and reads elements as records of a fixed number of bytes.
+   * @author Nagoshi, Vincent
+   */
+  public interface Codec<E> {
+
+    /**
+     * Gets the number of bytes every record takes.
+     * @return returns the record width in bytes.
+     */
+    int width();
+
+    /**
+     * Writes an element as a record. The buffer is only valid for the duration of the call and must not be kept.
+     * @param element, the element to write.
+     * @param buffer, the buffer to write the record to, using absolute puts.
+     * @param offset, the index of the first byte of the record.
+     */
+    void write(E element, ByteBuffer buffer, int offset);
+
+    /**
+     * Reads a record back into a new element. The buffer is only valid for the duration of the call and must not be kept.
+     * @param buffer, the buffer to read the record from, using absolute gets.
+     * @param offset, the index of the first byte of the record.
+     * @return returns the element read.
+     */
+    E read(ByteBuffer buffer, int offset);
+  }
+
+  /**
+   * Flyweight, a reusable view that reads the fields of a record straight from the list's memory.
+   * A Flyweight is given the list and the offset of its record rather than the buffer, and reads fields through the
+   * list's getByte, getShort, getInt, getLong, getFloat and getDouble, so it keeps working after the list grows and
+   * throws an IllegalStateException once the list is closed instead of reading freed memory. It shows whatever record
+   * is at its offset, which changes when elements before it are added or removed.
+   * @author Nagoshi, Vincent
+   */
+  public interface Flyweight {
+
+    /**
+     * Positions the view on a record.
+     * @param list, the list holding the record.
+     * @param offset, the index of the first byte of the record.
+     */
+    void wrap(OffHeapArrayList<?> list, int offset);
+  }
+
+  /**
+   * OffHeapArrayListIterator, an iterator for the OffHeapArrayList that decodes each element as it is returned.
+   * @author Nagoshi, Vincent
+   */
+  private class OffHeapArrayListIterator implements Iterator<E> {
+    private int iteratorLocation;
+    private final int expectedModCount;
+
+    /**
+     * Default constructor
+     */
+    private OffHeapArrayListIterator(){
+      iteratorLocation = 0;
+      expectedModCount = modCount;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return iteratorLocation < size;
+    }
+
+    @Override
+    public E next() {
+      if(modCount != expectedModCount){
+        throw new ConcurrentModificationException();
+      }
+      if(iteratorLocation >= size){
+        throw new NoSuchElementException();
+      }
+      return codec.read(buffer(), offset(iteratorLocation++));
+    }
+  }
+
+  /** Frees a direct ByteBuffer's memory, or null if sun.misc.Unsafe is not available and freeing is left to the garbage collector. */
+  private static final MethodHandle INVOKE_CLEANER = invokeCleaner();
+
+  private final Codec<E> codec;
+  private final int width;
+  private ByteBuffer buffer;
+  private int capacity;
+  private int size;
+  private int modCount;
+
+  /**
+   * Constructor
+   * @param codec, the Codec to write and read the records with.
+   */
+  public OffHeapArrayList(Codec<E> codec){
+    this(codec, 10);
+  }
+
+  /**
+   * Constructor with a given initial capacity.
+   * @param codec, the Codec to write and read the records with.
+   * @param initialCapacity, the number of elements the list can hold before it first grows.
+   * @exception throws IllegalArgumentException if the initial capacity is negative, the record width is not positive,
+   * or the capacity does not fit in a direct ByteBuffer.
+   */
+  public OffHeapArrayList(Codec<E> codec, int initialCapacity){
+    if(codec.width() <= 0){
+      throw new IllegalArgumentException("width must be positive: " + codec.width());
+    }
+    if(initialCapacity < 0 || initialCapacity > Integer.MAX_VALUE / codec.width()){
+      throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+    }
+    this.codec = codec;
+    this.width = codec.width();
+    this.buffer = ByteBuffer.allocateDirect(initialCapacity * width).order(ByteOrder.nativeOrder());
+    this.capacity = initialCapacity;
+    this.size = 0;
+  }
+
+  /**
+   * Adds an element to the list as the last element in the list.
+   * @param e, the element to add to the list.
+   * @return returns true if the method was successful in adding the element. Only returns true.
+   */
+  public boolean add(E e) {
+    buffer();
+    if(capacity == size){
+      reallocate();
+    }
+    codec.write(e, buffer, offset(size));
+    size++;
+    modCount++;
+    return true;
+  }
+
+  /**
+   * Adds an element to the list at a given index within the list.
+   * @param index, the position (0 based) of the list to place the element, or the size of the list to add it last.
+   * @param element, the element to add to the list.
+   * @exception throws ArrayIndexOutOfBoundsException if the index is negative or greater than the size of the list.
+   */
+  public void add(int index, E element) {
+    buffer();
+    if(index < 0 || index > size){
+      throw new ArrayIndexOutOfBoundsException(index);
+    }
+    if(capacity == size){
+      reallocate();
+    }
+    ByteBuffer b = buffer;
+    b.put(offset(index + 1), b, offset(index), (size - index) * width);
+    codec.write(element, b, offset(index));
+    size++;
+    modCount++;
+  }
+
+  /**
+   * Gets a copy of the element at a specified index within the list.
+   * @param index, the index of the element to get.
+   * @return returns the element at the specified index within the list, decoded by the Codec.
+   * @exception throws ArrayIndexOutOfBoundsException if the index does not point to an element in the list.
+   */
+  public E get(int index) {
+    ByteBuffer b = buffer();
+    if(index < 0 || index >= size){
+      throw new ArrayIndexOutOfBoundsException(index);
+    }
+    return codec.read(b, offset(index));
+  }
+
+  /**
+   * Positions a Flyweight on the record at a specified index within the list, without copying or decoding it.
+   * @param index, the index of the record.
+   * @param flyweight, the Flyweight to position.
+   * @return returns the Flyweight.
+   * @exception throws ArrayIndexOutOfBoundsException if the index does not point to an element in the list.
+   */
+  public <F extends Flyweight> F get(int index, F flyweight) {
+    buffer();
+    if(index < 0 || index >= size){
+      throw new ArrayIndexOutOfBoundsException(index);
+    }
+    flyweight.wrap(this, offset(index));
+    return flyweight;
+  }
+
+  /**
+   * Removes an element from the list at a given index.
+   * @param index, the index to remove the element from.
+   * @return returns the removed element
+   * @exception throws ArrayIndexOutOfBoundsException if the index does not point to an element in the list.
+   */
+  public E remove(int index) {
+    ByteBuffer b = buffer();
+    if(index < 0 || index >= size){
+      throw new ArrayIndexOutOfBoundsException(index);
+    }
+    E removedElement = codec.read(b, offset(index));
+    b.put(offset(index), b, offset(index + 1), (size - index - 1) * width);
+    size--;
+    modCount++;
+    return removedElement;
+  }
+
+  /**
+   * Sets a given index of the list to a given element.
+   * @param index, the index of the list to set the element to.
+   * @param element, the element to write into the list.
+   * @return returns the element overwritten by the method.
+   * @exception throws ArrayIndexOutOfBoundsException if the index does not point to an element in the list.
+   */
+  public E set(int index, E element) {
+    ByteBuffer b = buffer();
+    if(index < 0 || index >= size){
+      throw new ArrayIndexOutOfBoundsException(index);
+    }
+    E replacedElement = codec.read(b, offset(index));
+    codec.write(element, b, offset(index));
+    return replacedElement;
+  }
+
+  /**
+   * Gets the size of the list.
+   * @return returns the size of the list.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Reads a byte of a record, for a Flyweight.
+   * @param offset, the index of the byte in the list's memory.
+   * @return returns the byte.
+   * @exception throws IllegalStateException if the list has been closed.
+   * @exception throws IndexOutOfBoundsException if the byte is not part of a record in the list.
+   */
+  public byte getByte(int offset) {
+    return buffer().get(checkOffset(offset, Byte.BYTES));
+  }
+
+  /**
+   * Reads a short of a record in native byte order, for a Flyweight.
+   * @param offset, the index of the first byte of the short in the list's memory.
+   * @return returns the short.
+   * @exception throws IllegalStateException if the list has been closed.
+   * @exception throws IndexOutOfBoundsException if the short is not part of a record in the list.
+   */
+  public short getShort(int offset) {
+    return buffer().getShort(checkOffset(offset, Short.BYTES));
+  }
+
+  /**
+   * Reads an int of a record in native byte order, for a Flyweight.
+   * @param offset, the index of the first byte of the int in the list's memory.
+   * @return returns the int.
+   * @exception throws IllegalStateException if the list has been closed.
+   * @exception throws IndexOutOfBoundsException if the int is not part of a record in the list.
+   */
+  public int getInt(int offset) {
+    return buffer().getInt(checkOffset(offset, Integer.BYTES));
+  }
+
+  /**
+   * Reads a long of a record in native byte order, for a Flyweight.
+   * @param offset, the index of the first byte of the long in the list's memory.
+   * @return returns the long.
+   * @exception throws IllegalStateException if the list has been closed.
+   * @exception throws IndexOutOfBoundsException if the long is not part of a record in the list.
+   */
+  public long getLong(int offset) {
+    return buffer().getLong(checkOffset(offset, Long.BYTES));
+  }
+
+  /**
+   * Reads a float of a record in native byte order, for a Flyweight.
+   * @param offset, the index of the first byte of the float in the list's memory.
+   * @return returns the float.
+   * @exception throws IllegalStateException if the list has been closed.
+   * @exception throws IndexOutOfBoundsException if the float is not part of a record in the list.
+   */
+  public float getFloat(int offset) {
+    return buffer().getFloat(checkOffset(offset, Float.BYTES));
+  }
+
+  /**
+   * Reads a double of a record in native byte order, for a Flyweight.
+   * @param offset, the index of the first byte of the double in the list's memory.
+   * @return returns the double.
+   * @exception throws IllegalStateException if the list has been closed.
+   * @exception throws IndexOutOfBoundsException if the double is not part of a record in the list.
+   */
+  public double getDouble(int offset) {
+    return buffer().getDouble(checkOffset(offset, Double.BYTES));
+  }
+
+  /**
+   * Makes sure the buffer can hold a given number of elements without growing again.
+   * @param minCapacity, the number of elements the list should be able to hold.
+   * @exception throws OutOfMemoryError if that many records do not fit in a direct ByteBuffer.
+   */
+  public void ensureCapacity(int minCapacity){
+    if(minCapacity > capacity){
+      grow(minCapacity);
+    }
+  }
+
+  /**
+   * Adds more space to the buffer
+   */
+  private void reallocate(){
+    grow(size + 1);
+  }
+
+  /**
+   * Moves the records into a new buffer of at least a given capacity, doubling the capacity if that is larger.
+   * The old buffer is freed straight away, since Flyweights read through the list and Codecs do not keep buffers.
+   * @param minCapacity, the smallest capacity needed.
+   * @exception throws OutOfMemoryError if that many records do not fit in a direct ByteBuffer.
+   */
+  private void grow(int minCapacity){
+    int maxCapacity = Integer.MAX_VALUE / width;
+    if(minCapacity < 0 || minCapacity > maxCapacity){
+      throw new OutOfMemoryError("An OffHeapArrayList of " + width + " byte records holds at most " + maxCapacity + " elements");
+    }
+    int newCapacity = (int) Math.min(Math.max((long) capacity * 2, minCapacity), maxCapacity);
+    ByteBuffer old = buffer();
+    ByteBuffer grown = ByteBuffer.allocateDirect(newCapacity * width).order(ByteOrder.nativeOrder());
+    grown.put(0, old, 0, size * width);
+    buffer = grown;
+    capacity = newCapacity;
+    free(old);
+  }
+
+  /**
+   * Frees the buffer. The list cannot be used afterwards, and a Flyweight positioned on it throws an
+   * IllegalStateException when it reads. Closing a list that is already closed does nothing.
+   */
+  @Override
+  public void close() {
+    ByteBuffer b = buffer;
+    if(b == null){
+      return;
+    }
+    buffer = null;
+    size = 0;
+    capacity = 0;
+    modCount++;
+    free(b);
+  }
+
+  /**
+   * Sends a new iterator that decodes each element as it is returned.
+   * @return returns an iterator for the list.
+   */
+  @Override
+  public Iterator<E> iterator() {
+    return new OffHeapArrayListIterator();
+  }
+
+  /**
+   * Gets the buffer of an open list.
+   * @return returns the buffer.
+   * @exception throws IllegalStateException if the list has been closed.
+   */
+  private ByteBuffer buffer(){
+    ByteBuffer b = buffer;
+    if(b == null){
+      throw new IllegalStateException("The list has been closed");
+    }
+    return b;
+  }
+
+  /**
+   * Gets the index of the first byte of a record.
+   * @param index, the index of the record.
+   * @return returns the byte offset of the record.
+   */
+  private int offset(int index){
+    return index * width;
+  }
+
+  /**
+   * Checks that a field lies within the records of the list.
+   * @param offset, the index of the first byte of the field.
+   * @param length, the number of bytes in the field.
+   * @return returns the offset.
+   * @exception throws IndexOutOfBoundsException if the field is not part of a record in the list.
+   */
+  private int checkOffset(int offset, int length){
+    if(offset < 0 || offset > size * width - length){
+      throw new IndexOutOfBoundsException("offset " + offset + " is outside of the list's records");
+    }
+    return offset;
+  }
+
+  /**
+   * Frees a direct ByteBuffer's memory straight away, or leaves it to the garbage collector if sun.misc.Unsafe is not
+   * available.
+   * @param b, the buffer to free, which must not be used afterwards.
+   */
+  private static void free(ByteBuffer b){
+    if(INVOKE_CLEANER != null){
+      try {
+        INVOKE_CLEANER.invokeExact(b);
+      }
+      catch (Throwable t) {
+        // The buffer is freed by the garbage collector instead.
+      }
+    }
+  }
+
+  /**
+   * Looks up sun.misc.Unsafe.invokeCleaner, which frees a direct ByteBuffer immediately.
+   * @return returns a handle taking the ByteBuffer to free, or null if it is not available.
+   */
+  private static MethodHandle invokeCleaner(){
+    try {
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      return MethodHandles.lookup()
+          .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+          .bindTo(theUnsafe.get(null));
+    }
+    catch (ReflectiveOperationException | RuntimeException e) {
+      return null;
+    }
+  }
+}
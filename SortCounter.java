@@ -0,0 +1,41 @@
+/**
+ * SortCounter, holds the statistics of a single sort while it runs.
+ * A SortCounter is only ever updated by one thread; parallel sorts give each task its own and add them together.
+ * @author Nagoshi, Vincent
+ */
+final class SortCounter {
+  /** The number of comparisons made. */
+  long comparisons;
+  /** The number of swaps and element moves made. */
+  long swaps;
+  /** The System.nanoTime() at which the sort started. */
+  final long startTime;
+
+  /**
+   * Default constructor, records the current time as the start of the sort.
+   */
+  SortCounter() {
+    startTime = System.nanoTime();
+  }
+
+  /**
+   * Creates a counter for a subtask of a sort.
+   * @param parent, the counter of the parent task, or null if statistics are turned off.
+   * @return returns a new SortCounter, or null if parent is null.
+   */
+  static SortCounter child(SortCounter parent) {
+    return parent == null ? null : new SortCounter();
+  }
+
+  /**
+   * Adds the counts of a finished subtask to its parent.
+   * @param parent, the counter of the parent task, or null.
+   * @param child, the counter of the finished subtask, or null.
+   */
+  static void add(SortCounter parent, SortCounter child) {
+    if (parent != null && child != null) {
+      parent.comparisons += child.comparisons;
+      parent.swaps += child.swaps;
+    }
+  }
+}
@@ -0,0 +1,191 @@
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * SortHistogram, a SortListener that records the statistics of each sorting algorithm as power-of-two histograms.
+ * Bucket 0 counts sorts whose value was 0, and bucket i counts sorts whose value was in [2^(i - 1), 2^i).
+ * Recording is lock-free and does not allocate once an algorithm has been seen.
+ * @author Nagoshi, Vincent
+ */
+public class SortHistogram implements SortListener {
+  /** The number of buckets in each histogram, enough for any non-negative long. */
+  public static final int BUCKETS = 64;
+
+  /**
+   * Defines the histograms recorded for one algorithm.
+   */
+  private static class Histograms {
+    private final AtomicLongArray lengths = new AtomicLongArray(BUCKETS);
+    private final AtomicLongArray comparisons = new AtomicLongArray(BUCKETS);
+    private final AtomicLongArray swaps = new AtomicLongArray(BUCKETS);
+    private final AtomicLongArray nanoseconds = new AtomicLongArray(BUCKETS);
+    private final AtomicLongArray keyExtractions = new AtomicLongArray(BUCKETS);
+  }
+
+  private final Map<String, Histograms> histograms = new ConcurrentHashMap<String, Histograms>();
+
+  /**
+   * Records the statistics of a finished sort.
+   * @param algorithm, the name of the sorting algorithm.
+   * @param length, the number of elements sorted.
+   * @param comparisons, the number of comparisons made.
+   * @param swaps, the number of swaps and element moves made.
+   * @param nanoseconds, the time taken by the sort in nanoseconds.
+   */
+  @Override
+  public void sortCompleted(String algorithm, int length, long comparisons, long swaps, long nanoseconds) {
+    Histograms h = histograms.computeIfAbsent(algorithm, k -> new Histograms());
+    h.lengths.incrementAndGet(bucket(length));
+    h.comparisons.incrementAndGet(bucket(comparisons));
+    h.swaps.incrementAndGet(bucket(swaps));
+    h.nanoseconds.incrementAndGet(bucket(nanoseconds));
+  }
+
+  /**
+   * Records the number of keys extracted by a key-extracting sort.
+   * @param algorithm, the name of the sorting algorithm.
+   * @param extractions, the number of keys extracted.
+   */
+  @Override
+  public void keysExtracted(String algorithm, long extractions) {
+    histograms.computeIfAbsent(algorithm, k -> new Histograms()).keyExtractions.incrementAndGet(bucket(extractions));
+  }
+
+  /**
+   * Gets the number of sorts recorded for an algorithm.
+   * @param algorithm, the name of the sorting algorithm.
+   * @return returns the number of sorts recorded.
+   */
+  public long getCount(String algorithm) {
+    long[] buckets = getLengths(algorithm);
+    long count = 0;
+    for (long b : buckets) {
+      count += b;
+    }
+    return count;
+  }
+
+  /**
+   * Gets the histogram of array lengths sorted by an algorithm.
+   * @param algorithm, the name of the sorting algorithm.
+   * @return returns a copy of the histogram buckets.
+   */
+  public long[] getLengths(String algorithm) {
+    Histograms h = histograms.get(algorithm);
+    return h == null ? new long[BUCKETS] : toArray(h.lengths);
+  }
+
+  /**
+   * Gets the histogram of comparisons made by an algorithm.
+   * @param algorithm, the name of the sorting algorithm.
+   * @return returns a copy of the histogram buckets.
+   */
+  public long[] getComparisons(String algorithm) {
+    Histograms h = histograms.get(algorithm);
+    return h == null ? new long[BUCKETS] : toArray(h.comparisons);
+  }
+
+  /**
+   * Gets the histogram of swaps made by an algorithm.
+   * @param algorithm, the name of the sorting algorithm.
+   * @return returns a copy of the histogram buckets.
+   */
+  public long[] getSwaps(String algorithm) {
+    Histograms h = histograms.get(algorithm);
+    return h == null ? new long[BUCKETS] : toArray(h.swaps);
+  }
+
+  /**
+   * Gets the histogram of the time taken by an algorithm.
+   * @param algorithm, the name of the sorting algorithm.
+   * @return returns a copy of the histogram buckets, in nanoseconds.
+   */
+  public long[] getNanoseconds(String algorithm) {
+    Histograms h = histograms.get(algorithm);
+    return h == null ? new long[BUCKETS] : toArray(h.nanoseconds);
+  }
+
+  /**
+   * Gets the histogram of keys extracted by a key-extracting algorithm.
+   * @param algorithm, the name of the sorting algorithm.
+   * @return returns a copy of the histogram buckets.
+   */
+  public long[] getKeyExtractions(String algorithm) {
+    Histograms h = histograms.get(algorithm);
+    return h == null ? new long[BUCKETS] : toArray(h.keyExtractions);
+  }
+
+  /**
+   * Removes every recorded statistic.
+   */
+  public void reset() {
+    histograms.clear();
+  }
+
+  /**
+   * Gets the lowest value counted by a bucket.
+   * @param bucket, the index of the bucket.
+   * @return returns the inclusive lower bound of the bucket.
+   */
+  public static long lowerBound(int bucket) {
+    return bucket == 0 ? 0 : 1L << (bucket - 1);
+  }
+
+  /**
+   * Convert's the non-empty buckets of every histogram into a String.
+   * @return the histograms as a String.
+   */
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    for (Map.Entry<String, Histograms> e : histograms.entrySet()) {
+      sb.append(e.getKey()).append(":\n");
+      append(sb, "length", e.getValue().lengths);
+      append(sb, "comparisons", e.getValue().comparisons);
+      append(sb, "swaps", e.getValue().swaps);
+      append(sb, "nanoseconds", e.getValue().nanoseconds);
+      append(sb, "keyExtractions", e.getValue().keyExtractions);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Appends the non-empty buckets of a histogram to a StringBuilder.
+   * @param sb, the StringBuilder to append to.
+   * @param name, the name of the histogram.
+   * @param buckets, the histogram buckets.
+   */
+  private static void append(StringBuilder sb, String name, AtomicLongArray buckets) {
+    sb.append("  ").append(name).append(':');
+    for (int i = 0; i < BUCKETS; i++) {
+      long count = buckets.get(i);
+      if (count != 0) {
+        sb.append(" [>=").append(lowerBound(i)).append("]=").append(count);
+      }
+    }
+    sb.append('\n');
+  }
+
+  /**
+   * Determines the bucket a value is counted in.
+   * @param value, a non-negative value.
+   * @return returns the index of the bucket.
+   */
+  private static int bucket(long value) {
+    return value <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(value);
+  }
+
+  /**
+   * Copies histogram buckets into an Array.
+   * @param buckets, the histogram buckets.
+   * @return returns the buckets as an Array.
+   */
+  private static long[] toArray(AtomicLongArray buckets) {
+    long[] result = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      result[i] = buckets.get(i);
+    }
+    return result;
+  }
+}
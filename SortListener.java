@@ -0,0 +1,41 @@
+/**
+ * SortListener, receives the statistics of each sort run by an ArraySort.
+ * Statistics are passed as primitives so that reporting them does not allocate.
+ * @author Nagoshi, Vincent
+ */
+@FunctionalInterface
+public interface SortListener {
+
+  /** Prints the statistics of each sort to standard output. */
+  SortListener CONSOLE = new SortListener() {
+    @Override
+    public void sortCompleted(String algorithm, int length, long comparisons, long swaps, long nanoseconds) {
+      System.out.println(algorithm + " took " + nanoseconds + " nanoseconds to sort the array.");
+      System.out.println("Number of comparisons: " + comparisons + "; Number of swaps: " + swaps + "; Size of Array: " + length);
+    }
+
+    @Override
+    public void keysExtracted(String algorithm, long extractions) {
+      System.out.println(algorithm + " extracted " + extractions + " keys.");
+    }
+  };
+
+  /**
+   * Called once a sort has finished.
+   * @param algorithm, the name of the sorting algorithm.
+   * @param length, the number of elements sorted.
+   * @param comparisons, the number of comparisons made.
+   * @param swaps, the number of swaps and element moves made.
+   * @param nanoseconds, the time taken by the sort in nanoseconds.
+   */
+  void sortCompleted(String algorithm, int length, long comparisons, long swaps, long nanoseconds);
+
+  /**
+   * Called by the key-extracting sorts before sortCompleted, with the number of times the key function was called.
+   * Does nothing unless overridden.
+   * @param algorithm, the name of the sorting algorithm.
+   * @param extractions, the number of keys extracted.
+   */
+  default void keysExtracted(String algorithm, long extractions) {
+  }
+}
@@ -0,0 +1,606 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * UnrolledLinkedList, defines a double linked list whose nodes each hold a small Array of elements.
+ * Walking the list touches one node per CHUNK_CAPACITY elements, so iteration reads mostly contiguous memory and the
+ * list allocates a fraction of the objects a LinkedList does. A full node is split in two to make room for an insert,
+ * except at the end of the list where a new node is started, so a list built by appending stays densely packed. A node
+ * that drops below half full after a remove takes elements from the next node, or merges with it when both fit in
+ * one node, so every node but the last stays at least half full.
+ * @author Nagoshi, Vincent
+ */
+public class UnrolledLinkedList<E> implements Iterable<E> {
+
+  /** The number of elements a node holds. */
+  private static final int CHUNK_CAPACITY = 64;
+
+  /**
+   * UnrolledLinkedListIterator, an iterator for the UnrolledLinkedList that steps through each node's Array.
+   * It is fail-fast: once the list changes other than through the iterator, the next call to next, remove or
+   * forEachRemaining throws a ConcurrentModificationException.
+   * @author Nagoshi, Vincent
+   */
+  private class UnrolledLinkedListIterator implements Iterator<E> {
+    /** The node holding the next element, or null if the list is empty. */
+    private Chunk chunk;
+    /** The position of the next element within the node. */
+    private int offset;
+    private int nextIndex;
+    private int lastReturned;
+    private int expectedModCount;
+
+    /**
+     * Default constructor
+     */
+    private UnrolledLinkedListIterator(){
+      chunk = head;
+      offset = 0;
+      nextIndex = 0;
+      lastReturned = -1;
+      expectedModCount = modCount;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return nextIndex < size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E next() {
+      checkForComodification();
+      if(nextIndex >= size){
+        throw new NoSuchElementException();
+      }
+      while(offset >= chunk.count){
+        chunk = chunk.next;
+        offset = 0;
+      }
+      lastReturned = nextIndex++;
+      return (E) chunk.elements[offset++];
+    }
+
+    /**
+     * Removes the element last returned by next from the list.
+     * @throws throws IllegalStateException if next has not returned an element since the last remove.
+     * @throws throws ConcurrentModificationException if the list was changed since the iterator was created.
+     */
+    @Override
+    public void remove() {
+      checkForComodification();
+      if(lastReturned < 0){
+        throw new IllegalStateException();
+      }
+      UnrolledLinkedList.this.remove(lastReturned);
+      nextIndex = lastReturned;
+      lastReturned = -1;
+      expectedModCount = modCount;
+      if(nextIndex < size){
+        chunk = findChunk(nextIndex);
+        offset = nextIndex - fingerStart;
+      }
+      else{
+        chunk = tail;
+        offset = (chunk == null) ? 0 : chunk.count;
+      }
+    }
+
+    /**
+     * Performs an action on every element the iterator has not yet passed, one node's Array at a time.
+     * @param action, the action to perform on each element.
+     * @throws throws ConcurrentModificationException if the list was changed since the iterator was created.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachRemaining(Consumer<? super E> action) {
+      checkForComodification();
+      for(; chunk != null && modCount == expectedModCount; chunk = chunk.next, offset = 0){
+        Object[] elements = chunk.elements;
+        int count = chunk.count;
+        for(; offset < count; offset++){
+          lastReturned = nextIndex++;
+          action.accept((E) elements[offset]);
+        }
+        if(chunk.next == null){
+          break;
+        }
+      }
+      checkForComodification();
+    }
+
+    /**
+     * Checks that the list has not changed other than through this iterator.
+     * @throws throws ConcurrentModificationException if the list was changed.
+     */
+    private void checkForComodification() {
+      if(modCount != expectedModCount){
+        throw new ConcurrentModificationException();
+      }
+    }
+  }
+
+  /**
+   * UnrolledLinkedListSpliterator, a Spliterator that walks the list one node's Array at a time.
+   * It binds to the list on first use rather than when it is created, and is fail-fast: once the list changes after
+   * it binds, the next call throws a ConcurrentModificationException. It splits on node boundaries, handing off the
+   * nodes that cover the first half of its elements without copying them.
+   * @author Nagoshi, Vincent
+   */
+  private class UnrolledLinkedListSpliterator implements Spliterator<E> {
+    /** The node holding the next element. */
+    private Chunk chunk;
+    /** The position of the next element within the node. */
+    private int offset;
+    /** The number of elements left, or -1 until the Spliterator binds to the list. */
+    private int remaining;
+    private int expectedModCount;
+
+    /**
+     * Constructor
+     * @param chunk, the node holding the first element.
+     * @param offset, the position of the first element within the node.
+     * @param remaining, the number of elements to cover, or -1 to bind to the whole list on first use.
+     * @param expectedModCount, the modCount the elements were taken at, if remaining is not -1.
+     */
+    private UnrolledLinkedListSpliterator(Chunk chunk, int offset, int remaining, int expectedModCount){
+      this.chunk = chunk;
+      this.offset = offset;
+      this.remaining = remaining;
+      this.expectedModCount = expectedModCount;
+    }
+
+    /**
+     * Gets the number of elements left, binding the Spliterator to the current head, size and modCount of the list on
+     * first use.
+     * @return returns the number of elements left.
+     */
+    private int getRemaining(){
+      if(remaining < 0){
+        chunk = head;
+        offset = 0;
+        remaining = size;
+        expectedModCount = modCount;
+      }
+      return remaining;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean tryAdvance(Consumer<? super E> action) {
+      if(getRemaining() <= 0){
+        return false;
+      }
+      checkForComodification();
+      while(offset >= chunk.count){
+        chunk = chunk.next;
+        offset = 0;
+      }
+      E entry = (E) chunk.elements[offset++];
+      remaining--;
+      action.accept(entry);
+      checkForComodification();
+      return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachRemaining(Consumer<? super E> action) {
+      int n = getRemaining();
+      checkForComodification();
+      Chunk node = chunk;
+      int start = offset;
+      chunk = null;
+      remaining = 0;
+      for(; n > 0 && node != null && modCount == expectedModCount; node = node.next, start = 0){
+        Object[] elements = node.elements;
+        int end = Math.min(node.count, start + n);
+        for(int i = start; i < end; i++){
+          action.accept((E) elements[i]);
+        }
+        n -= end - start;
+      }
+      if(n > 0 || modCount != expectedModCount){
+        throw new ConcurrentModificationException();
+      }
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+      int n = getRemaining();
+      if(n <= 1){
+        return null;
+      }
+      checkForComodification();
+      Chunk last = chunk;
+      int taken = last.count - offset;
+      while(taken < n / 2){
+        last = last.next;
+        taken += last.count;
+      }
+      if(taken >= n){
+        return null;
+      }
+      UnrolledLinkedListSpliterator prefix = new UnrolledLinkedListSpliterator(chunk, offset, taken, expectedModCount);
+      chunk = last.next;
+      offset = 0;
+      remaining = n - taken;
+      return prefix;
+    }
+
+    /**
+     * Checks that no elements have been added to or removed from the list since the Spliterator bound to it.
+     * @throws throws ConcurrentModificationException if the list was changed.
+     */
+    private void checkForComodification() {
+      if(modCount != expectedModCount){
+        throw new ConcurrentModificationException();
+      }
+    }
+
+    @Override
+    public long estimateSize() {
+      return getRemaining();
+    }
+
+    @Override
+    public int characteristics() {
+      return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+    }
+  }
+
+  /**
+   * Chunk, defines a double linked node holding up to CHUNK_CAPACITY elements in an Array.
+   * @author Nagoshi, Vincent
+   */
+  private class Chunk {
+    final Object[] elements;
+    int count;
+    Chunk next;
+    Chunk prev;
+
+    /**
+     * Default Constructor, creates an empty node.
+     */
+    private Chunk(){
+      this.elements = new Object[CHUNK_CAPACITY];
+      this.count = 0;
+      this.next = null;
+      this.prev = null;
+    }
+  }
+
+  /** The first node in the list. */
+  private Chunk head;
+  /** The last node in the list. */
+  private Chunk tail;
+  /** The size of the list. */
+  private int size;
+  /** The number of times elements have been added to or removed from the list, checked by iterators to fail fast. */
+  private int modCount;
+  /** The node found by the last lookup by index, or null once nodes have been split, merged or removed since. */
+  private Chunk finger;
+  /** The index of the first element of the finger. */
+  private int fingerStart;
+
+  /**
+   * Default Constructor
+   */
+  public UnrolledLinkedList(){
+    this.head = null;
+    this.tail = null;
+    this.size = 0;
+  }
+
+  /**
+   * Adds an element to the list as the last element in the list, starting a new node when the last one is full.
+   * @param entry, the data to store in the list.
+   * @return returns true.
+   */
+  public boolean add(E entry){
+    if(tail == null || tail.count == CHUNK_CAPACITY){
+      linkAfter(tail, new Chunk());
+    }
+    tail.elements[tail.count++] = entry;
+    size++;
+    modCount++;
+    return true;
+  }
+
+  /**
+   * Adds an element to the list at a given index, splitting the node that holds the index if it is full.
+   * @param index, the index to place the element at.
+   * @param element, the data to store in the list.
+   * @exception throws IndexOutOfBoundsException if the index is negative or greater than the size of the list.
+   */
+  public void add(int index, E element) {
+    if(index < 0 || index > size){
+      throw new IndexOutOfBoundsException();
+    }
+    if(index == size){
+      add(element);
+      return;
+    }
+    Chunk chunk = findChunk(index);
+    int start = fingerStart;
+    int offset = index - start;
+    if(chunk.count == CHUNK_CAPACITY){
+      Chunk upper = new Chunk();
+      int half = CHUNK_CAPACITY / 2;
+      System.arraycopy(chunk.elements, half, upper.elements, 0, CHUNK_CAPACITY - half);
+      Arrays.fill(chunk.elements, half, CHUNK_CAPACITY, null);
+      upper.count = CHUNK_CAPACITY - half;
+      chunk.count = half;
+      linkAfter(chunk, upper);
+      if(offset > half){
+        chunk = upper;
+        start += half;
+        offset -= half;
+      }
+    }
+    System.arraycopy(chunk.elements, offset, chunk.elements, offset + 1, chunk.count - offset);
+    chunk.elements[offset] = element;
+    chunk.count++;
+    size++;
+    modCount++;
+    finger = chunk;
+    fingerStart = start;
+  }
+
+  /**
+   * Gets an element from the list.
+   * @param index, the index of the element to get from the list.
+   * @return, returns the data from the given index of the list.
+   * @exception throws IndexOutOfBoundsException if the index does not point to an object in the list.
+   */
+  @SuppressWarnings("unchecked")
+  public E get(int index) {
+    if(index < 0 || index >= size){
+      throw new IndexOutOfBoundsException();
+    }
+    Chunk chunk = findChunk(index);
+    return (E) chunk.elements[index - fingerStart];
+  }
+
+  /**
+   * Removes an element at a given index from the list, refilling or merging its node if it drops below half full.
+   * @param index, the index of the element to remove from the list.
+   * @return returns the data from the removed index.
+   * @exception throws IndexOutOfBoundsException if the index does not point to an object in the list.
+   */
+  @SuppressWarnings("unchecked")
+  public E remove(int index) {
+    if(index < 0 || index >= size){
+      throw new IndexOutOfBoundsException();
+    }
+    Chunk chunk = findChunk(index);
+    int start = fingerStart;
+    int offset = index - start;
+    E removed = (E) chunk.elements[offset];
+    System.arraycopy(chunk.elements, offset + 1, chunk.elements, offset, chunk.count - offset - 1);
+    chunk.elements[--chunk.count] = null;
+    size--;
+    modCount++;
+    Chunk next = chunk.next;
+    if(chunk.count < CHUNK_CAPACITY / 2 && next != null){
+      if(chunk.count + next.count <= CHUNK_CAPACITY){
+        System.arraycopy(next.elements, 0, chunk.elements, chunk.count, next.count);
+        chunk.count += next.count;
+        unlink(next);
+      }
+      else{
+        int moved = CHUNK_CAPACITY / 2 - chunk.count;
+        System.arraycopy(next.elements, 0, chunk.elements, chunk.count, moved);
+        System.arraycopy(next.elements, moved, next.elements, 0, next.count - moved);
+        Arrays.fill(next.elements, next.count - moved, next.count, null);
+        chunk.count += moved;
+        next.count -= moved;
+      }
+    }
+    if(chunk.count == 0){
+      unlink(chunk);
+      finger = null;
+    }
+    else{
+      finger = chunk;
+      fingerStart = start;
+    }
+    return removed;
+  }
+
+  /**
+   * Sets the data of a given index of the list.
+   * @param index, the index at which to set the data in the list.
+   * @param element, the data to store in the list.
+   * @return returns the replaced data.
+   * @exception throws IndexOutOfBoundsException if the index does not point to an object in the list.
+   */
+  @SuppressWarnings("unchecked")
+  public E set(int index, E element) {
+    if(index < 0 || index >= size){
+      throw new IndexOutOfBoundsException();
+    }
+    Chunk chunk = findChunk(index);
+    E old = (E) chunk.elements[index - fingerStart];
+    chunk.elements[index - fingerStart] = element;
+    return old;
+  }
+
+  /**
+   * Gets the current size of the list.
+   * @return returns the size of the list.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Sorts the list by copying the elements into an Array, sorting it with ArraySort's stable mergeSort and writing
+   * the elements back, which packs every node full.
+   * @param compare, the comparator to compare the data by.
+   */
+  @SuppressWarnings("unchecked")
+  public void sort(Comparator<? super E> compare){
+    E[] data = (E[]) toArray();
+    new ArraySort<E>(null).mergeSort(data, 0, data.length, compare, null);
+    head = null;
+    tail = null;
+    finger = null;
+    size = 0;
+    for(E e : data){
+      add(e);
+    }
+  }
+
+  /**
+   * Copies the elements of the list into a new Array, one node's Array at a time.
+   * @return returns an Array holding the elements of the list in order.
+   */
+  public Object[] toArray() {
+    Object[] copy = new Object[size];
+    int i = 0;
+    for(Chunk chunk = head; chunk != null; chunk = chunk.next){
+      System.arraycopy(chunk.elements, 0, copy, i, chunk.count);
+      i += chunk.count;
+    }
+    return copy;
+  }
+
+  /**
+   * Performs an action on every element of the list in order, one node's Array at a time.
+   * @param action, the action to perform on each element.
+   * @throws ConcurrentModificationException if the action adds or removes elements.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public void forEach(Consumer<? super E> action) {
+    int expectedModCount = modCount;
+    for(Chunk chunk = head; chunk != null; chunk = chunk.next){
+      Object[] elements = chunk.elements;
+      int count = chunk.count;
+      for(int i = 0; i < count; i++){
+        action.accept((E) elements[i]);
+      }
+      if(modCount != expectedModCount){
+        throw new ConcurrentModificationException();
+      }
+    }
+  }
+
+  /**
+   * Sends a late-binding, fail-fast Spliterator over the list that knows its exact size and splits on node boundaries.
+   * @return returns a Spliterator for the list.
+   */
+  @Override
+  public Spliterator<E> spliterator() {
+    return new UnrolledLinkedListSpliterator(null, 0, -1, 0);
+  }
+
+  /**
+   * Sends a sequential Stream over the list.
+   * @return returns a Stream of the elements of the list.
+   */
+  public Stream<E> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  /**
+   * Sends a parallel Stream over the list.
+   * @return returns a possibly parallel Stream of the elements of the list.
+   */
+  public Stream<E> parallelStream() {
+    return StreamSupport.stream(spliterator(), true);
+  }
+
+  /**
+   * Sends a new iterator.
+   * @return returns an iterator for the list.
+   */
+  @Override
+  public Iterator<E> iterator() {
+    return new UnrolledLinkedListIterator();
+  }
+
+  /**
+   * Finds the node holding an index, walking node by node from whichever is closest: the head, the tail or the finger
+   * left by the last lookup. The node found becomes the finger, and fingerStart holds the index of its first element.
+   * @param index, an index of the list, from 0 to size - 1.
+   * @return returns the node holding the index.
+   */
+  private Chunk findChunk(int index){
+    Chunk chunk = finger;
+    int start = fingerStart;
+    if(chunk == null || Math.abs(index - start) > Math.min(index, size - index)){
+      if(index < size - index){
+        chunk = head;
+        start = 0;
+      }
+      else{
+        chunk = tail;
+        start = size - tail.count;
+      }
+    }
+    while(index < start){
+      chunk = chunk.prev;
+      start -= chunk.count;
+    }
+    while(index >= start + chunk.count){
+      start += chunk.count;
+      chunk = chunk.next;
+    }
+    finger = chunk;
+    fingerStart = start;
+    return chunk;
+  }
+
+  /**
+   * Links a node into the list after a given node.
+   * @param node, the node to place the new node after, or null to place it at the head of the list.
+   * @param added, the node to link in.
+   */
+  private void linkAfter(Chunk node, Chunk added){
+    added.prev = node;
+    added.next = (node == null) ? head : node.next;
+    if(added.next == null){
+      tail = added;
+    }
+    else{
+      added.next.prev = added;
+    }
+    if(node == null){
+      head = added;
+    }
+    else{
+      node.next = added;
+    }
+  }
+
+  /**
+   * Unlinks a node from the list.
+   * @param node, the node to unlink.
+   */
+  private void unlink(Chunk node){
+    if(node.prev == null){
+      head = node.next;
+    }
+    else{
+      node.prev.next = node.next;
+    }
+    if(node.next == null){
+      tail = node.prev;
+    }
+    else{
+      node.next.prev = node.prev;
+    }
+    if(finger == node){
+      finger = null;
+    }
+  }
+}
@@ -0,0 +1,497 @@
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * VectorSort, SIMD quickSort kernels for ArraySort's vectorQuickSort, built on the incubating Vector API.
+ * Each section is partitioned a whole vector at a time: the lanes less than the pivot are packed to the front of
+ * the vector with a shuffle looked up by the comparison mask, and the vector is stored both at the left and at the
+ * right write position, which keeps the less and the greater lanes in place without any scalar loop. The two
+ * vectors at the ends of a section are held in registers first, so the partition works in place. Sections of at most
+ * two vectors are finished by a bitonic sorting network, and partitioning falls back to ArraySort's heapSort once it
+ * gets too deep.
+ * The class can only be loaded when the jdk.incubator.vector module is present; ArraySort checks for it first.
+ * @author Nagoshi, Vincent
+ */
+final class VectorSort {
+  /** The fewest lanes a species must have for the vector kernels to be faster than the scalar ones. */
+  private static final int MIN_LANES = 4;
+  /** The most lanes a partition shuffle table is built for; wider species would need a table of 2^lanes shuffles. */
+  private static final int MAX_LANES = 8;
+
+  private static final VectorSpecies<Integer> INT_SPECIES = species(IntVector.SPECIES_PREFERRED, IntVector.SPECIES_256);
+  private static final int INT_LANES = INT_SPECIES.length();
+  /** True if ints can be sorted with vectors on this machine. */
+  static final boolean INT_SUPPORTED = INT_LANES >= MIN_LANES;
+  private static final VectorShuffle<Integer>[] INT_PARTITION = partitionShuffles(INT_SPECIES);
+  private static final VectorShuffle<Integer>[] INT_PARTNER = networkShuffles(INT_SPECIES);
+  private static final VectorMask<Integer>[] INT_TAKE_MAX = networkMasks(INT_SPECIES);
+  private static final VectorShuffle<Integer> INT_REVERSE = reverseShuffle(INT_SPECIES);
+  /** Lane i holds bit i, so blending a mask into zeros and or-ing the lanes together gives the mask's bits. */
+  private static final IntVector INT_LANE_BITS = IntVector.broadcast(INT_SPECIES, 1).lanewise(VectorOperators.LSHL, IntVector.zero(INT_SPECIES).addIndex(1));
+
+  private static final VectorSpecies<Long> LONG_SPECIES = species(LongVector.SPECIES_PREFERRED, LongVector.SPECIES_256);
+  private static final int LONG_LANES = LONG_SPECIES.length();
+  /** True if longs can be sorted with vectors on this machine. */
+  static final boolean LONG_SUPPORTED = LONG_LANES >= MIN_LANES;
+  private static final VectorShuffle<Long>[] LONG_PARTITION = partitionShuffles(LONG_SPECIES);
+  private static final VectorShuffle<Long>[] LONG_PARTNER = networkShuffles(LONG_SPECIES);
+  private static final VectorMask<Long>[] LONG_TAKE_MAX = networkMasks(LONG_SPECIES);
+  private static final VectorShuffle<Long> LONG_REVERSE = reverseShuffle(LONG_SPECIES);
+  /** Lane i holds bit i, so blending a mask into zeros and or-ing the lanes together gives the mask's bits. */
+  private static final LongVector LONG_LANE_BITS = LongVector.broadcast(LONG_SPECIES, 1).lanewise(VectorOperators.LSHL, LongVector.zero(LONG_SPECIES).addIndex(1));
+
+  /**
+   * Not instantiable.
+   */
+  private VectorSort() {
+  }
+
+  /**
+   * Sorts an Array of ints using a vectorized introsort.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of ints.
+   * @param depthLimit, the number of partitioning levels allowed before falling back to heapSort.
+   */
+  static void quickSort(SortCounter counter, int[] data, int depthLimit) {
+    quickSort(counter, data, 0, data.length, depthLimit, new int[INT_LANES]);
+  }
+
+  /**
+   * Sorts a section of an Array of ints using a vectorized introsort.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of ints.
+   * @param first, the first index of the section to sort.
+   * @param end, the index after the last index of the section to sort.
+   * @param depthLimit, the number of partitioning levels left before falling back to heapSort.
+   * @param scratch, a scratch Array of at least one vector's lanes.
+   */
+  static void quickSort(SortCounter counter, int[] data, int first, int end, int depthLimit, int[] scratch) {
+    while (end - first > 2 * INT_LANES) {
+      if (depthLimit == 0) {
+        ArraySort.heapSort(counter, data, first, end);
+        return;
+      }
+      depthLimit--;
+      int pivot = data[ArraySort.pivotIndex(counter, data, first, end - 1)];
+      int middle = partition(counter, data, first, end, pivot, false, scratch);
+      if (middle == first) {
+        // The pivot is the smallest element; the elements equal to it are moved to the front, where they belong.
+        first = partition(counter, data, first, end, pivot, true, scratch);
+      }
+      else if (middle - first < end - middle) {
+        quickSort(counter, data, first, middle, depthLimit, scratch);
+        first = middle;
+      }
+      else {
+        quickSort(counter, data, middle, end, depthLimit, scratch);
+        end = middle;
+      }
+    }
+    blockSort(counter, data, first, end);
+  }
+
+  /**
+   * Partitions a section of more than two vectors of an Array of ints in place around a pivot.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of ints.
+   * @param first, the first index of the section to partition.
+   * @param end, the index after the last index of the section to partition.
+   * @param pivot, the value to partition around.
+   * @param orEqual, true to move elements equal to the pivot to the front, false to move them to the back.
+   * @param scratch, a scratch Array of at least one vector's lanes.
+   * @return returns the index of the first element moved to the back.
+   */
+  private static int partition(SortCounter counter, int[] data, int first, int end, int pivot, boolean orEqual, int[] scratch) {
+    IntVector leftEnd = IntVector.fromArray(INT_SPECIES, data, first);
+    IntVector rightEnd = IntVector.fromArray(INT_SPECIES, data, end - INT_LANES);
+    int readLeft = first + INT_LANES;
+    int readRight = end - INT_LANES;
+    int writeLeft = first;
+    int writeRight = end;
+    while (readRight - readLeft >= INT_LANES) {
+      IntVector v;
+      if (readLeft - writeLeft <= writeRight - readRight) {
+        v = IntVector.fromArray(INT_SPECIES, data, readLeft);
+        readLeft += INT_LANES;
+      }
+      else {
+        readRight -= INT_LANES;
+        v = IntVector.fromArray(INT_SPECIES, data, readRight);
+      }
+      int less = store(v, front(v, pivot, orEqual), data, writeLeft, writeRight);
+      writeLeft += less;
+      writeRight -= INT_LANES - less;
+    }
+    int remaining = readRight - readLeft;
+    System.arraycopy(data, readLeft, scratch, 0, remaining);
+    for (int i = 0; i < remaining; i++) {
+      if (orEqual ? scratch[i] <= pivot : scratch[i] < pivot) {
+        data[writeLeft++] = scratch[i];
+      }
+      else {
+        data[--writeRight] = scratch[i];
+      }
+    }
+    int less = store(leftEnd, front(leftEnd, pivot, orEqual), data, writeLeft, writeRight);
+    writeLeft += less;
+    writeRight -= INT_LANES - less;
+    writeLeft += store(rightEnd, front(rightEnd, pivot, orEqual), data, writeLeft, writeRight);
+    count(counter, end - first, end - first);
+    return writeLeft;
+  }
+
+  /**
+   * Compares every lane of a vector with a pivot.
+   * @param v, the vector to compare.
+   * @param pivot, the value to compare with.
+   * @param orEqual, true to select lanes less than or equal to the pivot, false to select lanes less than the pivot.
+   * @return returns the mask of the selected lanes.
+   */
+  private static VectorMask<Integer> front(IntVector v, int pivot, boolean orEqual) {
+    return orEqual ? v.compare(VectorOperators.LE, pivot) : v.compare(VectorOperators.LT, pivot);
+  }
+
+  /**
+   * Packs the lanes of a vector that belong at the front ahead of the others and stores the vector both at the left
+   * and at the right write position, so that the front lanes land at the left and the back lanes at the right.
+   * @param v, the vector to store.
+   * @param front, the lanes that belong at the front.
+   * @param data, an Array of ints.
+   * @param writeLeft, the next free index at the front.
+   * @param writeRight, the index after the next free index at the back.
+   * @return returns the number of lanes that belong at the front.
+   */
+  private static int store(IntVector v, VectorMask<Integer> front, int[] data, int writeLeft, int writeRight) {
+    IntVector packed = v.rearrange(INT_PARTITION[IntVector.zero(INT_SPECIES).blend(INT_LANE_BITS, front).reduceLanes(VectorOperators.OR)]);
+    packed.intoArray(data, writeLeft);
+    packed.intoArray(data, writeRight - INT_LANES);
+    return front.trueCount();
+  }
+
+  /**
+   * Sorts a section of at most two vectors of an Array of ints with a bitonic sorting network.
+   * Missing lanes are filled with the largest int, which sorts to the back and is never stored.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of ints.
+   * @param first, the first index of the section to sort.
+   * @param end, the index after the last index of the section to sort.
+   */
+  private static void blockSort(SortCounter counter, int[] data, int first, int end) {
+    int n = end - first;
+    if (n < 2) {
+      return;
+    }
+    IntVector padding = IntVector.broadcast(INT_SPECIES, Integer.MAX_VALUE);
+    VectorMask<Integer> lowMask = INT_SPECIES.indexInRange(0, n);
+    IntVector low = sort(padding.blend(IntVector.fromArray(INT_SPECIES, data, first, lowMask), lowMask), 0);
+    if (n <= INT_LANES) {
+      low.intoArray(data, first, lowMask);
+      count(counter, (long) INT_PARTNER.length * INT_LANES / 2, n);
+      return;
+    }
+    VectorMask<Integer> highMask = INT_SPECIES.indexInRange(INT_LANES, n);
+    IntVector high = sort(padding.blend(IntVector.fromArray(INT_SPECIES, data, first + INT_LANES, highMask), highMask), 0);
+    high = high.rearrange(INT_REVERSE);
+    int log = Integer.numberOfTrailingZeros(INT_LANES);
+    int mergeStages = INT_PARTNER.length - log;
+    sort(low.min(high), mergeStages).intoArray(data, first);
+    sort(low.max(high), mergeStages).intoArray(data, first + INT_LANES, highMask);
+    count(counter, (long) (2 * INT_PARTNER.length + 2 * log + 2) * INT_LANES / 2, n);
+  }
+
+  /**
+   * Runs the stages of the bitonic sorting network from a given stage on, each a compare-exchange of every lane with
+   * its partner lane. Starting from the first stage sorts the vector; starting from the stages of the last merge
+   * sorts a bitonic vector.
+   * @param v, the vector to sort.
+   * @param stage, the first stage to run.
+   * @return returns the sorted vector.
+   */
+  private static IntVector sort(IntVector v, int stage) {
+    for (; stage < INT_PARTNER.length; stage++) {
+      IntVector partner = v.rearrange(INT_PARTNER[stage]);
+      v = v.min(partner).blend(v.max(partner), INT_TAKE_MAX[stage]);
+    }
+    return v;
+  }
+
+  /**
+   * Sorts an Array of longs using a vectorized introsort.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of longs.
+   * @param depthLimit, the number of partitioning levels allowed before falling back to heapSort.
+   */
+  static void quickSort(SortCounter counter, long[] data, int depthLimit) {
+    quickSort(counter, data, 0, data.length, depthLimit, new long[LONG_LANES]);
+  }
+
+  /**
+   * Sorts a section of an Array of longs using a vectorized introsort.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of longs.
+   * @param first, the first index of the section to sort.
+   * @param end, the index after the last index of the section to sort.
+   * @param depthLimit, the number of partitioning levels left before falling back to heapSort.
+   * @param scratch, a scratch Array of at least one vector's lanes.
+   */
+  static void quickSort(SortCounter counter, long[] data, int first, int end, int depthLimit, long[] scratch) {
+    while (end - first > 2 * LONG_LANES) {
+      if (depthLimit == 0) {
+        ArraySort.heapSort(counter, data, first, end);
+        return;
+      }
+      depthLimit--;
+      long pivot = data[ArraySort.pivotIndex(counter, data, first, end - 1)];
+      int middle = partition(counter, data, first, end, pivot, false, scratch);
+      if (middle == first) {
+        // The pivot is the smallest element; the elements equal to it are moved to the front, where they belong.
+        first = partition(counter, data, first, end, pivot, true, scratch);
+      }
+      else if (middle - first < end - middle) {
+        quickSort(counter, data, first, middle, depthLimit, scratch);
+        first = middle;
+      }
+      else {
+        quickSort(counter, data, middle, end, depthLimit, scratch);
+        end = middle;
+      }
+    }
+    blockSort(counter, data, first, end);
+  }
+
+  /**
+   * Partitions a section of more than two vectors of an Array of longs in place around a pivot.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of longs.
+   * @param first, the first index of the section to partition.
+   * @param end, the index after the last index of the section to partition.
+   * @param pivot, the value to partition around.
+   * @param orEqual, true to move elements equal to the pivot to the front, false to move them to the back.
+   * @param scratch, a scratch Array of at least one vector's lanes.
+   * @return returns the index of the first element moved to the back.
+   */
+  private static int partition(SortCounter counter, long[] data, int first, int end, long pivot, boolean orEqual, long[] scratch) {
+    LongVector leftEnd = LongVector.fromArray(LONG_SPECIES, data, first);
+    LongVector rightEnd = LongVector.fromArray(LONG_SPECIES, data, end - LONG_LANES);
+    int readLeft = first + LONG_LANES;
+    int readRight = end - LONG_LANES;
+    int writeLeft = first;
+    int writeRight = end;
+    while (readRight - readLeft >= LONG_LANES) {
+      LongVector v;
+      if (readLeft - writeLeft <= writeRight - readRight) {
+        v = LongVector.fromArray(LONG_SPECIES, data, readLeft);
+        readLeft += LONG_LANES;
+      }
+      else {
+        readRight -= LONG_LANES;
+        v = LongVector.fromArray(LONG_SPECIES, data, readRight);
+      }
+      int less = store(v, front(v, pivot, orEqual), data, writeLeft, writeRight);
+      writeLeft += less;
+      writeRight -= LONG_LANES - less;
+    }
+    int remaining = readRight - readLeft;
+    System.arraycopy(data, readLeft, scratch, 0, remaining);
+    for (int i = 0; i < remaining; i++) {
+      if (orEqual ? scratch[i] <= pivot : scratch[i] < pivot) {
+        data[writeLeft++] = scratch[i];
+      }
+      else {
+        data[--writeRight] = scratch[i];
+      }
+    }
+    int less = store(leftEnd, front(leftEnd, pivot, orEqual), data, writeLeft, writeRight);
+    writeLeft += less;
+    writeRight -= LONG_LANES - less;
+    writeLeft += store(rightEnd, front(rightEnd, pivot, orEqual), data, writeLeft, writeRight);
+    count(counter, end - first, end - first);
+    return writeLeft;
+  }
+
+  /**
+   * Compares every lane of a vector with a pivot.
+   * @param v, the vector to compare.
+   * @param pivot, the value to compare with.
+   * @param orEqual, true to select lanes less than or equal to the pivot, false to select lanes less than the pivot.
+   * @return returns the mask of the selected lanes.
+   */
+  private static VectorMask<Long> front(LongVector v, long pivot, boolean orEqual) {
+    return orEqual ? v.compare(VectorOperators.LE, pivot) : v.compare(VectorOperators.LT, pivot);
+  }
+
+  /**
+   * Packs the lanes of a vector that belong at the front ahead of the others and stores the vector both at the left
+   * and at the right write position, so that the front lanes land at the left and the back lanes at the right.
+   * @param v, the vector to store.
+   * @param front, the lanes that belong at the front.
+   * @param data, an Array of longs.
+   * @param writeLeft, the next free index at the front.
+   * @param writeRight, the index after the next free index at the back.
+   * @return returns the number of lanes that belong at the front.
+   */
+  private static int store(LongVector v, VectorMask<Long> front, long[] data, int writeLeft, int writeRight) {
+    LongVector packed = v.rearrange(LONG_PARTITION[(int) LongVector.zero(LONG_SPECIES).blend(LONG_LANE_BITS, front).reduceLanes(VectorOperators.OR)]);
+    packed.intoArray(data, writeLeft);
+    packed.intoArray(data, writeRight - LONG_LANES);
+    return front.trueCount();
+  }
+
+  /**
+   * Sorts a section of at most two vectors of an Array of longs with a bitonic sorting network.
+   * Missing lanes are filled with the largest long, which sorts to the back and is never stored.
+   * @param counter, the statistics of the current sort, or null.
+   * @param data, an Array of longs.
+   * @param first, the first index of the section to sort.
+   * @param end, the index after the last index of the section to sort.
+   */
+  private static void blockSort(SortCounter counter, long[] data, int first, int end) {
+    int n = end - first;
+    if (n < 2) {
+      return;
+    }
+    LongVector padding = LongVector.broadcast(LONG_SPECIES, Long.MAX_VALUE);
+    VectorMask<Long> lowMask = LONG_SPECIES.indexInRange(0, n);
+    LongVector low = sort(padding.blend(LongVector.fromArray(LONG_SPECIES, data, first, lowMask), lowMask), 0);
+    if (n <= LONG_LANES) {
+      low.intoArray(data, first, lowMask);
+      count(counter, (long) LONG_PARTNER.length * LONG_LANES / 2, n);
+      return;
+    }
+    VectorMask<Long> highMask = LONG_SPECIES.indexInRange(LONG_LANES, n);
+    LongVector high = sort(padding.blend(LongVector.fromArray(LONG_SPECIES, data, first + LONG_LANES, highMask), highMask), 0);
+    high = high.rearrange(LONG_REVERSE);
+    int log = Integer.numberOfTrailingZeros(LONG_LANES);
+    int mergeStages = LONG_PARTNER.length - log;
+    sort(low.min(high), mergeStages).intoArray(data, first);
+    sort(low.max(high), mergeStages).intoArray(data, first + LONG_LANES, highMask);
+    count(counter, (long) (2 * LONG_PARTNER.length + 2 * log + 2) * LONG_LANES / 2, n);
+  }
+
+  /**
+   * Runs the stages of the bitonic sorting network from a given stage on, each a compare-exchange of every lane with
+   * its partner lane. Starting from the first stage sorts the vector; starting from the stages of the last merge
+   * sorts a bitonic vector.
+   * @param v, the vector to sort.
+   * @param stage, the first stage to run.
+   * @return returns the sorted vector.
+   */
+  private static LongVector sort(LongVector v, int stage) {
+    for (; stage < LONG_PARTNER.length; stage++) {
+      LongVector partner = v.rearrange(LONG_PARTNER[stage]);
+      v = v.min(partner).blend(v.max(partner), LONG_TAKE_MAX[stage]);
+    }
+    return v;
+  }
+
+  /**
+   * Chooses the species the kernels use: the preferred one, unless it has too many lanes for a partition shuffle table.
+   * @param preferred, the preferred species of the lane type.
+   * @param fallback, the 256 bit species of the lane type.
+   * @return returns the species to sort with.
+   */
+  private static <T> VectorSpecies<T> species(VectorSpecies<T> preferred, VectorSpecies<T> fallback) {
+    return preferred.length() <= MAX_LANES ? preferred : fallback;
+  }
+
+  /**
+   * Builds the partition shuffle table: for each comparison mask, a shuffle that packs the set lanes in order ahead
+   * of the unset lanes.
+   * @param species, the species to build the table for.
+   * @return returns the shuffles, indexed by the mask's bits.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> VectorShuffle<T>[] partitionShuffles(VectorSpecies<T> species) {
+    int lanes = species.length();
+    VectorShuffle<T>[] shuffles = (VectorShuffle<T>[]) new VectorShuffle<?>[1 << Math.min(lanes, MAX_LANES)];
+    int[] indices = new int[lanes];
+    for (int bits = 0; bits < shuffles.length; bits++) {
+      int k = 0;
+      for (int lane = 0; lane < lanes; lane++) {
+        if ((bits & (1 << lane)) != 0) {
+          indices[k++] = lane;
+        }
+      }
+      for (int lane = 0; lane < lanes; lane++) {
+        if ((bits & (1 << lane)) == 0) {
+          indices[k++] = lane;
+        }
+      }
+      shuffles[bits] = VectorShuffle.fromArray(species, indices, 0);
+    }
+    return shuffles;
+  }
+
+  /**
+   * Builds the partner shuffle of each stage of a bitonic sorting network over one vector. Stage (k, j), for k and
+   * j powers of two with j < k <= lanes, pairs each lane i with lane i ^ j.
+   * @param species, the species to build the network for.
+   * @return returns the shuffles, one per stage in the order they run.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> VectorShuffle<T>[] networkShuffles(VectorSpecies<T> species) {
+    int lanes = species.length();
+    int log = Integer.numberOfTrailingZeros(lanes);
+    VectorShuffle<T>[] shuffles = (VectorShuffle<T>[]) new VectorShuffle<?>[log * (log + 1) / 2];
+    int stage = 0;
+    for (int k = 2; k <= lanes; k <<= 1) {
+      for (int j = k >> 1; j > 0; j >>= 1) {
+        int partner = j;
+        shuffles[stage++] = VectorShuffle.fromOp(species, i -> i ^ partner);
+      }
+    }
+    return shuffles;
+  }
+
+  /**
+   * Builds the mask of each stage of a bitonic sorting network that selects the lanes keeping the larger of the two
+   * elements compared: lane i keeps the larger element if it is the upper lane of its pair in an ascending block, or
+   * the lower lane in a descending block.
+   * @param species, the species to build the network for.
+   * @return returns the masks, one per stage in the order they run.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> VectorMask<T>[] networkMasks(VectorSpecies<T> species) {
+    int lanes = species.length();
+    int log = Integer.numberOfTrailingZeros(lanes);
+    VectorMask<T>[] masks = (VectorMask<T>[]) new VectorMask<?>[log * (log + 1) / 2];
+    boolean[] takeMax = new boolean[lanes];
+    int stage = 0;
+    for (int k = 2; k <= lanes; k <<= 1) {
+      for (int j = k >> 1; j > 0; j >>= 1) {
+        for (int i = 0; i < lanes; i++) {
+          takeMax[i] = ((i & j) != 0) == ((i & k) == 0);
+        }
+        masks[stage++] = VectorMask.fromArray(species, takeMax, 0);
+      }
+    }
+    return masks;
+  }
+
+  /**
+   * Builds the shuffle that reverses the lanes of a vector.
+   * @param species, the species to build the shuffle for.
+   * @return returns the shuffle.
+   */
+  private static <T> VectorShuffle<T> reverseShuffle(VectorSpecies<T> species) {
+    int last = species.length() - 1;
+    return VectorShuffle.fromOp(species, i -> last - i);
+  }
+
+  /**
+   * Counts the work of a vector kernel.
+   * @param counter, the statistics of the current sort, or null.
+   * @param comparisons, the number of pairs of elements compared.
+   * @param moves, the number of elements stored.
+   */
+  private static void count(SortCounter counter, long comparisons, long moves) {
+    if (counter != null) {
+      counter.comparisons += comparisons;
+      counter.swaps += moves;
+    }
+  }
+}
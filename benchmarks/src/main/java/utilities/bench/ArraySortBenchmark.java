@@ -0,0 +1,87 @@
+package utilities.bench;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utilities.ArraySort;
+
+/**
+ * ArraySortBenchmark, times each ArraySort algorithm across input distributions and sizes.
+ * Statistics are turned off so that only the sorting itself is measured. Every invocation sorts a fresh copy of the input.
+ * @author Nagoshi, Vincent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArraySortBenchmark {
+  private static final Comparator<Integer> NATURAL = Comparator.naturalOrder();
+
+  @Param({"insertionSort", "bubbleSort", "selectionSort", "heapSort", "mergeSort", "quickSort"})
+  public String algorithm;
+
+  @Param({"random", "sorted", "reversed", "fewUnique", "sawtooth"})
+  public String distribution;
+
+  @Param({"1000", "10000"})
+  public int size;
+
+  private final ArraySort<Integer> sorter = new ArraySort<Integer>(null);
+  private Integer[] input;
+  private Integer[] work;
+
+  /**
+   * Generates the input.
+   */
+  @Setup
+  public void setUp() {
+    input = Inputs.boxed(Inputs.generate(distribution, size));
+    work = new Integer[size];
+  }
+
+  /**
+   * Sorts a copy of the input.
+   * @return returns the sorted copy.
+   */
+  @Benchmark
+  public Integer[] sort() {
+    System.arraycopy(input, 0, work, 0, size);
+    switch (algorithm) {
+      case "insertionSort":
+        sorter.insertionSort(work, NATURAL);
+        break;
+      case "bubbleSort":
+        sorter.bubbleSort(work, NATURAL);
+        break;
+      case "selectionSort":
+        sorter.selectionSort(work, NATURAL);
+        break;
+      case "heapSort":
+        sorter.heapSort(work, NATURAL);
+        break;
+      case "mergeSort":
+        sorter.mergeSort(work, NATURAL);
+        break;
+      case "quickSort":
+        sorter.quickSort(work, NATURAL);
+        break;
+      default:
+        throw new IllegalStateException("Unknown algorithm: " + algorithm);
+    }
+    return work;
+  }
+}
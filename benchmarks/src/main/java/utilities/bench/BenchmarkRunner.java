@@ -0,0 +1,38 @@
+package utilities.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * BenchmarkRunner, runs the benchmarks with the GC and allocation profiler on and writes the results as JSON.
+ * Accepts the same command line as the JMH launcher; -rf, -rff and -prof override the defaults.
+ * @author Nagoshi, Vincent
+ */
+public class BenchmarkRunner {
+  /** The file results are written to unless -rff is given. */
+  public static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+  /**
+   * Runs the benchmarks.
+   * @param args, JMH command line options, e.g. a regular expression selecting the benchmarks to run.
+   * @throws Exception if the options are invalid or the benchmarks fail to run.
+   */
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+    OptionsBuilder options = new OptionsBuilder();
+    options.parent(commandLine);
+    if (!commandLine.getResultFormat().hasValue()) {
+      options.resultFormat(ResultFormatType.JSON);
+    }
+    if (!commandLine.getResult().hasValue()) {
+      options.result(DEFAULT_RESULT_FILE);
+    }
+    if (commandLine.getProfilers().isEmpty()) {
+      options.addProfiler(GCProfiler.class);
+    }
+    new Runner(options.build()).run();
+  }
+}
@@ -0,0 +1,82 @@
+package utilities.bench;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utilities.BinarySearchTree;
+
+/**
+ * BinarySearchTreeBenchmark, times add and contains on BinarySearchTree with random and sorted insertion orders.
+ * Sorted input builds a degenerate tree, so it shows the unbalanced worst case.
+ * @author Nagoshi, Vincent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xss64m")
+public class BinarySearchTreeBenchmark {
+  private static final Comparator<Integer> NATURAL = Comparator.naturalOrder();
+
+  @Param({"random", "sorted"})
+  public String distribution;
+
+  @Param({"1000", "10000"})
+  public int size;
+
+  private Integer[] values;
+  private BinarySearchTree<Integer> tree;
+
+  /**
+   * Generates the values and adds them to a tree.
+   */
+  @Setup
+  public void setUp() {
+    values = Inputs.boxed(Inputs.generate(distribution, size));
+    tree = new BinarySearchTree<Integer>(NATURAL);
+    for (Integer v : values) {
+      tree.add(v);
+    }
+  }
+
+  /**
+   * Adds every value to a new tree.
+   * @return returns the filled tree.
+   */
+  @Benchmark
+  public BinarySearchTree<Integer> add() {
+    BinarySearchTree<Integer> t = new BinarySearchTree<Integer>(NATURAL);
+    for (Integer v : values) {
+      t.add(v);
+    }
+    return t;
+  }
+
+  /**
+   * Looks up every value in the tree.
+   * @return returns the number of values found.
+   */
+  @Benchmark
+  public int contains() {
+    int found = 0;
+    for (Integer v : values) {
+      if (tree.contains(v)) {
+        found++;
+      }
+    }
+    return found;
+  }
+}
@@ -0,0 +1,78 @@
+package utilities.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utilities.CircularArrayQueue;
+
+/**
+ * CircularArrayQueueBenchmark, times offer and poll on CircularArrayQueue.
+ * @author Nagoshi, Vincent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CircularArrayQueueBenchmark {
+  @Param({"1000", "100000"})
+  public int size;
+
+  private Integer[] values;
+  private CircularArrayQueue<Integer> queue;
+
+  /**
+   * Generates the values and half fills a queue, so that offering and polling wraps around the array.
+   */
+  @Setup
+  public void setUp() {
+    values = Inputs.boxed(Inputs.generate("random", size));
+    queue = new CircularArrayQueue<Integer>();
+    for (int i = 0; i < size / 2; i++) {
+      queue.offer(values[i]);
+    }
+  }
+
+  /**
+   * Offers every value to a new queue, growing it, and then polls them all.
+   * @return returns the sum of the polled values.
+   */
+  @Benchmark
+  public long offerThenPoll() {
+    CircularArrayQueue<Integer> q = new CircularArrayQueue<Integer>();
+    for (Integer v : values) {
+      q.offer(v);
+    }
+    long sum = 0;
+    for (int i = 0; i < size; i++) {
+      sum += q.poll();
+    }
+    return sum;
+  }
+
+  /**
+   * Offers and polls one value at a time on a half full queue, which never grows.
+   * @return returns the sum of the polled values.
+   */
+  @Benchmark
+  public long offerPoll() {
+    long sum = 0;
+    for (Integer v : values) {
+      queue.offer(v);
+      sum += queue.poll();
+    }
+    return sum;
+  }
+}
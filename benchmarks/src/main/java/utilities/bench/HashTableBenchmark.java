@@ -0,0 +1,73 @@
+package utilities.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utilities.HashTable;
+
+/**
+ * HashTableBenchmark, times put and get on HashTable at several sizes.
+ * @author Nagoshi, Vincent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashTableBenchmark {
+  @Param({"100", "1000", "100000"})
+  public int size;
+
+  private Integer[] keys;
+  private HashTable<Integer, Integer> table;
+
+  /**
+   * Generates the keys and fills a table with them.
+   */
+  @Setup
+  public void setUp() {
+    keys = Inputs.boxed(Inputs.generate("random", size));
+    table = new HashTable<Integer, Integer>();
+    for (Integer k : keys) {
+      table.put(k, k);
+    }
+  }
+
+  /**
+   * Puts every key into a new HashTable.
+   * @return returns the filled table.
+   */
+  @Benchmark
+  public HashTable<Integer, Integer> put() {
+    HashTable<Integer, Integer> t = new HashTable<Integer, Integer>();
+    for (Integer k : keys) {
+      t.put(k, k);
+    }
+    return t;
+  }
+
+  /**
+   * Gets the value of every key.
+   * @return returns the sum of the values.
+   */
+  @Benchmark
+  public long get() {
+    long sum = 0;
+    for (Integer k : keys) {
+      sum += table.get(k);
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,66 @@
+package utilities.bench;
+
+import java.util.Random;
+
+/**
+ * Inputs, generates the input distributions shared by the benchmarks.
+ * Every distribution is generated from a fixed seed so runs can be compared with each other.
+ * @author Nagoshi, Vincent
+ */
+final class Inputs {
+  /** The seed every distribution is generated from. */
+  private static final long SEED = 42;
+
+  /**
+   * Not instantiable.
+   */
+  private Inputs() {
+  }
+
+  /**
+   * Generates an Array of ints.
+   * @param distribution, one of random, sorted, reversed, fewUnique or sawtooth.
+   * @param size, the number of ints to generate.
+   * @return returns the generated ints.
+   * @throws IllegalArgumentException if the distribution is unknown.
+   */
+  static int[] generate(String distribution, int size) {
+    Random random = new Random(SEED);
+    int[] data = new int[size];
+    for (int i = 0; i < size; i++) {
+      switch (distribution) {
+        case "random":
+          data[i] = random.nextInt();
+          break;
+        case "sorted":
+          data[i] = i;
+          break;
+        case "reversed":
+          data[i] = size - i;
+          break;
+        case "fewUnique":
+          data[i] = random.nextInt(8);
+          break;
+        case "sawtooth":
+          data[i] = i % 64;
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown distribution: " + distribution);
+      }
+    }
+    return data;
+  }
+
+  /**
+   * Boxes an Array of ints.
+   * @param data, the ints to box.
+   * @return returns the ints as an Array of Integers.
+   */
+  static Integer[] boxed(int[] data) {
+    Integer[] boxed = new Integer[data.length];
+    for (int i = 0; i < data.length; i++) {
+      boxed[i] = data[i];
+    }
+    return boxed;
+  }
+}
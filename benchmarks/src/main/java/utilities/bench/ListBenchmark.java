@@ -0,0 +1,129 @@
+package utilities.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utilities.ArrayList;
+import utilities.LinkedList;
+
+/**
+ * ListBenchmark, times adding, indexed access and iteration on ArrayList and LinkedList.
+ * @author Nagoshi, Vincent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListBenchmark {
+  @Param({"1000", "10000"})
+  public int size;
+
+  private Integer[] values;
+  private ArrayList<Integer> arrayList;
+  private LinkedList<Integer> linkedList;
+
+  /**
+   * Generates the values and fills one list of each kind with them.
+   */
+  @Setup
+  public void setUp() {
+    values = Inputs.boxed(Inputs.generate("random", size));
+    arrayList = new ArrayList<Integer>();
+    linkedList = new LinkedList<Integer>();
+    for (Integer v : values) {
+      arrayList.add(v);
+      linkedList.add(v);
+    }
+  }
+
+  /**
+   * Adds every value to a new ArrayList.
+   * @return returns the filled list.
+   */
+  @Benchmark
+  public ArrayList<Integer> arrayListAdd() {
+    ArrayList<Integer> list = new ArrayList<Integer>();
+    for (Integer v : values) {
+      list.add(v);
+    }
+    return list;
+  }
+
+  /**
+   * Gets every element of an ArrayList by index.
+   * @return returns the sum of the elements.
+   */
+  @Benchmark
+  public long arrayListGet() {
+    long sum = 0;
+    for (int i = 0; i < size; i++) {
+      sum += arrayList.get(i);
+    }
+    return sum;
+  }
+
+  /**
+   * Iterates over every element of an ArrayList.
+   * @return returns the sum of the elements.
+   */
+  @Benchmark
+  public long arrayListIterate() {
+    long sum = 0;
+    for (Integer v : arrayList) {
+      sum += v;
+    }
+    return sum;
+  }
+
+  /**
+   * Adds every value to a new LinkedList.
+   * @return returns the filled list.
+   */
+  @Benchmark
+  public LinkedList<Integer> linkedListAdd() {
+    LinkedList<Integer> list = new LinkedList<Integer>();
+    for (Integer v : values) {
+      list.add(v);
+    }
+    return list;
+  }
+
+  /**
+   * Gets every element of a LinkedList by index.
+   * @return returns the sum of the elements.
+   */
+  @Benchmark
+  public long linkedListGet() {
+    long sum = 0;
+    for (int i = 0; i < size; i++) {
+      sum += linkedList.get(i);
+    }
+    return sum;
+  }
+
+  /**
+   * Iterates over every element of a LinkedList.
+   * @return returns the sum of the elements.
+   */
+  @Benchmark
+  public long linkedListIterate() {
+    long sum = 0;
+    for (Integer v : linkedList) {
+      sum += v;
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,78 @@
+package utilities.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utilities.ArraySort;
+
+/**
+ * PrimitiveSortBenchmark, compares ArraySort's vectorQuickSort with the scalar quickSort, mergeSort and radixSort on ints.
+ * The forked JVM adds the jdk.incubator.vector module so that vectorQuickSort can use the Vector API.
+ * @author Nagoshi, Vincent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class PrimitiveSortBenchmark {
+  @Param({"vectorQuickSort", "quickSort", "mergeSort", "radixSort"})
+  public String algorithm;
+
+  @Param({"random", "sorted", "reversed", "fewUnique", "sawtooth"})
+  public String distribution;
+
+  @Param({"10000", "1000000"})
+  public int size;
+
+  private final ArraySort<Object> sorter = new ArraySort<Object>(null);
+  private int[] input;
+  private int[] work;
+
+  /**
+   * Generates the input.
+   */
+  @Setup
+  public void setUp() {
+    input = Inputs.generate(distribution, size);
+    work = new int[size];
+  }
+
+  /**
+   * Sorts a copy of the input.
+   * @return returns the sorted copy.
+   */
+  @Benchmark
+  public int[] sort() {
+    System.arraycopy(input, 0, work, 0, size);
+    switch (algorithm) {
+      case "vectorQuickSort":
+        sorter.vectorQuickSort(work);
+        break;
+      case "quickSort":
+        sorter.quickSort(work);
+        break;
+      case "mergeSort":
+        sorter.mergeSort(work);
+        break;
+      case "radixSort":
+        sorter.radixSort(work);
+        break;
+      default:
+        throw new IllegalStateException("Unknown algorithm: " + algorithm);
+    }
+    return work;
+  }
+}
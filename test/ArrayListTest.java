@@ -0,0 +1,357 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * ArrayListTest, checks the ArrayList against java.util.ArrayList and java.util.Collections.
+ * @author Nagoshi, Vincent
+ */
+class ArrayListTest {
+
+  /**
+   * Builds an ArrayList holding given values.
+   * @param values, the values to add.
+   * @return returns the list.
+   */
+  private static ArrayList<Integer> listOf(int[] values) {
+    ArrayList<Integer> list = new ArrayList<Integer>();
+    for (int v : values) {
+      list.add(v);
+    }
+    return list;
+  }
+
+  /**
+   * Copies the elements of an ArrayList into a java.util.List, reading them with get.
+   * @param list, the list to copy.
+   * @return returns the elements in order.
+   */
+  private static <E> List<E> contents(ArrayList<E> list) {
+    List<E> copy = new java.util.ArrayList<E>();
+    for (int i = 0; i < list.size(); i++) {
+      copy.add(list.get(i));
+    }
+    return copy;
+  }
+
+  @Test
+  void sortIsStableOnEveryShape() {
+    for (TestData.Shape shape : TestData.Shape.values()) {
+      for (int length : TestData.LENGTHS) {
+        int[] keys = TestData.ints(shape, length, length);
+        Comparator<Integer> byKey = (a, b) -> Integer.compare(keys[a] >> 2, keys[b] >> 2);
+        ArrayList<Integer> list = new ArrayList<Integer>();
+        ArrayList<Integer> parallel = new ArrayList<Integer>();
+        List<Integer> expected = new java.util.ArrayList<Integer>();
+        for (int i = 0; i < length; i++) {
+          list.add(i);
+          parallel.add(i);
+          expected.add(i);
+        }
+        expected.sort(byKey);
+        list.sort(byKey);
+        parallel.parallelSort(byKey);
+        assertEquals(expected, contents(list), shape + " " + length);
+        assertEquals(expected, contents(parallel), shape + " " + length);
+      }
+    }
+  }
+
+  @Test
+  void sortLeavesASortedListUntouched() {
+    ArrayList<Integer> list = listOf(TestData.ints(TestData.Shape.SORTED, 1000, 1));
+    List<Integer> before = contents(list);
+    int[] comparisons = {0};
+    list.sort((a, b) -> {
+      comparisons[0]++;
+      return Integer.compare(a, b);
+    });
+    assertEquals(before, contents(list));
+    assertEquals(999, comparisons[0]);
+  }
+
+  @Test
+  void bulkOperationsMatchJavaUtilArrayList() {
+    ArrayList<Integer> list = new ArrayList<Integer>();
+    List<Integer> model = new java.util.ArrayList<Integer>();
+    Random random = new Random(2);
+    for (int step = 0; step < 2000; step++) {
+      int op = random.nextInt(8);
+      if (op == 0) {
+        List<Integer> added = List.of(random.nextInt(50), random.nextInt(50), random.nextInt(50));
+        int index = random.nextInt(model.size() + 1);
+        assertTrue(list.addAll(index, added));
+        model.addAll(index, added);
+      }
+      else if (op == 1) {
+        ArrayList<Integer> other = listOf(TestData.ints(TestData.Shape.DUPLICATES, random.nextInt(5), step));
+        assertEquals(other.size() > 0, list.addAll(other));
+        model.addAll(contents(other));
+      }
+      else if (op == 2) {
+        int divisor = 2 + random.nextInt(5);
+        assertEquals(model.removeIf(e -> e % divisor == 0), list.removeIf(e -> e % divisor == 0));
+      }
+      else if (op == 3) {
+        Collection<Integer> kept = new HashSet<Integer>(List.of(-4, -3, -2, -1, 0, 1, 2, 3, random.nextInt(50)));
+        if (random.nextInt(4) == 0) {
+          assertEquals(model.retainAll(kept), list.retainAll(kept));
+        }
+      }
+      else if (op == 4 && !model.isEmpty()) {
+        int from = random.nextInt(model.size());
+        int to = from + random.nextInt(model.size() - from + 1);
+        ArrayList<Integer>.SubList view = list.subList(from, to);
+        List<Integer> modelView = model.subList(from, to);
+        assertEquals(modelView.size(), view.size());
+        int divisor = 2 + random.nextInt(3);
+        assertEquals(modelView.removeIf(e -> e % divisor == 0), view.removeIf(e -> e % divisor == 0));
+        view.add(step);
+        modelView.add(step);
+        view.sort(Comparator.reverseOrder());
+        modelView.sort(Comparator.reverseOrder());
+        assertEquals(modelView.remove(0), view.remove(0));
+        if (random.nextBoolean()) {
+          view.clear();
+          modelView.clear();
+        }
+        assertEquals(modelView.size(), view.size());
+      }
+      else if (op == 5) {
+        list.ensureCapacity(model.size() + random.nextInt(100));
+      }
+      else if (op == 6) {
+        list.trimToSize();
+      }
+      else {
+        list.add(random.nextInt(50));
+        model.add(list.get(list.size() - 1));
+      }
+      assertEquals(model, contents(list), "step " + step);
+    }
+  }
+
+  @Test
+  void addAllOfItselfDuplicatesTheList() {
+    ArrayList<Integer> list = listOf(new int[] {1, 2, 3});
+    list.trimToSize();
+    list.addAll(list);
+    list.addAll(1, list);
+    assertEquals(List.of(1, 1, 2, 3, 1, 2, 3, 2, 3, 1, 2, 3), contents(list));
+  }
+
+  @Test
+  void removeIfLeavesTheListUnchangedWhenTheConditionThrows() {
+    ArrayList<Integer> list = listOf(TestData.ints(TestData.Shape.SORTED, 200, 3));
+    List<Integer> before = contents(list);
+    assertThrows(IllegalStateException.class, () -> list.removeIf(e -> {
+      if (e == 100) {
+        throw new IllegalStateException();
+      }
+      return e % 4 == 0;
+    }));
+    assertEquals(before, contents(list));
+    Collection<Integer> throwing = new HashSet<Integer>() {
+      @Override
+      public boolean contains(Object o) {
+        if (Integer.valueOf(0).equals(o)) {
+          throw new IllegalStateException();
+        }
+        return false;
+      }
+    };
+    assertThrows(IllegalStateException.class, () -> list.retainAll(throwing));
+    assertEquals(before, contents(list));
+    assertThrows(IllegalStateException.class, () -> list.subList(50, 150).removeIf(e -> {
+      throw new IllegalStateException();
+    }));
+    assertEquals(before, contents(list));
+  }
+
+  @Test
+  void removeIfFailsFastWhenTheConditionChangesTheList() {
+    ArrayList<Integer> list = listOf(new int[] {1, 2, 3});
+    assertThrows(ConcurrentModificationException.class, () -> list.removeIf(e -> list.add(e)));
+  }
+
+  @Test
+  void subListFailsFastAndChecksItsBounds() {
+    ArrayList<Integer> list = listOf(TestData.ints(TestData.Shape.SORTED, 10, 4));
+    ArrayList<Integer>.SubList view = list.subList(2, 8);
+    list.add(1);
+    assertThrows(ConcurrentModificationException.class, view::size);
+    assertThrows(IllegalArgumentException.class, () -> list.subList(5, 4));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.subList(-1, 4));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.subList(0, 12));
+    ArrayList<Integer>.SubList empty = list.subList(11, 11);
+    assertFalse(empty.iterator().hasNext());
+    assertFalse(empty.removeIf(e -> true));
+  }
+
+  @Test
+  void streamsMatchTheList() {
+    for (int length : TestData.LENGTHS) {
+      ArrayList<Integer> list = listOf(TestData.ints(TestData.Shape.RANDOM, length, length));
+      List<Integer> expected = contents(list);
+      assertEquals(expected, list.stream().collect(Collectors.toList()));
+      assertEquals(expected, list.parallelStream().collect(Collectors.toList()));
+      assertEquals(expected.stream().mapToLong(e -> e).sum(), list.parallelStream().mapToLong(e -> e).sum());
+    }
+  }
+
+  @Test
+  void spliteratorBindsLateAndSplitsEvenly() {
+    ArrayList<Integer> list = listOf(TestData.ints(TestData.Shape.SORTED, 100, 5));
+    Spliterator<Integer> spliterator = list.spliterator();
+    list.add(1000);
+    assertEquals(101, spliterator.estimateSize());
+    assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED));
+    Spliterator<Integer> prefix = spliterator.trySplit();
+    assertEquals(50, prefix.estimateSize());
+    assertEquals(51, spliterator.estimateSize());
+    List<Integer> seen = new java.util.ArrayList<Integer>();
+    prefix.forEachRemaining(seen::add);
+    while (spliterator.tryAdvance(seen::add)) {
+    }
+    assertEquals(contents(list), seen);
+    assertNull(listOf(new int[] {1}).spliterator().trySplit());
+  }
+
+  @Test
+  void spliteratorFailsFast() {
+    ArrayList<Integer> list = listOf(TestData.ints(TestData.Shape.SORTED, 10, 6));
+    Spliterator<Integer> spliterator = list.spliterator();
+    spliterator.tryAdvance(e -> { });
+    list.add(1);
+    assertThrows(ConcurrentModificationException.class, () -> spliterator.tryAdvance(e -> { }));
+    assertThrows(ConcurrentModificationException.class, () -> list.stream().forEach(e -> list.remove(0)));
+  }
+
+  @Test
+  void iteratorWalksBothWaysAndRemovesTheLastReturnedElement() {
+    ArrayList<Integer> list = listOf(new int[] {0, 1, 2, 3, 4});
+    ArrayList<Integer>.ArrayListIterator<Integer> iterator = list.new ArrayListIterator<Integer>();
+    assertThrows(IllegalStateException.class, iterator::remove);
+    assertEquals(0, iterator.next());
+    assertEquals(1, iterator.next());
+    assertEquals(2, iterator.nextIndex());
+    assertEquals(1, iterator.previousIndex());
+    assertEquals(1, iterator.previous());
+    iterator.remove();
+    assertThrows(IllegalStateException.class, iterator::remove);
+    assertEquals(List.of(0, 2, 3, 4), contents(list));
+    assertEquals(2, iterator.next());
+    iterator.remove();
+    assertEquals(List.of(0, 3, 4), contents(list));
+    assertTrue(iterator.hasPrevious());
+    List<Integer> rest = new java.util.ArrayList<Integer>();
+    iterator.forEachRemaining(rest::add);
+    assertEquals(List.of(3, 4), rest);
+    assertFalse(iterator.hasNext());
+    assertThrows(NoSuchElementException.class, iterator::next);
+    iterator.remove();
+    assertEquals(List.of(0, 3), contents(list));
+  }
+
+  @Test
+  void iteratingNeverChangesTheList() {
+    ArrayList<Integer> list = listOf(new int[] {5, 6, 7});
+    Iterator<Integer> iterator = list.iterator();
+    while (iterator.hasNext()) {
+      iterator.next();
+    }
+    assertThrows(NoSuchElementException.class, iterator::next);
+    assertEquals(List.of(5, 6, 7), contents(list));
+    list.add(8);
+    assertEquals(List.of(5, 6, 7, 8), contents(list));
+  }
+
+  @Test
+  void iteratorFailsFast() {
+    ArrayList<Integer> list = listOf(new int[] {0, 1, 2, 3});
+    Iterator<Integer> iterator = list.iterator();
+    iterator.next();
+    list.set(0, 9);
+    iterator.next();
+    list.add(4);
+    assertThrows(ConcurrentModificationException.class, iterator::next);
+    assertThrows(ConcurrentModificationException.class, iterator::remove);
+    Iterator<Integer> removing = list.iterator();
+    assertThrows(ConcurrentModificationException.class, () -> removing.forEachRemaining(e -> list.remove(0)));
+    assertThrows(ConcurrentModificationException.class, () -> list.forEach(e -> list.add(e)));
+  }
+
+  @Test
+  void binarySearchesMatchALinearScan() {
+    Comparator<Integer> natural = Comparator.naturalOrder();
+    for (int length : new int[] {0, 1, 2, 3, 100}) {
+      int[] values = TestData.ints(TestData.Shape.DUPLICATES, length, length);
+      java.util.Arrays.sort(values);
+      ArrayList<Integer> list = listOf(values);
+      for (int key = -6; key <= 6; key++) {
+        int less = 0;
+        int notGreater = 0;
+        for (int v : values) {
+          less += v < key ? 1 : 0;
+          notGreater += v <= key ? 1 : 0;
+        }
+        assertEquals(less, list.lowerBound(key, natural), length + " " + key);
+        assertEquals(notGreater, list.upperBound(key, natural), length + " " + key);
+        int index = list.binarySearch(key, natural);
+        if (less < notGreater) {
+          assertEquals(key, list.get(index));
+        }
+        else {
+          assertEquals(-less - 1, index);
+        }
+      }
+    }
+  }
+
+  @Test
+  void insertSortedKeepsTheListSortedAndStable() {
+    ArrayList<int[]> list = new ArrayList<int[]>();
+    Comparator<int[]> byKey = Comparator.comparingInt(pair -> pair[0]);
+    List<int[]> model = new java.util.ArrayList<int[]>();
+    int[] keys = TestData.ints(TestData.Shape.DUPLICATES, 500, 7);
+    for (int i = 0; i < keys.length; i++) {
+      int[] pair = {keys[i], i};
+      int index = list.insertSorted(pair, byKey);
+      assertSame(pair, list.get(index));
+      model.add(pair);
+    }
+    model.sort(byKey);
+    assertEquals(model, contents(list));
+  }
+
+  @Test
+  void rangeIsAViewBetweenTwoKeys() {
+    Comparator<Integer> natural = Comparator.naturalOrder();
+    ArrayList<Integer> list = listOf(new int[] {1, 2, 2, 3, 5, 8, 8, 9});
+    ArrayList<Integer>.SubList range = list.range(2, 8, natural);
+    List<Integer> seen = new java.util.ArrayList<Integer>();
+    range.forEach(seen::add);
+    assertEquals(List.of(2, 2, 3, 5), seen);
+    assertEquals(0, list.range(6, 7, natural).size());
+    assertEquals(8, list.range(0, 10, natural).size());
+    range.clear();
+    assertEquals(List.of(1, 8, 8, 9), contents(list));
+    assertThrows(IllegalArgumentException.class, () -> list.range(3, 2, natural));
+  }
+}
@@ -0,0 +1,639 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * ArraySortTest, checks each of ArraySort's sorts against java.util.Arrays on every shape and length of TestData.
+ * @author Nagoshi, Vincent
+ */
+class ArraySortTest {
+
+  /** Sorts with statistics turned off. */
+  private static final ArraySort<Integer> SORTER = new ArraySort<Integer>(null);
+
+  /**
+   * Recorder, a SortListener that keeps the statistics of the last sort reported to it.
+   */
+  private static class Recorder implements SortListener {
+    String algorithm;
+    int length;
+    long comparisons;
+    long swaps;
+    int sorts;
+    long extractions = -1;
+
+    @Override
+    public void sortCompleted(String algorithm, int length, long comparisons, long swaps, long nanoseconds) {
+      this.algorithm = algorithm;
+      this.length = length;
+      this.comparisons = comparisons;
+      this.swaps = swaps;
+      sorts++;
+    }
+
+    @Override
+    public void keysExtracted(String algorithm, long extractions) {
+      this.extractions = extractions;
+    }
+  }
+
+  /**
+   * Adversary, McIlroy's "killer adversary" for quickSort: a Comparator that decides the order of the elements as the
+   * sort compares them, so that every pivot the sort picks turns out to be nearly the smallest element. A quickSort
+   * without a fallback makes a quadratic number of comparisons against it.
+   */
+  private static class Adversary implements Comparator<Integer> {
+    private final int[] values;
+    private final int gas;
+    private int solid;
+    private int candidate;
+    long comparisons;
+
+    /**
+     * Constructor
+     * @param length, the number of elements, which are the ids 0 to length - 1.
+     */
+    Adversary(int length) {
+      values = new int[length];
+      gas = length;
+      Arrays.fill(values, gas);
+      candidate = -1;
+    }
+
+    @Override
+    public int compare(Integer a, Integer b) {
+      comparisons++;
+      if (values[a] == gas && values[b] == gas) {
+        values[a == candidate ? a : b] = solid++;
+      }
+      if (values[a] == gas) {
+        candidate = a;
+      }
+      else if (values[b] == gas) {
+        candidate = b;
+      }
+      return Integer.compare(values[a], values[b]);
+    }
+  }
+
+  /**
+   * Builds the ids 0 to length - 1 with duplicate-heavy keys, so that a Comparator over the keys shows whether a
+   * sort is stable: java.util.Arrays sorts Objects stably, so a stable sort gives exactly the same order.
+   * @param length, the number of ids.
+   * @return returns the ids in order.
+   */
+  private static Integer[] ids(int length) {
+    Integer[] ids = new Integer[length];
+    for (int i = 0; i < length; i++) {
+      ids[i] = i;
+    }
+    return ids;
+  }
+
+  /**
+   * Compares ids by a duplicate-heavy key.
+   * @param keys, the key of each id.
+   * @return returns a Comparator over the keys.
+   */
+  private static Comparator<Integer> byKey(int[] keys) {
+    return (a, b) -> Integer.compare(keys[a], keys[b]);
+  }
+
+  /**
+   * Checks a sort of ints against Arrays.sort on every shape and length.
+   * @param name, the name of the sort, for failure messages.
+   * @param sort, the sort to check.
+   */
+  private static void checkInts(String name, Consumer<int[]> sort) {
+    for (TestData.Shape shape : TestData.Shape.values()) {
+      for (int length : TestData.LENGTHS) {
+        int[] data = TestData.ints(shape, length, length);
+        int[] expected = data.clone();
+        Arrays.sort(expected);
+        sort.accept(data);
+        assertArrayEquals(expected, data, name + " " + shape + " " + length);
+      }
+    }
+  }
+
+  /**
+   * Checks a sort of longs against Arrays.sort on every shape and length.
+   * @param name, the name of the sort, for failure messages.
+   * @param sort, the sort to check.
+   */
+  private static void checkLongs(String name, Consumer<long[]> sort) {
+    for (TestData.Shape shape : TestData.Shape.values()) {
+      for (int length : TestData.LENGTHS) {
+        long[] data = TestData.longs(shape, length, length);
+        long[] expected = data.clone();
+        Arrays.sort(expected);
+        sort.accept(data);
+        assertArrayEquals(expected, data, name + " " + shape + " " + length);
+      }
+    }
+  }
+
+  /**
+   * Checks a sort of floats against Arrays.sort on every shape and length, which puts -0.0 before 0.0 and NaN last.
+   * @param name, the name of the sort, for failure messages.
+   * @param sort, the sort to check.
+   */
+  private static void checkFloats(String name, Consumer<float[]> sort) {
+    for (TestData.Shape shape : TestData.Shape.values()) {
+      for (int length : TestData.LENGTHS) {
+        float[] data = TestData.floats(shape, length, length);
+        float[] expected = data.clone();
+        Arrays.sort(expected);
+        sort.accept(data);
+        assertArrayEquals(expected, data, name + " " + shape + " " + length);
+      }
+    }
+  }
+
+  /**
+   * Checks a sort of doubles against Arrays.sort on every shape and length, which puts -0.0 before 0.0 and NaN last.
+   * @param name, the name of the sort, for failure messages.
+   * @param sort, the sort to check.
+   */
+  private static void checkDoubles(String name, Consumer<double[]> sort) {
+    for (TestData.Shape shape : TestData.Shape.values()) {
+      for (int length : TestData.LENGTHS) {
+        double[] data = TestData.doubles(shape, length, length);
+        double[] expected = data.clone();
+        Arrays.sort(expected);
+        sort.accept(data);
+        assertArrayEquals(expected, data, name + " " + shape + " " + length);
+      }
+    }
+  }
+
+  @Test
+  void parallelMergeSortMatchesArraysSort() {
+    ArraySort<Integer> sorter = new ArraySort<Integer>(null);
+    sorter.setParallelThreshold(16);
+    for (TestData.Shape shape : TestData.Shape.values()) {
+      for (int length : TestData.LENGTHS) {
+        Integer[] data = TestData.boxed(TestData.ints(shape, length, length));
+        Integer[] expected = data.clone();
+        Arrays.sort(expected);
+        sorter.parallelMergeSort(data, Comparator.naturalOrder());
+        assertArrayEquals(expected, data, shape + " " + length);
+      }
+    }
+  }
+
+  @Test
+  void parallelMergeSortIsStable() {
+    ArraySort<Integer> sorter = new ArraySort<Integer>(null);
+    sorter.setParallelThreshold(16);
+    int[] keys = TestData.ints(TestData.Shape.DUPLICATES, 10007, 1);
+    Comparator<Integer> compare = byKey(keys);
+    Integer[] data = ids(keys.length);
+    Integer[] expected = data.clone();
+    Arrays.sort(expected, compare);
+    sorter.parallelMergeSort(data, compare, new ForkJoinPool(4));
+    assertArrayEquals(expected, data);
+  }
+
+  @Test
+  void parallelMergeSortSectionLeavesTheRestUntouched() {
+    ArraySort<Integer> sorter = new ArraySort<Integer>(null);
+    sorter.setParallelThreshold(16);
+    Integer[] data = TestData.boxed(TestData.ints(TestData.Shape.RANDOM, 1000, 2));
+    Integer[] expected = data.clone();
+    Arrays.sort(expected, 100, 900);
+    sorter.parallelMergeSort(data, 100, 900, Comparator.naturalOrder(), ForkJoinPool.commonPool());
+    assertArrayEquals(expected, data);
+    assertThrows(IllegalArgumentException.class,
+        () -> sorter.parallelMergeSort(data, 5, 4, Comparator.naturalOrder(), ForkJoinPool.commonPool()));
+  }
+
+  @Test
+  void parallelQuickSortMatchesArraysSort() {
+    ArraySort<Integer> sorter = new ArraySort<Integer>(null);
+    sorter.setParallelThreshold(16);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    for (TestData.Shape shape : TestData.Shape.values()) {
+      for (int length : TestData.LENGTHS) {
+        Integer[] data = TestData.boxed(TestData.ints(shape, length, length));
+        Integer[] expected = data.clone();
+        Arrays.sort(expected);
+        sorter.parallelQuickSort(data, Comparator.naturalOrder(), pool);
+        assertArrayEquals(expected, data, shape + " " + length);
+      }
+    }
+  }
+
+  @Test
+  void parallelThresholdMustBePositive() {
+    ArraySort<Integer> sorter = new ArraySort<Integer>(null);
+    assertThrows(IllegalArgumentException.class, () -> sorter.setParallelThreshold(0));
+  }
+
+  @Test
+  void listenerReceivesEveryComparison() {
+    Recorder recorder = new Recorder();
+    ArraySort<Integer> sorter = new ArraySort<Integer>(recorder);
+    AtomicLong calls = new AtomicLong();
+    Comparator<Integer> counting = (a, b) -> {
+      calls.incrementAndGet();
+      return Integer.compare(a, b);
+    };
+    Integer[] data = TestData.boxed(TestData.ints(TestData.Shape.RANDOM, 1000, 3));
+    sorter.mergeSort(data, counting);
+    assertEquals("mergeSort", recorder.algorithm);
+    assertEquals(1000, recorder.length);
+    assertEquals(calls.get(), recorder.comparisons);
+
+    calls.set(0);
+    sorter.setParallelThreshold(16);
+    sorter.parallelMergeSort(TestData.boxed(TestData.ints(TestData.Shape.RANDOM, 1000, 4)), counting);
+    assertEquals("parallelMergeSort", recorder.algorithm);
+    assertEquals(calls.get(), recorder.comparisons);
+    assertEquals(2, recorder.sorts);
+  }
+
+  @Test
+  void nullListenerTurnsStatisticsOff() {
+    Integer[] data = TestData.boxed(TestData.ints(TestData.Shape.RANDOM, 100, 5));
+    Integer[] expected = data.clone();
+    Arrays.sort(expected);
+    new ArraySort<Integer>(null).quickSort(data, Comparator.naturalOrder());
+    assertArrayEquals(expected, data);
+  }
+
+  @Test
+  void intSortsMatchArraysSort() {
+    checkInts("heapSort", SORTER::heapSort);
+    checkInts("mergeSort", SORTER::mergeSort);
+    checkInts("quickSort", SORTER::quickSort);
+    checkInts("radixSort", SORTER::radixSort);
+  }
+
+  @Test
+  void longSortsMatchArraysSort() {
+    checkLongs("heapSort", SORTER::heapSort);
+    checkLongs("mergeSort", SORTER::mergeSort);
+    checkLongs("quickSort", SORTER::quickSort);
+    checkLongs("radixSort", SORTER::radixSort);
+  }
+
+  @Test
+  void floatSortsMatchArraysSort() {
+    checkFloats("heapSort", SORTER::heapSort);
+    checkFloats("mergeSort", SORTER::mergeSort);
+    checkFloats("quickSort", SORTER::quickSort);
+    checkFloats("radixSort", SORTER::radixSort);
+  }
+
+  @Test
+  void doubleSortsMatchArraysSort() {
+    checkDoubles("heapSort", SORTER::heapSort);
+    checkDoubles("mergeSort", SORTER::mergeSort);
+    checkDoubles("quickSort", SORTER::quickSort);
+    checkDoubles("radixSort", SORTER::radixSort);
+  }
+
+  @Test
+  void radixSortMapsSpecialValuesInOrder() {
+    int[] ints = {0, -1, Integer.MAX_VALUE, Integer.MIN_VALUE, 1, Integer.MIN_VALUE + 1, Integer.MAX_VALUE - 1};
+    int[] expectedInts = ints.clone();
+    Arrays.sort(expectedInts);
+    SORTER.radixSort(ints);
+    assertArrayEquals(expectedInts, ints);
+
+    long[] longs = {0, -1, Long.MAX_VALUE, Long.MIN_VALUE, 1, 1L << 32, -(1L << 32)};
+    long[] expectedLongs = longs.clone();
+    Arrays.sort(expectedLongs);
+    SORTER.radixSort(longs);
+    assertArrayEquals(expectedLongs, longs);
+
+    float[] floats = {Float.NaN, 0.0f, -0.0f, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.MIN_VALUE,
+        -Float.MIN_VALUE, Float.MAX_VALUE, -Float.MAX_VALUE, Float.intBitsToFloat(0xffc00000), 1.0f, -1.0f, 0.0f, -0.0f};
+    float[] expectedFloats = floats.clone();
+    Arrays.sort(expectedFloats);
+    SORTER.radixSort(floats);
+    assertArrayEquals(expectedFloats, floats);
+
+    double[] doubles = {Double.NaN, 0.0, -0.0, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.MIN_VALUE,
+        -Double.MIN_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, Double.longBitsToDouble(0xfff8000000000000L), 1.0, -1.0, 0.0, -0.0};
+    double[] expectedDoubles = doubles.clone();
+    Arrays.sort(expectedDoubles);
+    SORTER.radixSort(doubles);
+    assertArrayEquals(expectedDoubles, doubles);
+  }
+
+  @Test
+  void primitiveQuickSortSectionLeavesTheRestUntouched() {
+    int[] ints = TestData.ints(TestData.Shape.RANDOM, 100, 6);
+    int[] expectedInts = ints.clone();
+    Arrays.sort(expectedInts, 10, 90);
+    SORTER.quickSort(ints, 10, 90);
+    assertArrayEquals(expectedInts, ints);
+
+    double[] doubles = TestData.doubles(TestData.Shape.RANDOM, 100, 7);
+    double[] expectedDoubles = doubles.clone();
+    Arrays.sort(expectedDoubles, 10, 90);
+    SORTER.quickSort(doubles, 10, 90);
+    assertArrayEquals(expectedDoubles, doubles);
+
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> SORTER.quickSort(new long[3], 0, 4));
+    assertThrows(IllegalArgumentException.class, () -> SORTER.quickSort(new float[3], 2, 1));
+  }
+
+  @Test
+  void quickSortMatchesArraysSort() {
+    for (TestData.Shape shape : TestData.Shape.values()) {
+      for (int length : TestData.LENGTHS) {
+        Integer[] data = TestData.boxed(TestData.ints(shape, length, length));
+        Integer[] expected = data.clone();
+        Arrays.sort(expected);
+        SORTER.quickSort(data, Comparator.naturalOrder());
+        assertArrayEquals(expected, data, shape + " " + length);
+      }
+    }
+  }
+
+  @Test
+  void quickSortStaysLinearithmicAgainstAnAdversary() {
+    int length = 20000;
+    Adversary adversary = new Adversary(length);
+    Integer[] data = ids(length);
+    SORTER.quickSort(data, adversary);
+    long comparisons = adversary.comparisons;
+    long bound = 8L * length * (32 - Integer.numberOfLeadingZeros(length));
+    assertTrue(comparisons < bound, comparisons + " comparisons");
+    for (int i = 1; i < length; i++) {
+      assertTrue(adversary.compare(data[i - 1], data[i]) <= 0);
+    }
+  }
+
+  @Test
+  void quickSortHandlesLargeDegenerateInputs() {
+    int[] equal = new int[1 << 20];
+    SORTER.quickSort(equal);
+    assertArrayEquals(new int[1 << 20], equal);
+    Integer[] sorted = TestData.boxed(TestData.ints(TestData.Shape.SORTED, 1 << 18, 8));
+    Integer[] expected = sorted.clone();
+    SORTER.quickSort(sorted, Comparator.reverseOrder());
+    SORTER.quickSort(sorted, Comparator.naturalOrder());
+    assertArrayEquals(expected, sorted);
+  }
+
+  @Test
+  void mergeSortIsStableOnEveryShape() {
+    Integer[] buffer = new Integer[TestData.LENGTHS[TestData.LENGTHS.length - 1] / 2];
+    for (TestData.Shape shape : TestData.Shape.values()) {
+      for (int length : TestData.LENGTHS) {
+        int[] keys = TestData.ints(shape, length, length);
+        for (int i = 0; i < length; i++) {
+          keys[i] >>= 2;
+        }
+        Comparator<Integer> compare = byKey(keys);
+        Integer[] data = ids(length);
+        Integer[] expected = data.clone();
+        Arrays.sort(expected, compare);
+        SORTER.mergeSort(data, compare, buffer);
+        assertArrayEquals(expected, data, shape + " " + length);
+      }
+    }
+  }
+
+  @Test
+  void mergeSortMergesManyRunsOfUnevenLengths() {
+    Random random = new Random(9);
+    for (int trial = 0; trial < 20; trial++) {
+      int[] keys = new int[5000 + random.nextInt(5000)];
+      int i = 0;
+      while (i < keys.length) {
+        int run = Math.min(keys.length - i, 1 + random.nextInt(trial < 10 ? 40 : 400));
+        int start = random.nextInt(1000);
+        boolean descending = random.nextBoolean();
+        for (int j = 0; j < run; j++) {
+          keys[i++] = descending ? start - j : start + j;
+        }
+      }
+      Comparator<Integer> compare = byKey(keys);
+      Integer[] data = ids(keys.length);
+      Integer[] expected = data.clone();
+      Arrays.sort(expected, compare);
+      SORTER.mergeSort(data, compare);
+      assertArrayEquals(expected, data, "trial " + trial);
+    }
+  }
+
+  @Test
+  void mergeSortFinishesSortedAndReversedInputsInOnePass() {
+    Recorder recorder = new Recorder();
+    ArraySort<Integer> sorter = new ArraySort<Integer>(recorder);
+    Integer[] sorted = TestData.boxed(TestData.ints(TestData.Shape.SORTED, 10000, 10));
+    sorter.mergeSort(sorted, Comparator.naturalOrder());
+    assertEquals(9999, recorder.comparisons);
+    Integer[] reversed = TestData.boxed(TestData.ints(TestData.Shape.REVERSED, 10000, 10));
+    Integer[] expected = reversed.clone();
+    Arrays.sort(expected);
+    sorter.mergeSort(reversed, Comparator.naturalOrder());
+    assertEquals(9999, recorder.comparisons);
+    assertArrayEquals(expected, reversed);
+  }
+
+  @Test
+  void mergeSortSectionChecksItsBuffer() {
+    Integer[] data = TestData.boxed(TestData.ints(TestData.Shape.RANDOM, 100, 11));
+    Integer[] expected = data.clone();
+    Arrays.sort(expected, 20, 80);
+    SORTER.mergeSort(data, 20, 80, Comparator.naturalOrder(), new Integer[30]);
+    assertArrayEquals(expected, data);
+    assertThrows(IllegalArgumentException.class,
+        () -> SORTER.mergeSort(data, 20, 80, Comparator.naturalOrder(), new Integer[29]));
+    SORTER.mergeSort(new Integer[0], Comparator.naturalOrder(), new Integer[0]);
+  }
+
+  @Test
+  void keySortsCallTheKeyOncePerElementAndAreStable() {
+    Recorder recorder = new Recorder();
+    ArraySort<Integer> sorter = new ArraySort<Integer>(recorder);
+    for (TestData.Shape shape : TestData.Shape.values()) {
+      for (int length : TestData.LENGTHS) {
+        int[] keys = TestData.ints(shape, length, length);
+        Integer[] expected = ids(length);
+        Arrays.sort(expected, byKey(keys));
+        int[] calls = new int[length];
+
+        Integer[] data = ids(length);
+        sorter.sortByLongKey(data, id -> {
+          calls[id]++;
+          return keys[id];
+        });
+        assertArrayEquals(expected, data, "sortByLongKey " + shape + " " + length);
+        assertEquals(length, recorder.extractions);
+
+        data = ids(length);
+        sorter.sortByKey(data, id -> {
+          calls[id]++;
+          return keys[id];
+        });
+        assertArrayEquals(expected, data, "sortByKey " + shape + " " + length);
+        assertEquals(length, recorder.extractions);
+
+        for (int i = 0; i < length; i++) {
+          assertEquals(2, calls[i]);
+        }
+      }
+    }
+  }
+
+  @Test
+  void sortByDoubleKeyOrdersKeysAsDoubleCompare() {
+    for (TestData.Shape shape : TestData.Shape.values()) {
+      for (int length : TestData.LENGTHS) {
+        double[] keys = TestData.doubles(shape, length, length);
+        Comparator<Integer> compare = (a, b) -> Double.compare(keys[a], keys[b]);
+        Integer[] expected = ids(length);
+        Arrays.sort(expected, compare);
+        Integer[] data = ids(length);
+        SORTER.sortByDoubleKey(data, id -> keys[id]);
+        assertArrayEquals(expected, data, shape + " " + length);
+      }
+    }
+  }
+
+  @Test
+  void selectPlacesTheKthSmallestElement() {
+    for (TestData.Shape shape : TestData.Shape.values()) {
+      for (int length : TestData.LENGTHS) {
+        int[] values = TestData.ints(shape, length, length);
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (int k : new int[] {0, length / 3, length / 2, length - 1}) {
+          if (k < 0 || k >= length) {
+            continue;
+          }
+          Integer[] data = TestData.boxed(values);
+          assertEquals(sorted[k], SORTER.select(data, k, Comparator.naturalOrder()), shape + " " + length + " " + k);
+          for (int i = 0; i < length; i++) {
+            assertTrue(i < k ? data[i] <= sorted[k] : data[i] >= sorted[k]);
+          }
+          Arrays.sort(data);
+          assertArrayEquals(TestData.boxed(sorted), data);
+        }
+      }
+    }
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> SORTER.select(new Integer[0], 0, Comparator.naturalOrder()));
+  }
+
+  @Test
+  void partialSortSortsTheKSmallestElements() {
+    for (TestData.Shape shape : TestData.Shape.values()) {
+      for (int length : TestData.LENGTHS) {
+        int[] values = TestData.ints(shape, length, length);
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (int k : new int[] {0, 1, length / 2, length}) {
+          if (k > length) {
+            continue;
+          }
+          Integer[] data = TestData.boxed(values);
+          SORTER.partialSort(data, k, Comparator.naturalOrder());
+          for (int i = 0; i < k; i++) {
+            assertEquals(sorted[i], data[i], shape + " " + length + " " + k);
+          }
+          Arrays.sort(data);
+          assertArrayEquals(TestData.boxed(sorted), data);
+        }
+      }
+    }
+    assertThrows(IllegalArgumentException.class, () -> SORTER.partialSort(new Integer[2], 3, Comparator.naturalOrder()));
+    assertThrows(IllegalArgumentException.class, () -> SORTER.partialSort(new Integer[2], -1, Comparator.naturalOrder()));
+  }
+
+  @Test
+  void topKFindsTheKSmallestElementsInOrder() {
+    for (TestData.Shape shape : TestData.Shape.values()) {
+      for (int length : TestData.LENGTHS) {
+        int[] values = TestData.ints(shape, length, length);
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        java.util.List<Integer> elements = IntStream.of(values).boxed().collect(Collectors.toList());
+        for (int k : new int[] {0, 1, length / 2, length, length + 5}) {
+          ArrayList<Integer> top = SORTER.topK(elements, k, Comparator.naturalOrder());
+          assertEquals(Math.min(k, length), top.size());
+          for (int i = 0; i < top.size(); i++) {
+            assertEquals(sorted[i], top.get(i), shape + " " + length + " " + k);
+          }
+          ArrayList<Integer> largest = SORTER.topK(elements, k, Comparator.reverseOrder());
+          for (int i = 0; i < largest.size(); i++) {
+            assertEquals(sorted[length - 1 - i], largest.get(i), shape + " " + length + " " + k);
+          }
+        }
+      }
+    }
+    assertThrows(IllegalArgumentException.class, () -> SORTER.topK(java.util.List.of(1), -1, Comparator.naturalOrder()));
+  }
+
+  @Test
+  void mergeOfArraysMatchesAStableSortOfTheRuns() {
+    ArraySort<int[]> sorter = new ArraySort<int[]>(null);
+    Comparator<int[]> byValue = Comparator.comparingInt(pair -> pair[0]);
+    Random random = new Random(12);
+    for (int k : new int[] {0, 1, 2, 3, 5, 8, 17, 64}) {
+      int[][][] runs = new int[k][][];
+      int total = 0;
+      for (int r = 0; r < k; r++) {
+        int[] values = TestData.ints(TestData.Shape.DUPLICATES, r % 4 == 3 ? 0 : random.nextInt(200), r);
+        Arrays.sort(values);
+        runs[r] = new int[values.length][];
+        for (int i = 0; i < values.length; i++) {
+          runs[r][i] = new int[] {values[i], r};
+        }
+        total += values.length;
+      }
+      int[][] expected = Arrays.stream(runs).flatMap(Arrays::stream).sorted(byValue).toArray(int[][]::new);
+      int[][] destination = new int[total + 1][];
+      assertEquals(total, sorter.merge(runs, byValue, destination));
+      for (int i = 0; i < total; i++) {
+        assertArrayEquals(expected[i], destination[i], k + " runs");
+      }
+      if (total > 0) {
+        assertThrows(IllegalArgumentException.class, () -> sorter.merge(runs, byValue, new int[0][]));
+      }
+    }
+  }
+
+  @Test
+  void mergeOfIterablesIsLazyAndExhaustible() {
+    java.util.List<java.util.List<Integer>> runs = new java.util.ArrayList<java.util.List<Integer>>();
+    java.util.List<Integer> expected = new java.util.ArrayList<Integer>();
+    for (int r = 0; r < 10; r++) {
+      int[] values = TestData.ints(TestData.Shape.RANDOM, r * 37, r);
+      Arrays.sort(values);
+      java.util.List<Integer> run = IntStream.of(values).boxed().collect(Collectors.toList());
+      runs.add(run);
+      expected.addAll(run);
+    }
+    expected.sort(Comparator.naturalOrder());
+    Iterator<Integer> merged = SORTER.merge(runs, Comparator.naturalOrder());
+    for (Integer e : expected) {
+      assertTrue(merged.hasNext());
+      assertEquals(e, merged.next());
+    }
+    assertFalse(merged.hasNext());
+    assertThrows(NoSuchElementException.class, merged::next);
+    assertFalse(SORTER.merge(new java.util.ArrayList<java.util.List<Integer>>(), Comparator.naturalOrder()).hasNext());
+  }
+}
@@ -0,0 +1,116 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * CopyOnWriteArrayListTest, checks the CopyOnWriteArrayList against a java.util.ArrayList, and that readers only
+ * ever see whole writes.
+ * @author Nagoshi, Vincent
+ */
+class CopyOnWriteArrayListTest {
+
+  @Test
+  void matchesJavaUtilArrayList() {
+    CopyOnWriteArrayList<Integer> list = new CopyOnWriteArrayList<Integer>();
+    List<Integer> model = new java.util.ArrayList<Integer>();
+    Random random = new Random(1);
+    for (int step = 0; step < 3000; step++) {
+      int op = random.nextInt(6);
+      int value = random.nextInt(100);
+      if (op == 0 || model.isEmpty()) {
+        list.add(value);
+        model.add(value);
+      }
+      else if (op == 1) {
+        int index = random.nextInt(model.size() + 1);
+        list.add(index, value);
+        model.add(index, value);
+      }
+      else if (op == 2) {
+        List<Integer> added = List.of(value, value + 1);
+        assertTrue(list.addAll(added));
+        model.addAll(added);
+      }
+      else if (op == 3) {
+        int index = random.nextInt(model.size());
+        assertEquals(model.remove(index), list.remove(index));
+      }
+      else if (op == 4) {
+        assertEquals(model.removeIf(e -> e == value), list.removeIf(e -> e == value));
+      }
+      else {
+        int index = random.nextInt(model.size());
+        assertEquals(model.set(index, value), list.set(index, value));
+      }
+      assertEquals(model.size(), list.size());
+    }
+    assertArrayEquals(model.toArray(), list.toArray());
+    assertFalse(list.addAll(List.of()));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.get(list.size()));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.add(-1, 0));
+  }
+
+  @Test
+  void iteratorsAndToArrayAreSnapshots() {
+    CopyOnWriteArrayList<Integer> list = new CopyOnWriteArrayList<Integer>();
+    list.addAll(List.of(1, 2, 3));
+    Iterator<Integer> iterator = list.iterator();
+    Object[] copy = list.toArray();
+    list.add(4);
+    list.remove(0);
+    list.set(0, 9);
+    copy[0] = 0;
+    List<Integer> seen = new java.util.ArrayList<Integer>();
+    iterator.forEachRemaining(seen::add);
+    assertEquals(List.of(1, 2, 3), seen);
+    assertArrayEquals(new Object[] {9, 3, 4}, list.toArray());
+    List<Integer> visited = new java.util.ArrayList<Integer>();
+    list.forEach(e -> {
+      visited.add(e);
+      list.add(e);
+    });
+    assertEquals(List.of(9, 3, 4), visited);
+    assertEquals(6, list.size());
+  }
+
+  @Test
+  void readersSeeOnlyWholeWrites() throws InterruptedException {
+    CopyOnWriteArrayList<Integer> list = new CopyOnWriteArrayList<Integer>();
+    AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+    Thread writer = new Thread(() -> {
+      for (int i = 0; i < 2000; i += 2) {
+        list.addAll(List.of(i, i + 1));
+      }
+    });
+    Thread reader = new Thread(() -> {
+      try {
+        while (list.size() < 2000) {
+          int expected = 0;
+          for (Integer e : list) {
+            assertEquals(expected++, e);
+          }
+          assertEquals(0, expected % 2);
+        }
+      }
+      catch (Throwable t) {
+        failure.set(t);
+      }
+    });
+    reader.start();
+    writer.start();
+    writer.join();
+    reader.join();
+    if (failure.get() != null) {
+      throw new AssertionError(failure.get());
+    }
+  }
+}
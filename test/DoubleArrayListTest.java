@@ -0,0 +1,110 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * DoubleArrayListTest, checks the DoubleArrayList against a java.util.ArrayList of boxed values. Its sort orders NaN,
+ * -0.0 and 0.0 as Arrays.sort does.
+ * @author Nagoshi, Vincent
+ */
+class DoubleArrayListTest {
+
+  @Test
+  void matchesJavaUtilArrayListUnderRandomEdits() {
+    DoubleArrayList list = new DoubleArrayList();
+    java.util.List<Double> model = new java.util.ArrayList<Double>();
+    Random random = new Random(1);
+    for (int step = 0; step < 20000; step++) {
+      int op = random.nextInt(4);
+      if (op == 0 || model.isEmpty()) {
+        double value = random.nextGaussian();
+        list.add(value);
+        model.add(value);
+      }
+      else if (op == 1) {
+        int index = random.nextInt(model.size() + 1);
+        double value = random.nextGaussian();
+        list.add(index, value);
+        model.add(index, value);
+      }
+      else if (op == 2) {
+        int index = random.nextInt(model.size());
+        assertEquals(model.remove(index), list.remove(index));
+      }
+      else {
+        int index = random.nextInt(model.size());
+        double value = random.nextGaussian();
+        assertEquals(model.set(index, value), list.set(index, value));
+      }
+      assertEquals(model.size(), list.size());
+    }
+    double[] expected = new double[model.size()];
+    for (int i = 0; i < expected.length; i++) {
+      expected[i] = model.get(i);
+      assertEquals(expected[i], list.get(i));
+    }
+    assertArrayEquals(expected, list.toArray());
+    double[] visited = new double[list.size()];
+    int[] next = {0};
+    list.forEach((double e) -> visited[next[0]++] = e);
+    assertArrayEquals(expected, visited);
+    PrimitiveIterator.OfDouble iterator = list.iterator();
+    for (double e : expected) {
+      assertEquals(e, iterator.nextDouble());
+    }
+    assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  void indicesAreChecked() {
+    DoubleArrayList list = new DoubleArrayList();
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.get(0));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.remove(0));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.set(0, 1.0));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.add(1, 1.0));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.add(-1, 1.0));
+  }
+
+  @Test
+  void sortMatchesArraysSort() {
+    for (TestData.Shape shape : TestData.Shape.values()) {
+      for (int length : TestData.LENGTHS) {
+        double[] data = TestData.doubles(shape, length, length);
+        DoubleArrayList list = new DoubleArrayList();
+        for (double e : data) {
+          list.add(e);
+        }
+        Arrays.sort(data);
+        list.sort();
+        assertArrayEquals(data, list.toArray(), shape + " " + length);
+      }
+    }
+  }
+
+  @Test
+  void iteratorFailsFast() {
+    DoubleArrayList list = new DoubleArrayList();
+    for (int i = 0; i < 10; i++) {
+      list.add(1.0);
+    }
+    PrimitiveIterator.OfDouble iterator = list.iterator();
+    iterator.nextDouble();
+    list.set(0, 1.0);
+    iterator.nextDouble();
+    list.add(1.0);
+    assertThrows(ConcurrentModificationException.class, iterator::nextDouble);
+    PrimitiveIterator.OfDouble removing = list.iterator();
+    assertThrows(ConcurrentModificationException.class, () -> removing.forEachRemaining((double e) -> list.remove(0)));
+    PrimitiveIterator.OfDouble inserting = list.iterator();
+    list.add(0, 1.0);
+    assertThrows(ConcurrentModificationException.class, () -> inserting.forEachRemaining((double e) -> { }));
+  }
+}
@@ -0,0 +1,152 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * ExternalSortTest, checks ExternalSort against a stable in-memory sort with runs small enough to need several
+ * merge passes.
+ * @author Nagoshi, Vincent
+ */
+class ExternalSortTest {
+
+  /**
+   * Defines an element with a duplicate-heavy key and the position it was read from, to check stability.
+   */
+  private record Entry(int key, int id) {
+  }
+
+  /** Writes an Entry as two ints. */
+  private static final ExternalSort.Serializer<Entry> SERIALIZER = new ExternalSort.Serializer<Entry>() {
+    @Override
+    public void write(Entry element, DataOutput out) throws IOException {
+      out.writeInt(element.key());
+      out.writeInt(element.id());
+    }
+
+    @Override
+    public Entry read(DataInput in) throws IOException {
+      return new Entry(in.readInt(), in.readInt());
+    }
+  };
+
+  private static final Comparator<Entry> BY_KEY = Comparator.comparingInt(Entry::key);
+
+  @TempDir
+  Path directory;
+
+  /**
+   * Builds Entries with keys from 0 to 49.
+   * @param length, the number of Entries.
+   * @param seed, the seed of the random keys.
+   * @return returns the Entries in input order.
+   */
+  private static Entry[] entries(int length, long seed) {
+    Random random = new Random(seed);
+    Entry[] entries = new Entry[length];
+    for (int i = 0; i < length; i++) {
+      entries[i] = new Entry(random.nextInt(50), i);
+    }
+    return entries;
+  }
+
+  /**
+   * Reads every Entry of a file.
+   * @param path, the file to read.
+   * @return returns the Entries in the file.
+   * @throws IOException if the file cannot be read.
+   */
+  private static Entry[] read(Path path) throws IOException {
+    Entry[] entries = new Entry[(int) (Files.size(path) / 8)];
+    try (DataInputStream in = new DataInputStream(Files.newInputStream(path))) {
+      for (int i = 0; i < entries.length; i++) {
+        entries[i] = SERIALIZER.read(in);
+      }
+    }
+    return entries;
+  }
+
+  /**
+   * Builds an ExternalSort that keeps at most 100 elements in memory and opens at most 3 files at once, writing its
+   * runs to their own directory.
+   * @return returns the ExternalSort.
+   * @throws IOException if the run directory cannot be created.
+   */
+  private ExternalSort<Entry> sorter() throws IOException {
+    ExternalSort<Entry> sorter = new ExternalSort<Entry>(SERIALIZER, BY_KEY, null);
+    sorter.setMaxRecordsInMemory(100);
+    sorter.setMaxOpenFiles(3);
+    sorter.setBufferSize(64);
+    sorter.setTempDirectory(Files.createDirectories(directory.resolve("runs")));
+    return sorter;
+  }
+
+  @Test
+  void sortsAnIteratorStably() throws IOException {
+    ExternalSort<Entry> sorter = sorter();
+    for (int length : new int[] {0, 1, 99, 100, 101, 1000, 25000}) {
+      Entry[] entries = entries(length, length);
+      Entry[] expected = entries.clone();
+      Arrays.sort(expected, BY_KEY);
+      Path output = directory.resolve("sorted" + length);
+      sorter.sort(Arrays.asList(entries).iterator(), output);
+      assertArrayEquals(expected, read(output), "length " + length);
+    }
+    assertEquals(0, sorter.getTempDirectory().toFile().list().length);
+  }
+
+  @Test
+  void sortsAFileStably() throws IOException {
+    ExternalSort<Entry> sorter = sorter();
+    Entry[] entries = entries(5000, 1);
+    Path input = directory.resolve("input");
+    try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(input))) {
+      for (Entry e : entries) {
+        SERIALIZER.write(e, out);
+      }
+    }
+    Path output = directory.resolve("output");
+    sorter.sort(input, output);
+    Entry[] expected = entries.clone();
+    Arrays.sort(expected, BY_KEY);
+    assertArrayEquals(expected, read(output));
+    assertArrayEquals(entries, read(input));
+    assertEquals(0, sorter.getTempDirectory().toFile().list().length);
+  }
+
+  @Test
+  void deletesItsRunsWhenTheInputFails() throws IOException {
+    ExternalSort<Entry> sorter = sorter();
+    Path input = directory.resolve("truncated");
+    try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(input))) {
+      for (Entry e : entries(250, 2)) {
+        SERIALIZER.write(e, out);
+      }
+      out.writeShort(0);
+    }
+    assertThrows(IOException.class, () -> sorter.sort(input, directory.resolve("output")));
+    assertEquals(0, sorter.getTempDirectory().toFile().list().length);
+  }
+
+  @Test
+  void settingsAreChecked() {
+    ExternalSort<Entry> sorter = new ExternalSort<Entry>(SERIALIZER, BY_KEY, null);
+    assertThrows(IllegalArgumentException.class, () -> sorter.setMaxRecordsInMemory(0));
+    assertThrows(IllegalArgumentException.class, () -> sorter.setMaxOpenFiles(2));
+    assertThrows(IllegalArgumentException.class, () -> sorter.setBufferSize(0));
+    assertThrows(NullPointerException.class, () -> sorter.setTempDirectory(null));
+  }
+}
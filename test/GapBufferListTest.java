@@ -0,0 +1,99 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * GapBufferListTest, checks the GapBufferList against a java.util.ArrayList under edits clustered around a cursor
+ * and edits at random positions, which move the gap across the whole list.
+ * @author Nagoshi, Vincent
+ */
+class GapBufferListTest {
+
+  /**
+   * Copies the elements of a GapBufferList into a java.util.List, walking it with its iterator.
+   * @param list, the list to copy.
+   * @return returns the elements in order.
+   */
+  private static <E> List<E> contents(GapBufferList<E> list) {
+    List<E> copy = new java.util.ArrayList<E>();
+    for (E e : list) {
+      copy.add(e);
+    }
+    return copy;
+  }
+
+  @Test
+  void matchesJavaUtilArrayList() {
+    GapBufferList<Integer> list = new GapBufferList<Integer>();
+    List<Integer> model = new java.util.ArrayList<Integer>();
+    Random random = new Random(1);
+    int cursor = 0;
+    for (int step = 0; step < 20000; step++) {
+      if (random.nextInt(50) == 0 || cursor > model.size()) {
+        cursor = random.nextInt(model.size() + 1);
+      }
+      int op = random.nextInt(5);
+      if (op <= 1 || model.isEmpty()) {
+        list.add(cursor, step);
+        model.add(cursor, step);
+        cursor++;
+      }
+      else if (op == 2 && cursor > 0) {
+        cursor--;
+        assertEquals(model.remove(cursor), list.remove(cursor));
+      }
+      else if (op == 3) {
+        int index = random.nextInt(model.size());
+        assertEquals(model.set(index, -step), list.set(index, -step));
+      }
+      else {
+        list.add(step);
+        model.add(step);
+      }
+      assertEquals(model.size(), list.size());
+      if (step % 1000 == 0) {
+        assertEquals(model, contents(list));
+      }
+    }
+    for (int i = 0; i < model.size(); i++) {
+      assertEquals(model.get(i), list.get(i));
+    }
+    while (!model.isEmpty()) {
+      int index = random.nextInt(model.size());
+      assertEquals(model.remove(index), list.remove(index));
+    }
+    assertEquals(0, list.size());
+  }
+
+  @Test
+  void indicesAreChecked() {
+    GapBufferList<Integer> list = new GapBufferList<Integer>();
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.get(0));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.remove(0));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.set(0, 1));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.add(1, 1));
+    list.add(0, 1);
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.get(1));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.get(-1));
+  }
+
+  @Test
+  void iteratorFailsFast() {
+    GapBufferList<Integer> list = new GapBufferList<Integer>();
+    for (int i = 0; i < 5; i++) {
+      list.add(i);
+    }
+    Iterator<Integer> iterator = list.iterator();
+    iterator.next();
+    list.set(3, 7);
+    iterator.next();
+    list.add(0, 9);
+    assertThrows(ConcurrentModificationException.class, iterator::next);
+  }
+}
@@ -0,0 +1,109 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * IntArrayListTest, checks the IntArrayList against a java.util.ArrayList of boxed values.
+ * @author Nagoshi, Vincent
+ */
+class IntArrayListTest {
+
+  @Test
+  void matchesJavaUtilArrayListUnderRandomEdits() {
+    IntArrayList list = new IntArrayList();
+    java.util.List<Integer> model = new java.util.ArrayList<Integer>();
+    Random random = new Random(1);
+    for (int step = 0; step < 20000; step++) {
+      int op = random.nextInt(4);
+      if (op == 0 || model.isEmpty()) {
+        int value = random.nextInt(1000);
+        list.add(value);
+        model.add(value);
+      }
+      else if (op == 1) {
+        int index = random.nextInt(model.size() + 1);
+        int value = random.nextInt(1000);
+        list.add(index, value);
+        model.add(index, value);
+      }
+      else if (op == 2) {
+        int index = random.nextInt(model.size());
+        assertEquals(model.remove(index), list.remove(index));
+      }
+      else {
+        int index = random.nextInt(model.size());
+        int value = random.nextInt(1000);
+        assertEquals(model.set(index, value), list.set(index, value));
+      }
+      assertEquals(model.size(), list.size());
+    }
+    int[] expected = new int[model.size()];
+    for (int i = 0; i < expected.length; i++) {
+      expected[i] = model.get(i);
+      assertEquals(expected[i], list.get(i));
+    }
+    assertArrayEquals(expected, list.toArray());
+    int[] visited = new int[list.size()];
+    int[] next = {0};
+    list.forEach((int e) -> visited[next[0]++] = e);
+    assertArrayEquals(expected, visited);
+    PrimitiveIterator.OfInt iterator = list.iterator();
+    for (int e : expected) {
+      assertEquals(e, iterator.nextInt());
+    }
+    assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  void indicesAreChecked() {
+    IntArrayList list = new IntArrayList();
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.get(0));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.remove(0));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.set(0, 1));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.add(1, 1));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.add(-1, 1));
+  }
+
+  @Test
+  void sortMatchesArraysSort() {
+    for (TestData.Shape shape : TestData.Shape.values()) {
+      for (int length : TestData.LENGTHS) {
+        int[] data = TestData.ints(shape, length, length);
+        IntArrayList list = new IntArrayList();
+        for (int e : data) {
+          list.add(e);
+        }
+        Arrays.sort(data);
+        list.sort();
+        assertArrayEquals(data, list.toArray(), shape + " " + length);
+      }
+    }
+  }
+
+  @Test
+  void iteratorFailsFast() {
+    IntArrayList list = new IntArrayList();
+    for (int i = 0; i < 10; i++) {
+      list.add(1);
+    }
+    PrimitiveIterator.OfInt iterator = list.iterator();
+    iterator.nextInt();
+    list.set(0, 1);
+    iterator.nextInt();
+    list.add(1);
+    assertThrows(ConcurrentModificationException.class, iterator::nextInt);
+    PrimitiveIterator.OfInt removing = list.iterator();
+    assertThrows(ConcurrentModificationException.class, () -> removing.forEachRemaining((int e) -> list.remove(0)));
+    PrimitiveIterator.OfInt inserting = list.iterator();
+    list.add(0, 1);
+    assertThrows(ConcurrentModificationException.class, () -> inserting.forEachRemaining((int e) -> { }));
+  }
+}
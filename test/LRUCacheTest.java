@@ -0,0 +1,89 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * LRUCacheTest, checks the LRUCache against an access ordered java.util.LinkedHashMap that evicts its eldest entry.
+ * @author Nagoshi, Vincent
+ */
+class LRUCacheTest {
+
+  /**
+   * Builds an access ordered LinkedHashMap that holds at most a given number of entries.
+   * @param capacity, the largest number of entries the map holds.
+   * @return returns the map.
+   */
+  private static Map<Integer, Integer> modelOf(int capacity) {
+    return new LinkedHashMap<Integer, Integer>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest) {
+        return size() > capacity;
+      }
+    };
+  }
+
+  @Test
+  void operationsMatchAnAccessOrderedLinkedHashMap() {
+    Random random = new Random(23);
+    for (int capacity : new int[] {1, 2, 3, 16, 100}) {
+      LRUCache<Integer, Integer> cache = new LRUCache<Integer, Integer>(capacity);
+      Map<Integer, Integer> model = modelOf(capacity);
+      assertEquals(capacity, cache.capacity());
+      for (int step = 0; step < 20000; step++) {
+        String message = "capacity " + capacity + " step " + step;
+        int key = random.nextInt(capacity * 2 + 1);
+        int value = random.nextInt();
+        switch (random.nextInt(4)) {
+          case 0:
+          case 1:
+            assertEquals(model.put(key, value), cache.put(key, value), message);
+            break;
+          case 2:
+            assertEquals(model.get(key), cache.get(key), message);
+            break;
+          default:
+            assertEquals(model.remove(key), cache.remove(key), message);
+            break;
+        }
+        assertEquals(model.size(), cache.size(), message);
+      }
+      for (int key = 0; key <= capacity * 2; key++) {
+        assertEquals(model.get(key), cache.get(key), "capacity " + capacity + " key " + key);
+      }
+    }
+  }
+
+  @Test
+  void evictsTheLeastRecentlyUsedEntry() {
+    LRUCache<String, Integer> cache = new LRUCache<String, Integer>(2);
+    cache.put("a", 1);
+    cache.put("b", 2);
+    assertEquals(1, cache.get("a"));
+    cache.put("c", 3);
+    assertNull(cache.get("b"));
+    assertEquals(1, cache.put("a", 4));
+    cache.put("d", 5);
+    assertNull(cache.get("c"));
+    assertEquals(4, cache.get("a"));
+    assertEquals(5, cache.get("d"));
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  void rejectsNullsAndCapacitiesBelowOne() {
+    assertThrows(IllegalArgumentException.class, () -> new LRUCache<Integer, Integer>(0));
+    assertThrows(IllegalArgumentException.class, () -> new LRUCache<Integer, Integer>(-1));
+    LRUCache<Integer, Integer> cache = new LRUCache<Integer, Integer>(1);
+    assertThrows(NullPointerException.class, () -> cache.put(null, 1));
+    assertThrows(NullPointerException.class, () -> cache.put(1, null));
+    assertEquals(0, cache.size());
+  }
+}
@@ -0,0 +1,405 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * LinkedListTest, checks the LinkedList against java.util.LinkedList and java.util.Collections.
+ * @author Nagoshi, Vincent
+ */
+class LinkedListTest {
+
+  /**
+   * Builds a LinkedList holding given values.
+   * @param values, the values to add.
+   * @return returns the list.
+   */
+  private static LinkedList<Integer> listOf(int[] values) {
+    LinkedList<Integer> list = new LinkedList<Integer>();
+    for (int v : values) {
+      list.add(v);
+    }
+    return list;
+  }
+
+  /**
+   * Copies the elements of a LinkedList into a java.util.List, walking it with its iterator.
+   * @param list, the list to copy.
+   * @return returns the elements in order.
+   */
+  private static <E> List<E> contents(LinkedList<E> list) {
+    List<E> copy = new java.util.ArrayList<E>();
+    for (E e : list) {
+      copy.add(e);
+    }
+    return copy;
+  }
+
+  @Test
+  void streamsMatchTheList() {
+    for (int length : new int[] {0, 1, 2, 1023, 1024, 1025, 5000}) {
+      LinkedList<Integer> list = listOf(TestData.ints(TestData.Shape.RANDOM, length, length));
+      List<Integer> expected = contents(list);
+      assertEquals(expected, list.stream().collect(Collectors.toList()));
+      assertEquals(expected, list.parallelStream().collect(Collectors.toList()));
+    }
+  }
+
+  @Test
+  void spliteratorBindsLateAndSplitsInBatches() {
+    LinkedList<Integer> list = listOf(TestData.ints(TestData.Shape.SORTED, 3000, 1));
+    Spliterator<Integer> spliterator = list.spliterator();
+    list.add(7);
+    assertEquals(3001, spliterator.estimateSize());
+    assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED));
+    List<Integer> seen = new java.util.ArrayList<Integer>();
+    Spliterator<Integer> batch;
+    while ((batch = spliterator.trySplit()) != null) {
+      batch.forEachRemaining(seen::add);
+    }
+    spliterator.forEachRemaining(seen::add);
+    assertEquals(contents(list), seen);
+    assertNull(listOf(new int[] {1}).spliterator().trySplit());
+  }
+
+  @Test
+  void spliteratorFailsFast() {
+    LinkedList<Integer> list = listOf(TestData.ints(TestData.Shape.SORTED, 10, 2));
+    Spliterator<Integer> spliterator = list.spliterator();
+    spliterator.tryAdvance(e -> { });
+    list.add(1);
+    assertThrows(ConcurrentModificationException.class, () -> spliterator.tryAdvance(e -> { }));
+    assertThrows(ConcurrentModificationException.class, () -> list.stream().forEach(e -> list.remove(0)));
+  }
+
+  /**
+   * Runs a step on both iterators and checks that they return the same value or throw the same kind of exception.
+   * @param expected, the step run on java.util's ListIterator.
+   * @param actual, the step run on the LinkedListIterator.
+   * @param message, the message to fail with.
+   */
+  private static void sameOutcome(java.util.function.Supplier<Object> expected,
+      java.util.function.Supplier<Object> actual, String message) {
+    Object expectedResult;
+    try {
+      expectedResult = expected.get();
+    }
+    catch (RuntimeException e) {
+      assertThrows(e.getClass(), actual::get, message);
+      return;
+    }
+    assertEquals(expectedResult, actual.get(), message);
+  }
+
+  @Test
+  void listIteratorMatchesJavaUtilLinkedList() {
+    Random random = new Random(3);
+    for (int trial = 0; trial < 50; trial++) {
+      int[] values = TestData.ints(TestData.Shape.RANDOM, random.nextInt(20), trial);
+      LinkedList<Integer> list = listOf(values);
+      List<Integer> model = new java.util.LinkedList<Integer>();
+      for (int v : values) {
+        model.add(v);
+      }
+      int start = random.nextInt(values.length + 1);
+      LinkedList<Integer>.LinkedListIterator iterator = list.listIterator(start);
+      ListIterator<Integer> expected = model.listIterator(start);
+      for (int step = 0; step < 200; step++) {
+        String message = "trial " + trial + " step " + step;
+        int value = random.nextInt(1000);
+        switch (random.nextInt(7)) {
+          case 0:
+            sameOutcome(expected::next, iterator::next, message);
+            break;
+          case 1:
+            sameOutcome(expected::previous, iterator::previous, message);
+            break;
+          case 2:
+            sameOutcome(() -> {
+              expected.remove();
+              return null;
+            }, () -> {
+              iterator.remove();
+              return null;
+            }, message);
+            break;
+          case 3:
+            sameOutcome(() -> {
+              expected.set(value);
+              return null;
+            }, () -> {
+              iterator.set(value);
+              return null;
+            }, message);
+            break;
+          case 4:
+            expected.add(value);
+            iterator.add(value);
+            break;
+          case 5:
+            assertEquals(expected.hasNext(), iterator.hasNext(), message);
+            assertEquals(expected.hasPrevious(), iterator.hasPrevious(), message);
+            break;
+          default:
+            assertEquals(expected.nextIndex(), iterator.nextIndex(), message);
+            assertEquals(expected.previousIndex(), iterator.previousIndex(), message);
+            break;
+        }
+        assertEquals(model.size(), list.size(), message);
+      }
+      assertEquals(model, contents(list));
+      List<Integer> backwards = new java.util.ArrayList<Integer>();
+      LinkedList<Integer>.LinkedListIterator fromEnd = list.listIterator(list.size());
+      while (fromEnd.hasPrevious()) {
+        backwards.add(0, fromEnd.previous());
+      }
+      assertEquals(model, backwards);
+    }
+  }
+
+  @Test
+  void iteratorFailsFastAndChecksItsStart() {
+    LinkedList<Integer> list = listOf(new int[] {1, 2, 3});
+    ListIterator<Integer> iterator = list.listIterator();
+    iterator.next();
+    list.add(4);
+    assertThrows(ConcurrentModificationException.class, iterator::next);
+    assertThrows(ConcurrentModificationException.class, iterator::previous);
+    ListIterator<Integer> removing = list.listIterator();
+    assertThrows(ConcurrentModificationException.class, () -> removing.forEachRemaining(e -> list.remove(0)));
+    assertThrows(IndexOutOfBoundsException.class, () -> list.listIterator(-1));
+    assertThrows(IndexOutOfBoundsException.class, () -> list.listIterator(list.size() + 1));
+  }
+
+  /**
+   * Reads a LinkedList from its last element to its first, so that the prev links are checked as well.
+   * @param list, the list to read.
+   * @return returns the elements in order.
+   */
+  private static <E> List<E> backwards(LinkedList<E> list) {
+    List<E> copy = new java.util.ArrayList<E>();
+    ListIterator<E> iterator = list.listIterator(list.size());
+    while (iterator.hasPrevious()) {
+      copy.add(0, iterator.previous());
+    }
+    return copy;
+  }
+
+  @Test
+  void sortIsStableOnEveryShape() {
+    int[] lengths = java.util.Arrays.copyOf(TestData.LENGTHS, TestData.LENGTHS.length + 1);
+    lengths[lengths.length - 1] = 50000;
+    for (TestData.Shape shape : TestData.Shape.values()) {
+      for (int length : lengths) {
+        int[] keys = TestData.ints(shape, length, length);
+        Comparator<Integer> byKey = (a, b) -> Integer.compare(keys[a] >> 2, keys[b] >> 2);
+        LinkedList<Integer> list = new LinkedList<Integer>();
+        LinkedList<Integer> parallel = new LinkedList<Integer>();
+        List<Integer> expected = new java.util.ArrayList<Integer>();
+        for (int i = 0; i < length; i++) {
+          list.add(i);
+          parallel.add(i);
+          expected.add(i);
+        }
+        expected.sort(byKey);
+        list.sort(byKey);
+        parallel.parallelSort(byKey);
+        assertEquals(expected, contents(list), shape + " " + length);
+        assertEquals(expected, contents(parallel), shape + " " + length);
+        assertEquals(expected, backwards(list), shape + " " + length);
+        assertEquals(expected, backwards(parallel), shape + " " + length);
+      }
+    }
+  }
+
+  @Test
+  void simpleSortsMatchJavaUtilSort() {
+    for (TestData.Shape shape : TestData.Shape.values()) {
+      for (int length : new int[] {0, 1, 2, 3, 17, 64}) {
+        int[] values = TestData.ints(shape, length, length);
+        List<Integer> expected = new java.util.ArrayList<Integer>(java.util.Arrays.asList(TestData.boxed(values)));
+        expected.sort(null);
+        LinkedList<Integer> insertion = listOf(values);
+        LinkedList<Integer> bubble = listOf(values);
+        LinkedList<Integer> selection = listOf(values);
+        insertion.insertionSort(Comparator.naturalOrder());
+        bubble.bubbleSort(Comparator.naturalOrder());
+        selection.selectionSort(Comparator.naturalOrder());
+        assertEquals(expected, contents(insertion), shape + " " + length);
+        assertEquals(expected, contents(bubble), shape + " " + length);
+        assertEquals(expected, contents(selection), shape + " " + length);
+      }
+    }
+  }
+
+  @Test
+  void sortRelinksNodesSoHandlesStayValid() {
+    int[] values = TestData.ints(TestData.Shape.RANDOM, 20000, 5);
+    for (boolean parallel : new boolean[] {false, true}) {
+      LinkedList<Integer> list = new LinkedList<Integer>();
+      List<LinkedList.Handle<Integer>> handles = new java.util.ArrayList<LinkedList.Handle<Integer>>();
+      for (int v : values) {
+        handles.add(list.addLastNode(v));
+      }
+      if (parallel) {
+        list.parallelSort(Comparator.naturalOrder());
+      }
+      else {
+        list.sort(Comparator.naturalOrder());
+      }
+      for (int i = 0; i < values.length; i++) {
+        assertEquals(values[i], handles.get(i).get());
+      }
+      LinkedList.Handle<Integer> handle = handles.get(values.length / 2);
+      list.moveToFront(handle);
+      assertEquals(handle.get(), list.get(0));
+      assertEquals(handle.get(), list.removeNode(handle));
+      assertEquals(values.length - 1, list.size());
+      List<Integer> expected = new java.util.ArrayList<Integer>(java.util.Arrays.asList(TestData.boxed(values)));
+      expected.sort(null);
+      expected.remove(handle.get());
+      assertEquals(expected, contents(list));
+      assertEquals(expected, backwards(list));
+    }
+  }
+
+  @Test
+  void indexedOperationsMatchJavaUtilLinkedList() {
+    Random random = new Random(11);
+    for (int pattern = 0; pattern < 3; pattern++) {
+      LinkedList<Integer> list = new LinkedList<Integer>();
+      List<Integer> model = new java.util.LinkedList<Integer>();
+      int cursor = 0;
+      for (int step = 0; step < 20000; step++) {
+        String message = "pattern " + pattern + " step " + step;
+        int size = model.size();
+        int index;
+        if (pattern == 0) {
+          index = cursor++;
+        }
+        else if (pattern == 1) {
+          cursor += random.nextInt(7) - 3;
+          index = cursor;
+        }
+        else {
+          index = random.nextInt(size + 1);
+        }
+        if (size == 0) {
+          index = 0;
+        }
+        else {
+          index = Math.floorMod(index, size);
+        }
+        cursor = index;
+        int value = random.nextInt();
+        switch (size < 50 ? 0 : random.nextInt(8)) {
+          case 0:
+          case 1:
+            list.add(index, value);
+            model.add(index, value);
+            break;
+          case 2:
+            assertEquals(model.remove(index), list.remove(index), message);
+            break;
+          case 3:
+            assertEquals(model.set(index, value), list.set(index, value), message);
+            break;
+          case 4:
+            list.addFirstNode(value);
+            model.add(0, value);
+            break;
+          case 5:
+            list.moveToBack(list.firstNode());
+            model.add(model.remove(0));
+            break;
+          default:
+            assertEquals(model.get(index), list.get(index), message);
+            break;
+        }
+        assertEquals(model.size(), list.size(), message);
+      }
+      assertEquals(model, contents(list));
+      assertEquals(model, backwards(list));
+      assertThrows(IndexOutOfBoundsException.class, () -> list.get(list.size()));
+      assertThrows(IndexOutOfBoundsException.class, () -> list.remove(-1));
+      assertThrows(IndexOutOfBoundsException.class, () -> list.set(list.size(), 0));
+      assertThrows(IndexOutOfBoundsException.class, () -> list.add(list.size() + 1, 0));
+    }
+  }
+
+  @Test
+  void sequentialIndexedAccessWalksFromTheFinger() {
+    int[] values = TestData.ints(TestData.Shape.RANDOM, 200000, 13);
+    LinkedList<Integer> list = listOf(values);
+    assertTimeout(Duration.ofSeconds(10), () -> {
+      for (int i = 0; i < values.length; i++) {
+        assertEquals(values[i], list.get(i));
+      }
+      for (int i = values.length - 1; i >= 0; i -= 2) {
+        list.set(i, -values[i]);
+        assertEquals(-values[i], list.get(i));
+      }
+    });
+  }
+
+  @Test
+  void handlesMoveAndRemoveTheirNodes() {
+    LinkedList<Integer> list = new LinkedList<Integer>();
+    assertNull(list.firstNode());
+    assertNull(list.lastNode());
+    LinkedList.Handle<Integer> two = list.addLastNode(2);
+    LinkedList.Handle<Integer> one = list.addFirstNode(1);
+    LinkedList.Handle<Integer> three = list.addLastNode(3);
+    assertEquals(List.of(1, 2, 3), contents(list));
+    assertEquals(1, list.firstNode().get());
+    assertEquals(3, list.lastNode().get());
+    list.moveToBack(one);
+    assertEquals(List.of(2, 3, 1), contents(list));
+    list.moveToFront(three);
+    assertEquals(List.of(3, 2, 1), contents(list));
+    list.moveToFront(three);
+    list.moveToBack(one);
+    assertEquals(List.of(3, 2, 1), backwards(list));
+    assertEquals(2, list.removeNode(two));
+    assertEquals(List.of(3, 1), contents(list));
+    assertEquals(List.of(3, 1), backwards(list));
+    assertEquals(3, list.removeNode(three));
+    assertEquals(1, list.removeNode(one));
+    assertEquals(0, list.size());
+    assertNull(list.firstNode());
+  }
+
+  @Test
+  void staleAndForeignHandlesAreRejected() {
+    LinkedList<Integer> list = listOf(new int[] {1, 2, 3});
+    LinkedList.Handle<Integer> first = list.firstNode();
+    LinkedList.Handle<Integer> last = list.lastNode();
+    LinkedList.Handle<Integer> middle = list.addLastNode(4);
+    list.moveToBack(last);
+    list.removeNode(middle);
+    assertThrows(IllegalArgumentException.class, () -> list.removeNode(middle));
+    assertThrows(IllegalArgumentException.class, () -> list.moveToFront(middle));
+    assertThrows(IllegalArgumentException.class, () -> list.moveToBack(middle));
+    list.remove(0);
+    assertThrows(IllegalArgumentException.class, () -> list.moveToBack(first));
+    LinkedList.Handle<Integer> only = new LinkedList<Integer>().addFirstNode(5);
+    assertThrows(IllegalArgumentException.class, () -> list.removeNode(only));
+    assertThrows(IllegalArgumentException.class, () -> list.moveToFront(only));
+    assertThrows(IllegalArgumentException.class, () -> list.removeNode(null));
+    assertEquals(List.of(2, 3), contents(list));
+    assertEquals(3, list.removeNode(last));
+    assertEquals(List.of(2), contents(list));
+  }
+}
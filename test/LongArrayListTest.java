@@ -0,0 +1,109 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * LongArrayListTest, checks the LongArrayList against a java.util.ArrayList of boxed values.
+ * @author Nagoshi, Vincent
+ */
+class LongArrayListTest {
+
+  @Test
+  void matchesJavaUtilArrayListUnderRandomEdits() {
+    LongArrayList list = new LongArrayList();
+    java.util.List<Long> model = new java.util.ArrayList<Long>();
+    Random random = new Random(1);
+    for (int step = 0; step < 20000; step++) {
+      int op = random.nextInt(4);
+      if (op == 0 || model.isEmpty()) {
+        long value = random.nextLong();
+        list.add(value);
+        model.add(value);
+      }
+      else if (op == 1) {
+        int index = random.nextInt(model.size() + 1);
+        long value = random.nextLong();
+        list.add(index, value);
+        model.add(index, value);
+      }
+      else if (op == 2) {
+        int index = random.nextInt(model.size());
+        assertEquals(model.remove(index), list.remove(index));
+      }
+      else {
+        int index = random.nextInt(model.size());
+        long value = random.nextLong();
+        assertEquals(model.set(index, value), list.set(index, value));
+      }
+      assertEquals(model.size(), list.size());
+    }
+    long[] expected = new long[model.size()];
+    for (int i = 0; i < expected.length; i++) {
+      expected[i] = model.get(i);
+      assertEquals(expected[i], list.get(i));
+    }
+    assertArrayEquals(expected, list.toArray());
+    long[] visited = new long[list.size()];
+    int[] next = {0};
+    list.forEach((long e) -> visited[next[0]++] = e);
+    assertArrayEquals(expected, visited);
+    PrimitiveIterator.OfLong iterator = list.iterator();
+    for (long e : expected) {
+      assertEquals(e, iterator.nextLong());
+    }
+    assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  void indicesAreChecked() {
+    LongArrayList list = new LongArrayList();
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.get(0));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.remove(0));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.set(0, 1L));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.add(1, 1L));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.add(-1, 1L));
+  }
+
+  @Test
+  void sortMatchesArraysSort() {
+    for (TestData.Shape shape : TestData.Shape.values()) {
+      for (int length : TestData.LENGTHS) {
+        long[] data = TestData.longs(shape, length, length);
+        LongArrayList list = new LongArrayList();
+        for (long e : data) {
+          list.add(e);
+        }
+        Arrays.sort(data);
+        list.sort();
+        assertArrayEquals(data, list.toArray(), shape + " " + length);
+      }
+    }
+  }
+
+  @Test
+  void iteratorFailsFast() {
+    LongArrayList list = new LongArrayList();
+    for (int i = 0; i < 10; i++) {
+      list.add(1L);
+    }
+    PrimitiveIterator.OfLong iterator = list.iterator();
+    iterator.nextLong();
+    list.set(0, 1L);
+    iterator.nextLong();
+    list.add(1L);
+    assertThrows(ConcurrentModificationException.class, iterator::nextLong);
+    PrimitiveIterator.OfLong removing = list.iterator();
+    assertThrows(ConcurrentModificationException.class, () -> removing.forEachRemaining((long e) -> list.remove(0)));
+    PrimitiveIterator.OfLong inserting = list.iterator();
+    list.add(0, 1L);
+    assertThrows(ConcurrentModificationException.class, () -> inserting.forEachRemaining((long e) -> { }));
+  }
+}
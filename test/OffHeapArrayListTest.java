@@ -0,0 +1,172 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * OffHeapArrayListTest, checks the OffHeapArrayList against a java.util.ArrayList, and that its Flyweights follow the
+ * list as it grows and stop reading once it is closed.
+ * @author Nagoshi, Vincent
+ */
+class OffHeapArrayListTest {
+
+  /**
+   * Defines a record of an int and a double.
+   */
+  private record Point(int x, double y) {
+  }
+
+  /** Writes a Point as an int followed by a double. */
+  private static final OffHeapArrayList.Codec<Point> CODEC = new OffHeapArrayList.Codec<Point>() {
+    @Override
+    public int width() {
+      return Integer.BYTES + Double.BYTES;
+    }
+
+    @Override
+    public void write(Point element, ByteBuffer buffer, int offset) {
+      buffer.putInt(offset, element.x());
+      buffer.putDouble(offset + Integer.BYTES, element.y());
+    }
+
+    @Override
+    public Point read(ByteBuffer buffer, int offset) {
+      return new Point(buffer.getInt(offset), buffer.getDouble(offset + Integer.BYTES));
+    }
+  };
+
+  /**
+   * PointView, a Flyweight over a Point record.
+   */
+  private static class PointView implements OffHeapArrayList.Flyweight {
+    private OffHeapArrayList<?> list;
+    private int offset;
+
+    @Override
+    public void wrap(OffHeapArrayList<?> list, int offset) {
+      this.list = list;
+      this.offset = offset;
+    }
+
+    int x() {
+      return list.getInt(offset);
+    }
+
+    double y() {
+      return list.getDouble(offset + Integer.BYTES);
+    }
+  }
+
+  @Test
+  void matchesJavaUtilArrayListWhileGrowing() {
+    for (int initialCapacity : new int[] {0, 1, 10}) {
+      try (OffHeapArrayList<Point> list = new OffHeapArrayList<Point>(CODEC, initialCapacity)) {
+        List<Point> model = new java.util.ArrayList<Point>();
+        Random random = new Random(initialCapacity);
+        for (int step = 0; step < 5000; step++) {
+          int op = random.nextInt(4);
+          Point p = new Point(random.nextInt(), random.nextDouble());
+          if (op == 0 || model.isEmpty()) {
+            list.add(p);
+            model.add(p);
+          }
+          else if (op == 1) {
+            int index = random.nextInt(model.size() + 1);
+            list.add(index, p);
+            model.add(index, p);
+          }
+          else if (op == 2) {
+            int index = random.nextInt(model.size());
+            assertEquals(model.remove(index), list.remove(index));
+          }
+          else {
+            int index = random.nextInt(model.size());
+            assertEquals(model.set(index, p), list.set(index, p));
+          }
+          assertEquals(model.size(), list.size());
+        }
+        List<Point> seen = new java.util.ArrayList<Point>();
+        list.forEach(seen::add);
+        assertEquals(model, seen);
+        for (int i = 0; i < model.size(); i++) {
+          assertEquals(model.get(i), list.get(i));
+        }
+      }
+    }
+  }
+
+  @Test
+  void flyweightReadsThroughGrowthAndFailsOnceClosed() {
+    OffHeapArrayList<Point> list = new OffHeapArrayList<Point>(CODEC, 1);
+    list.add(new Point(7, 0.5));
+    PointView view = list.get(0, new PointView());
+    for (int i = 0; i < 1000; i++) {
+      list.add(new Point(i, i));
+    }
+    assertEquals(7, view.x());
+    assertEquals(0.5, view.y());
+    PointView last = new PointView();
+    assertSame(last, list.get(1000, last));
+    assertEquals(999, last.x());
+    list.close();
+    assertThrows(IllegalStateException.class, view::x);
+    assertThrows(IllegalStateException.class, () -> list.get(0));
+    assertThrows(IllegalStateException.class, () -> list.add(new Point(0, 0)));
+    assertThrows(IllegalStateException.class, () -> list.get(0, new PointView()));
+    assertEquals(0, list.size());
+    list.close();
+  }
+
+  @Test
+  void argumentsAreChecked() {
+    try (OffHeapArrayList<Point> list = new OffHeapArrayList<Point>(CODEC)) {
+      assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.get(0));
+      assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.add(1, new Point(0, 0)));
+      list.add(new Point(1, 1));
+      assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.get(1, new PointView()));
+      assertThrows(IndexOutOfBoundsException.class, () -> list.getInt(CODEC.width()));
+      list.ensureCapacity(100);
+      assertEquals(new Point(1, 1), list.get(0));
+    }
+    assertThrows(IllegalArgumentException.class, () -> new OffHeapArrayList<Point>(CODEC, -1));
+    OffHeapArrayList.Codec<Point> empty = new OffHeapArrayList.Codec<Point>() {
+      @Override
+      public int width() {
+        return 0;
+      }
+
+      @Override
+      public void write(Point element, ByteBuffer buffer, int offset) {
+      }
+
+      @Override
+      public Point read(ByteBuffer buffer, int offset) {
+        return null;
+      }
+    };
+    assertThrows(IllegalArgumentException.class, () -> new OffHeapArrayList<Point>(empty));
+  }
+
+  @Test
+  void iteratorFailsFast() {
+    try (OffHeapArrayList<Point> list = new OffHeapArrayList<Point>(CODEC)) {
+      list.add(new Point(1, 1));
+      list.add(new Point(2, 2));
+      Iterator<Point> iterator = list.iterator();
+      iterator.next();
+      list.remove(0);
+      assertThrows(ConcurrentModificationException.class, iterator::next);
+      Iterator<Point> closed = list.iterator();
+      list.close();
+      assertFalse(closed.hasNext());
+    }
+  }
+}
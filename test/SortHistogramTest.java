@@ -0,0 +1,46 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * SortHistogramTest, checks that a SortHistogram buckets the statistics ArraySort reports to it.
+ * @author Nagoshi, Vincent
+ */
+class SortHistogramTest {
+
+  @Test
+  void bucketsAreAtPowersOfTwo() {
+    assertEquals(0, SortHistogram.lowerBound(0));
+    assertEquals(1, SortHistogram.lowerBound(1));
+    assertEquals(2, SortHistogram.lowerBound(2));
+    assertEquals(1L << 62, SortHistogram.lowerBound(63));
+  }
+
+  @Test
+  void recordsEachSortInTheBucketOfItsLength() {
+    SortHistogram histogram = new SortHistogram();
+    ArraySort<Integer> sorter = new ArraySort<Integer>(histogram);
+    sorter.quickSort(new int[0]);
+    sorter.quickSort(new int[1]);
+    sorter.quickSort(new int[100]);
+    sorter.radixSort(new int[100]);
+    assertEquals(3, histogram.getCount("quickSort"));
+    assertEquals(1, histogram.getCount("radixSort"));
+    assertEquals(0, histogram.getCount("mergeSort"));
+    long[] lengths = histogram.getLengths("quickSort");
+    assertEquals(1, lengths[0]);
+    assertEquals(1, lengths[1]);
+    assertEquals(1, lengths[7]);
+    assertEquals(1, histogram.getComparisons("radixSort")[0]);
+  }
+
+  @Test
+  void recordsKeyExtractions() {
+    SortHistogram histogram = new SortHistogram();
+    new ArraySort<String>(histogram).sortByKey(new String[] {"bb", "a", "ccc"}, String::length);
+    assertEquals(1, histogram.getKeyExtractions("sortByKey")[2]);
+    assertEquals(1, histogram.getCount("sortByKey"));
+    histogram.reset();
+    assertEquals(0, histogram.getCount("sortByKey"));
+  }
+}
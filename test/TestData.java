@@ -0,0 +1,119 @@
+import java.util.Random;
+
+/**
+ * TestData, builds the inputs the tests compare against java.util: random, sorted, reversed, duplicate-heavy and
+ * sawtooth Arrays, for lengths around the thresholds the sorts switch algorithms at.
+ * @author Nagoshi, Vincent
+ */
+final class TestData {
+
+  /** The shapes of input every sort is checked on. */
+  enum Shape { RANDOM, SORTED, REVERSED, DUPLICATES, SAWTOOTH }
+
+  /** Lengths from empty up to sizes that need several levels of partitioning or merging. */
+  static final int[] LENGTHS = {0, 1, 2, 3, 15, 16, 17, 31, 32, 33, 64, 127, 128, 129, 1000, 10007};
+
+  private TestData() {
+  }
+
+  /**
+   * Builds an Array of ints of a given shape.
+   * @param shape, the shape of the input.
+   * @param length, the length of the Array.
+   * @param seed, the seed of the random values.
+   * @return returns the Array.
+   */
+  static int[] ints(Shape shape, int length, long seed) {
+    Random random = new Random(seed);
+    int[] data = new int[length];
+    for (int i = 0; i < length; i++) {
+      switch (shape) {
+        case RANDOM:
+          data[i] = random.nextInt();
+          break;
+        case SORTED:
+          data[i] = i * 2 - length;
+          break;
+        case REVERSED:
+          data[i] = length - i * 2;
+          break;
+        case DUPLICATES:
+          data[i] = random.nextInt(8) - 4;
+          break;
+        default:
+          data[i] = i % 50 - (i / 50) % 7;
+          break;
+      }
+    }
+    return data;
+  }
+
+  /**
+   * Builds an Array of longs of a given shape, using the whole range of long.
+   * @param shape, the shape of the input.
+   * @param length, the length of the Array.
+   * @param seed, the seed of the random values.
+   * @return returns the Array.
+   */
+  static long[] longs(Shape shape, int length, long seed) {
+    Random random = new Random(seed);
+    int[] base = ints(shape, length, seed);
+    long[] data = new long[length];
+    for (int i = 0; i < length; i++) {
+      data[i] = shape == Shape.RANDOM ? random.nextLong() : (long) base[i] << 33;
+    }
+    return data;
+  }
+
+  /**
+   * Builds an Array of floats of a given shape. Random and duplicate-heavy Arrays also hold NaN, both zeros and both
+   * infinities.
+   * @param shape, the shape of the input.
+   * @param length, the length of the Array.
+   * @param seed, the seed of the random values.
+   * @return returns the Array.
+   */
+  static float[] floats(Shape shape, int length, long seed) {
+    double[] doubles = doubles(shape, length, seed);
+    float[] data = new float[length];
+    for (int i = 0; i < length; i++) {
+      data[i] = (float) doubles[i];
+    }
+    return data;
+  }
+
+  /**
+   * Builds an Array of doubles of a given shape. Random and duplicate-heavy Arrays also hold NaN, both zeros and both
+   * infinities.
+   * @param shape, the shape of the input.
+   * @param length, the length of the Array.
+   * @param seed, the seed of the random values.
+   * @return returns the Array.
+   */
+  static double[] doubles(Shape shape, int length, long seed) {
+    double[] specials = {Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, Double.MIN_VALUE};
+    Random random = new Random(seed);
+    int[] base = ints(shape, length, seed);
+    double[] data = new double[length];
+    for (int i = 0; i < length; i++) {
+      data[i] = base[i] / 7.0;
+      if ((shape == Shape.RANDOM || shape == Shape.DUPLICATES) && random.nextInt(8) == 0) {
+        data[i] = specials[random.nextInt(specials.length)];
+      }
+    }
+    return data;
+  }
+
+  /**
+   * Boxes an Array of ints.
+   * @param data, the Array to box.
+   * @return returns an Array of Integers with the same values.
+   */
+  static Integer[] boxed(int[] data) {
+    Integer[] boxed = new Integer[data.length];
+    for (int i = 0; i < data.length; i++) {
+      boxed[i] = data[i];
+    }
+    return boxed;
+  }
+}
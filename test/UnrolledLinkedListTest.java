@@ -0,0 +1,229 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * UnrolledLinkedListTest, checks the UnrolledLinkedList against java.util.ArrayList, across the sizes at which its
+ * nodes split, refill and merge.
+ * @author Nagoshi, Vincent
+ */
+class UnrolledLinkedListTest {
+
+  /**
+   * Builds an UnrolledLinkedList holding given values.
+   * @param values, the values to add.
+   * @return returns the list.
+   */
+  private static UnrolledLinkedList<Integer> listOf(int[] values) {
+    UnrolledLinkedList<Integer> list = new UnrolledLinkedList<Integer>();
+    for (int v : values) {
+      list.add(v);
+    }
+    return list;
+  }
+
+  /**
+   * Copies the elements of an UnrolledLinkedList into a java.util.List, reading them with get.
+   * @param list, the list to copy.
+   * @return returns the elements in order.
+   */
+  private static <E> List<E> contents(UnrolledLinkedList<E> list) {
+    List<E> copy = new java.util.ArrayList<E>();
+    for (int i = 0; i < list.size(); i++) {
+      copy.add(list.get(i));
+    }
+    return copy;
+  }
+
+  /**
+   * Checks that every way of reading the list sees the same elements as the model.
+   * @param model, the expected elements.
+   * @param list, the list to check.
+   * @param message, the message to fail with.
+   */
+  private static void assertMatches(List<Integer> model, UnrolledLinkedList<Integer> list, String message) {
+    assertEquals(model.size(), list.size(), message);
+    assertEquals(model, contents(list), message);
+    assertEquals(model, Arrays.asList(list.toArray()), message);
+    List<Integer> iterated = new java.util.ArrayList<Integer>();
+    for (Integer e : list) {
+      iterated.add(e);
+    }
+    assertEquals(model, iterated, message);
+    List<Integer> visited = new java.util.ArrayList<Integer>();
+    list.forEach(visited::add);
+    assertEquals(model, visited, message);
+  }
+
+  @Test
+  void indexedOperationsMatchJavaUtilArrayList() {
+    Random random = new Random(17);
+    UnrolledLinkedList<Integer> list = new UnrolledLinkedList<Integer>();
+    List<Integer> model = new java.util.ArrayList<Integer>();
+    for (int round = 0; round < 40; round++) {
+      int target = random.nextInt(4) * 64 + random.nextInt(5) - 2;
+      for (int step = 0; step < 400; step++) {
+        String message = "round " + round + " step " + step;
+        int size = model.size();
+        int bound = random.nextInt(3) == 0 ? Math.min(size, 64) : size;
+        int index = random.nextBoolean() ? random.nextInt(bound + 1) : size - random.nextInt(bound + 1);
+        int value = random.nextInt();
+        int op = random.nextInt(4);
+        if (op == 0 && size > 0) {
+          index = Math.min(index, size - 1);
+          assertEquals(model.set(index, value), list.set(index, value), message);
+        }
+        else if (op == 1 && size > 0) {
+          index = Math.min(index, size - 1);
+          assertEquals(model.get(index), list.get(index), message);
+        }
+        else if (size < target || (size == target && random.nextBoolean())) {
+          list.add(index, value);
+          model.add(index, value);
+        }
+        else if (size > 0) {
+          index = Math.min(index, size - 1);
+          assertEquals(model.remove(index), list.remove(index), message);
+        }
+      }
+      assertMatches(model, list, "round " + round);
+    }
+    assertThrows(IndexOutOfBoundsException.class, () -> list.get(list.size()));
+    assertThrows(IndexOutOfBoundsException.class, () -> list.remove(-1));
+    assertThrows(IndexOutOfBoundsException.class, () -> list.set(list.size(), 0));
+    assertThrows(IndexOutOfBoundsException.class, () -> list.add(list.size() + 1, 0));
+  }
+
+  @Test
+  void removingEveryElementEmptiesTheList() {
+    for (int length : new int[] {1, 63, 64, 65, 128, 129, 1000}) {
+      int[] values = TestData.ints(TestData.Shape.RANDOM, length, length);
+      UnrolledLinkedList<Integer> fromFront = listOf(values);
+      UnrolledLinkedList<Integer> fromBack = listOf(values);
+      List<Integer> model = new java.util.ArrayList<Integer>(Arrays.asList(TestData.boxed(values)));
+      for (int i = 0; i < length; i++) {
+        assertEquals(values[i], fromFront.remove(0));
+        assertEquals(values[length - 1 - i], fromBack.remove(fromBack.size() - 1));
+      }
+      assertMatches(List.of(), fromFront, "front " + length);
+      assertMatches(List.of(), fromBack, "back " + length);
+      fromFront.add(1);
+      fromFront.add(0, 0);
+      assertMatches(List.of(0, 1), fromFront, "reused " + length);
+      assertMatches(model, listOf(values), "built " + length);
+    }
+  }
+
+  @Test
+  void iteratorRemoveMatchesJavaUtilArrayList() {
+    for (int length : new int[] {0, 1, 63, 64, 65, 200, 1000}) {
+      for (int stride = 1; stride <= 3; stride++) {
+        int[] values = TestData.ints(TestData.Shape.RANDOM, length, length + stride);
+        UnrolledLinkedList<Integer> list = listOf(values);
+        List<Integer> model = new java.util.ArrayList<Integer>(Arrays.asList(TestData.boxed(values)));
+        Iterator<Integer> iterator = list.iterator();
+        Iterator<Integer> expected = model.iterator();
+        for (int i = 0; expected.hasNext(); i++) {
+          assertTrue(iterator.hasNext());
+          assertEquals(expected.next(), iterator.next());
+          if (i % stride == 0) {
+            iterator.remove();
+            expected.remove();
+          }
+        }
+        assertTrue(!iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+        assertMatches(model, list, length + " " + stride);
+      }
+    }
+    UnrolledLinkedList<Integer> list = listOf(new int[] {1, 2, 3});
+    Iterator<Integer> iterator = list.iterator();
+    assertThrows(IllegalStateException.class, iterator::remove);
+    iterator.next();
+    iterator.remove();
+    assertThrows(IllegalStateException.class, iterator::remove);
+    list.add(4);
+    assertThrows(ConcurrentModificationException.class, iterator::next);
+    assertThrows(ConcurrentModificationException.class, () -> list.iterator().forEachRemaining(e -> list.add(e)));
+  }
+
+  @Test
+  void sortIsStableOnEveryShape() {
+    for (TestData.Shape shape : TestData.Shape.values()) {
+      for (int length : TestData.LENGTHS) {
+        int[] keys = TestData.ints(shape, length, length);
+        Comparator<Integer> byKey = (a, b) -> Integer.compare(keys[a] >> 2, keys[b] >> 2);
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<Integer>();
+        List<Integer> expected = new java.util.ArrayList<Integer>();
+        for (int i = 0; i < length; i++) {
+          list.add(i);
+          expected.add(i);
+        }
+        for (int i = 0; i < length / 3; i++) {
+          expected.remove(list.remove((i * 31) % list.size()));
+        }
+        expected.sort(byKey);
+        list.sort(byKey);
+        assertMatches(expected, list, shape + " " + length);
+      }
+    }
+  }
+
+  @Test
+  void streamsMatchTheList() {
+    for (int length : new int[] {0, 1, 2, 63, 64, 65, 1000, 10007}) {
+      UnrolledLinkedList<Integer> list = listOf(TestData.ints(TestData.Shape.RANDOM, length, length));
+      for (int i = 0; i < length / 5; i++) {
+        list.remove((i * 7919) % list.size());
+      }
+      List<Integer> expected = contents(list);
+      assertEquals(expected, list.stream().collect(Collectors.toList()));
+      assertEquals(expected, list.parallelStream().collect(Collectors.toList()));
+      assertEquals(expected.size(), list.stream().count());
+    }
+  }
+
+  @Test
+  void spliteratorBindsLateAndSplitsIntoWholeNodes() {
+    UnrolledLinkedList<Integer> list = listOf(TestData.ints(TestData.Shape.SORTED, 1000, 1));
+    Spliterator<Integer> spliterator = list.spliterator();
+    list.add(-1);
+    assertEquals(1001, spliterator.estimateSize());
+    int characteristics = Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+    assertEquals(characteristics, spliterator.characteristics() & characteristics);
+    Spliterator<Integer> prefix = spliterator.trySplit();
+    assertEquals(1001, prefix.estimateSize() + spliterator.estimateSize());
+    assertEquals(0, prefix.estimateSize() % 64);
+    assertTrue(prefix.estimateSize() >= 500);
+    List<Integer> seen = new java.util.ArrayList<Integer>();
+    prefix.forEachRemaining(seen::add);
+    while (spliterator.tryAdvance(seen::add)) {
+    }
+    assertEquals(contents(list), seen);
+    assertNull(listOf(new int[] {1}).spliterator().trySplit());
+    assertEquals(0, new UnrolledLinkedList<Integer>().spliterator().estimateSize());
+  }
+
+  @Test
+  void spliteratorFailsFast() {
+    UnrolledLinkedList<Integer> list = listOf(new int[] {1, 2, 3});
+    Spliterator<Integer> spliterator = list.spliterator();
+    spliterator.tryAdvance(e -> { });
+    list.add(4);
+    assertThrows(ConcurrentModificationException.class, () -> spliterator.tryAdvance(e -> { }));
+    assertThrows(ConcurrentModificationException.class, () -> list.stream().forEach(e -> list.add(e)));
+  }
+}
@@ -0,0 +1,76 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * VectorSortTest, checks the vectorized quickSort kernels against java.util.Arrays, both through ArraySort and by
+ * calling the kernels directly with every length up to a few vectors and a depth limit that forces the heapSort
+ * fallback. The build adds the jdk.incubator.vector module; the direct calls are skipped on machines whose vectors
+ * are too narrow for the kernels.
+ * @author Nagoshi, Vincent
+ */
+class VectorSortTest {
+
+  private static final ArraySort<Object> SORTER = new ArraySort<Object>(null);
+
+  @Test
+  void vectorQuickSortMatchesArraysSort() {
+    for (TestData.Shape shape : TestData.Shape.values()) {
+      for (int length : TestData.LENGTHS) {
+        int[] ints = TestData.ints(shape, length, length);
+        int[] expectedInts = ints.clone();
+        Arrays.sort(expectedInts);
+        SORTER.vectorQuickSort(ints);
+        assertArrayEquals(expectedInts, ints, "int " + shape + " " + length);
+
+        long[] longs = TestData.longs(shape, length, length);
+        long[] expectedLongs = longs.clone();
+        Arrays.sort(expectedLongs);
+        SORTER.vectorQuickSort(longs);
+        assertArrayEquals(expectedLongs, longs, "long " + shape + " " + length);
+      }
+    }
+  }
+
+  @Test
+  void intKernelSortsEveryShortLengthAndExtremeValues() {
+    assumeTrue(VectorSort.INT_SUPPORTED);
+    Random random = new Random(13);
+    int[] extremes = {Integer.MIN_VALUE, Integer.MAX_VALUE, 0, -1, 1};
+    for (int length = 0; length <= 200; length++) {
+      for (int depthLimit : new int[] {0, 1, 64}) {
+        int[] data = new int[length];
+        for (int i = 0; i < length; i++) {
+          data[i] = random.nextInt(3) == 0 ? extremes[random.nextInt(extremes.length)] : random.nextInt(100);
+        }
+        int[] expected = data.clone();
+        Arrays.sort(expected);
+        VectorSort.quickSort(null, data, depthLimit);
+        assertArrayEquals(expected, data, length + " " + depthLimit);
+      }
+    }
+  }
+
+  @Test
+  void longKernelSortsEveryShortLengthAndExtremeValues() {
+    assumeTrue(VectorSort.LONG_SUPPORTED);
+    Random random = new Random(14);
+    long[] extremes = {Long.MIN_VALUE, Long.MAX_VALUE, 0, -1, 1};
+    for (int length = 0; length <= 200; length++) {
+      for (int depthLimit : new int[] {0, 1, 64}) {
+        long[] data = new long[length];
+        for (int i = 0; i < length; i++) {
+          data[i] = random.nextInt(3) == 0 ? extremes[random.nextInt(extremes.length)] : random.nextLong();
+        }
+        long[] expected = data.clone();
+        Arrays.sort(expected);
+        VectorSort.quickSort(null, data, depthLimit);
+        assertArrayEquals(expected, data, length + " " + depthLimit);
+      }
+    }
+  }
+}